@@ -0,0 +1,12 @@
+package org.restful.test.instances.commons.categories;
+
+/**
+ * The category of the tests which check the plans of the emitted queries on the real database.
+ *
+ * @project restful-test-instances
+ * @created 22.10.2026 12:00
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+public interface QueryPlanTest extends IntegrationTestOnReal {
+}
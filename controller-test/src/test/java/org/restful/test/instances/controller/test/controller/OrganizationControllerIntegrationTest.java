@@ -201,7 +201,7 @@ public class OrganizationControllerIntegrationTest {
         );
         ExceptionDetail actualOrganizationResponse = response.getBody();
 
-        assertTrue(response.getStatusCode().equals(HttpStatus.BAD_REQUEST), "Код статуса не 400 - что-то пошло не так!");
+        assertTrue(response.getStatusCode().equals(HttpStatus.NOT_FOUND), "Код статуса не 404 - что-то пошло не так!");
         assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
         assertTrue(
                 actualOrganizationResponse.getMessage().contains("не существует"),
@@ -264,7 +264,7 @@ public class OrganizationControllerIntegrationTest {
         );
         ExceptionDetail actualOrganizationResponse = response.getBody();
 
-        assertTrue(response.getStatusCode().equals(HttpStatus.BAD_REQUEST), "Код статуса не 400 - что-то пошло не так!");
+        assertTrue(response.getStatusCode().equals(HttpStatus.NOT_FOUND), "Код статуса не 404 - что-то пошло не так!");
         assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
         assertTrue(
                 actualOrganizationResponse.getMessage().contains("не существует"),
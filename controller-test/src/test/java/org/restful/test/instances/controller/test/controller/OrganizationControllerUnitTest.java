@@ -12,16 +12,28 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.restful.test.instances.commons.categories.UnitTest;
 import org.restful.test.instances.controller.OrganizationController;
+import org.restful.test.instances.model.detail.OrganizationBatchDetail;
+import org.restful.test.instances.model.detail.OrganizationDeleteDetail;
 import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.detail.OrganizationImportDetail;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.service.OrganizationExportService;
+import org.restful.test.instances.service.OrganizationImportService;
 import org.restful.test.instances.service.OrganizationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import javax.persistence.EntityNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -29,9 +41,13 @@ import java.util.Optional;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.hibernate.validator.internal.util.Contracts.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -70,6 +86,18 @@ public class OrganizationControllerUnitTest {
     @MockBean
     OrganizationService organizationService;
 
+    /**
+     * The Organization import service.
+     */
+    @MockBean
+    OrganizationImportService organizationImportService;
+
+    /**
+     * The Organization export service.
+     */
+    @MockBean
+    OrganizationExportService organizationExportService;
+
     /**
      * The Processing controller.
      */
@@ -114,6 +142,124 @@ public class OrganizationControllerUnitTest {
         );
     }
 
+    /**
+     * Create all positive when request is valid then successful created.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void createAll_positive_whenRequestIsValid_thenSuccessfulCreated() throws Exception {
+        List<OrganizationDetail> expectedOrganizationRequest = Arrays.asList(
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("GCorp"))
+                        .build()
+        );
+        OrganizationBatchDetail expectedOrganizationResponse = OrganizationBatchDetail.builder()
+                .uids(Arrays.asList(1L, null))
+                .errors(Collections.singletonMap(1, Collections.singletonList("Организация уже существует")))
+                .build();
+        when(organizationService.createAll(expectedOrganizationRequest)).thenReturn(expectedOrganizationResponse);
+
+        MvcResult mvcResult = mvc.perform(
+                post("/organizations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(expectedOrganizationRequest))
+        )
+                .andExpect(status().isCreated())
+                .andReturn();
+        OrganizationBatchDetail actualOrganizationResponse = this.objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                OrganizationBatchDetail.class
+        );
+
+        verify(organizationService).createAll(expectedOrganizationRequest);
+        assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
+        assertTrue(
+                actualOrganizationResponse.equals(expectedOrganizationResponse),
+                "Ожидаемый и фактический результаты отличаются - что-то пошло не так!"
+        );
+    }
+
+    /**
+     * Upsert positive when request is valid then successful upserted.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void upsert_positive_whenRequestIsValid_thenSuccessfulUpserted() throws Exception {
+        String expectedOrganizationNameRequest = "WCorp";
+        OrganizationDetail expectedOrganizationRequest = OrganizationDetail.builder()
+                .inn(Optional.of("0123"))
+                .build();
+        OrganizationDetail expectedOrganizationResponse = OrganizationDetail.builder()
+                .uid(Optional.of(1L))
+                .name(Optional.of(expectedOrganizationNameRequest))
+                .inn(Optional.of("0123"))
+                .build();
+        when(organizationService.upsert(expectedOrganizationNameRequest, expectedOrganizationRequest))
+                .thenReturn(expectedOrganizationResponse);
+
+        MvcResult mvcResult = mvc.perform(
+                put(String.format("/organizations/by-name/%s", expectedOrganizationNameRequest))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(expectedOrganizationRequest))
+        )
+                .andExpect(status().isOk())
+                .andReturn();
+        OrganizationDetail actualOrganizationResponse = this.objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                OrganizationDetail.class
+        );
+
+        verify(organizationService).upsert(expectedOrganizationNameRequest, expectedOrganizationRequest);
+        assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
+        assertTrue(
+                actualOrganizationResponse.equals(expectedOrganizationResponse),
+                "Ожидаемый и фактический результаты отличаются - что-то пошло не так!"
+        );
+    }
+
+    /**
+     * Import csv positive when request is valid then successful imported.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void importCsv_positive_whenRequestIsValid_thenSuccessfulImported() throws Exception {
+        OrganizationImportDetail expectedOrganizationResponse = OrganizationImportDetail.builder()
+                .rows(2L)
+                .imported(1)
+                .failed(1L)
+                .errors(Collections.singletonMap(
+                        2L,
+                        Collections.singletonList("Наименование организации должно быть задано")
+                ))
+                .build();
+        when(organizationImportService.importCsv(any(InputStream.class))).thenReturn(expectedOrganizationResponse);
+
+        MvcResult mvcResult = mvc.perform(
+                post("/organizations/import")
+                        .contentType("text/csv")
+                        .content("name,inn,kpp,address\nWCorp,0123,,\n,0123,,\n")
+        )
+                .andExpect(status().isOk())
+                .andReturn();
+        OrganizationImportDetail actualOrganizationResponse = this.objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                OrganizationImportDetail.class
+        );
+
+        verify(organizationImportService).importCsv(any(InputStream.class));
+        assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
+        assertTrue(
+                actualOrganizationResponse.equals(expectedOrganizationResponse),
+                "Ожидаемый и фактический результаты отличаются - что-то пошло не так!"
+        );
+    }
+
     /**
      * Update positive when request is valid then successful updated.
      *
@@ -154,6 +300,30 @@ public class OrganizationControllerUnitTest {
         );
     }
 
+    /**
+     * Update negative when organization is not exists then not found.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void update_negative_whenOrganizationIsNotExists_thenNotFound() throws Exception {
+        Long expectedOrganizationUidRequest = 2L;
+        OrganizationDetail expectedOrganizationRequest = OrganizationDetail.builder()
+                .name(Optional.of("WCorp"))
+                .build();
+        when(organizationService.update(expectedOrganizationUidRequest, expectedOrganizationRequest))
+                .thenThrow(new EntityNotFoundException("Организации с таким идентификатором - 2 не существует"));
+
+        mvc.perform(
+                patch(String.format("/organizations/%d", expectedOrganizationUidRequest))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(expectedOrganizationRequest))
+        )
+                .andExpect(status().isNotFound());
+
+        verify(organizationService).update(expectedOrganizationUidRequest, expectedOrganizationRequest);
+    }
+
     /**
      * Delete positive when request is valid then successful deleted.
      *
@@ -188,6 +358,215 @@ public class OrganizationControllerUnitTest {
         );
     }
 
+    /**
+     * Find positive when uid is specified then successful found.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void find_positive_whenUidIsSpecified_thenSuccessfulFound() throws Exception {
+        Long expectedOrganizationUidRequest = 1L;
+        OrganizationDetail expectedOrganizationResponse = OrganizationDetail.builder()
+                .uid(Optional.of(expectedOrganizationUidRequest))
+                .name(Optional.of("WCorp"))
+                .build();
+        when(organizationService.find(expectedOrganizationUidRequest))
+                .thenReturn(expectedOrganizationResponse);
+
+        MvcResult mvcResult = mvc.perform(
+                get(String.format("/organizations/%d", expectedOrganizationUidRequest))
+        )
+                .andExpect(status().isOk())
+                .andReturn();
+        OrganizationDetail actualOrganizationResponse = this.objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                OrganizationDetail.class
+        );
+
+        verify(organizationService).find(expectedOrganizationUidRequest);
+        assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
+        assertTrue(
+                actualOrganizationResponse.equals(expectedOrganizationResponse),
+                "Ожидаемый и фактический результаты отличаются - что-то пошло не так!"
+        );
+    }
+
+    /**
+     * Find by name negative when organization is not exists then not found.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void findByName_negative_whenOrganizationIsNotExists_thenNotFound() throws Exception {
+        when(organizationService.findByName("WCorp"))
+                .thenThrow(new EntityNotFoundException("Организации с таким наименованием - WCorp не существует"));
+
+        mvc.perform(
+                get("/organizations/by-name/WCorp")
+        )
+                .andExpect(status().isNotFound());
+
+        verify(organizationService).findByName("WCorp");
+    }
+
+    /**
+     * Delete all positive when filter is specified then successful deleted.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void deleteAll_positive_whenFilterIsSpecified_thenSuccessfulDeleted() throws Exception {
+        OrganizationFilter expectedFilterRequest = OrganizationFilter.builder()
+                .inn(Collections.singletonList("01"))
+                .build();
+        OrganizationDeleteDetail expectedOrganizationResponse = OrganizationDeleteDetail.builder()
+                .count(100)
+                .build();
+        when(organizationService.deleteAll(expectedFilterRequest))
+                .thenReturn(expectedOrganizationResponse);
+
+        MvcResult mvcResult = mvc.perform(
+                delete("/organizations")
+                        .param("inn", "01")
+        )
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        OrganizationDeleteDetail actualOrganizationResponse = this.objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                OrganizationDeleteDetail.class
+        );
+
+        verify(organizationService).deleteAll(expectedFilterRequest);
+        assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
+        assertTrue(
+                actualOrganizationResponse.equals(expectedOrganizationResponse),
+                "Ожидаемый и фактический результаты отличаются - что-то пошло не так!"
+        );
+    }
+
+    /**
+     * Export positive when format is csv then successful streamed.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void export_positive_whenFormatIsCsv_thenSuccessfulStreamed() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("uid,name,inn,kpp,address\n1,WCorp,,,\n".getBytes());
+
+            return null;
+        }).when(organizationExportService).export(eq(OrganizationExportService.Format.CSV), any(OutputStream.class));
+
+        MvcResult mvcResult = mvc.perform(
+                get("/organizations/export")
+                        .param("format", "csv")
+        )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("uid,name,inn,kpp,address\n1,WCorp,,,\n"));
+
+        verify(organizationExportService).export(eq(OrganizationExportService.Format.CSV), any(OutputStream.class));
+    }
+
+    /**
+     * Export negative when format is unknown then bad request.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void export_negative_whenFormatIsUnknown_thenBadRequest() throws Exception {
+        mvc.perform(
+                get("/organizations/export")
+                        .param("format", "xml")
+        )
+                .andExpect(status().isBadRequest());
+
+        verify(organizationExportService, never()).export(any(), any(OutputStream.class));
+    }
+
+    /**
+     * Find positive when stream is accepted then successful streamed.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void find_positive_whenStreamIsAccepted_thenSuccessfulStreamed() throws Exception {
+        OrganizationFilter expectedFilterRequest = OrganizationFilter.builder()
+                .inn(Collections.singletonList("01"))
+                .build();
+        when(organizationService.getStreamPageSize(eq(expectedFilterRequest), eq(10))).thenReturn(10);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("[{\"uid\":1}]".getBytes());
+
+            return null;
+        }).when(organizationService).find(eq(expectedFilterRequest), isNull(), eq(10), any(OutputStream.class));
+
+        MvcResult mvcResult = mvc.perform(
+                get("/organizations")
+                        .param("inn", "01")
+                        .param("limit", "10")
+                        .accept(MediaType.APPLICATION_STREAM_JSON)
+        )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[{\"uid\":1}]"));
+
+        verify(organizationService).find(eq(expectedFilterRequest), isNull(), eq(10), any(OutputStream.class));
+        verify(organizationService, never()).find(any(OrganizationFilter.class), any(), any());
+    }
+
+    /**
+     * Find negative when streamed request is invalid then bad request.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void find_negative_whenStreamedRequestIsInvalid_thenBadRequest() throws Exception {
+        when(organizationService.getStreamPageSize(any(OrganizationFilter.class), eq(0)))
+                .thenThrow(new IllegalArgumentException("Размер страницы должен быть больше 0 - 0"));
+
+        mvc.perform(
+                get("/organizations")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_STREAM_JSON)
+        )
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+
+        verify(organizationService, never())
+                .find(any(OrganizationFilter.class), any(), anyInt(), any(OutputStream.class));
+    }
+
+    /**
+     * Find positive when page is above stream threshold then successful streamed.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void find_positive_whenPageIsAboveStreamThreshold_thenSuccessfulStreamed() throws Exception {
+        when(organizationService.isStreamed(eq(500))).thenReturn(true);
+        when(organizationService.getStreamPageSize(any(OrganizationFilter.class), eq(500))).thenReturn(500);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("[{\"uid\":1}]".getBytes());
+
+            return null;
+        }).when(organizationService).find(any(OrganizationFilter.class), isNull(), eq(500), any(OutputStream.class));
+
+        mvc.perform(
+                get("/organizations")
+                        .param("limit", "500")
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().string("[{\"uid\":1}]"));
+
+        verify(organizationService, never()).find(any(OrganizationFilter.class), any(), any());
+    }
+
     /**
      * Find positive when request is valid then successful found.
      *
@@ -209,8 +588,15 @@ public class OrganizationControllerUnitTest {
                         .address(Optional.ofNullable(expectedAddressRequest.get(0)))
                         .build()
         );
-        when(organizationService.find(anyList(), anyList(), anyList(), anyList(), anyList()))
-                .thenReturn(expectedOrganizationResponse);
+        OrganizationFilter expectedFilterRequest = OrganizationFilter.builder()
+                .uid(expectedUidRequest)
+                .name(expectedNameRequest)
+                .inn(expectedInnRequest)
+                .kpp(expectedKppRequest)
+                .address(expectedAddressRequest)
+                .build();
+        when(organizationService.find(any(OrganizationFilter.class), isNull(), isNull()))
+                .thenReturn(new SliceImpl<>(expectedOrganizationResponse));
 
         MvcResult mvcResult = mvc.perform(
                 get("/organizations")
@@ -227,18 +613,101 @@ public class OrganizationControllerUnitTest {
                 new TypeReference<List<OrganizationDetail>>(){}
         );
 
-        verify(organizationService).find(anyList(), anyList(), anyList(), anyList(), anyList());
-        verify(organizationService).find(
-                expectedUidRequest,
-                expectedNameRequest,
-                expectedInnRequest,
-                expectedKppRequest,
-                expectedAddressRequest
-        );
+        verify(organizationService).find(any(OrganizationFilter.class), isNull(), isNull());
+        verify(organizationService).find(expectedFilterRequest, null, null);
         assertNotNull(actualOrganizationResponse, "Что-то пошло не так");
+        assertTrue(
+                mvcResult.getResponse().getHeader(OrganizationController.NEXT_CURSOR_HEADER) == null,
+                "У последней страницы не может быть следующей"
+        );
         assertTrue(
                 actualOrganizationResponse.equals(expectedOrganizationResponse),
                 "Ожидаемый и фактический результаты отличаются - что-то пошло не так!"
         );
     }
+
+    /**
+     * Find positive when page is not last then next cursor returned.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void find_positive_whenPageIsNotLast_thenNextCursorReturned() throws Exception {
+        Long expectedAfterRequest = 1L;
+        Integer expectedLimitRequest = 2;
+        List<OrganizationDetail> expectedOrganizationResponse = Arrays.asList(
+                OrganizationDetail.builder()
+                        .uid(Optional.of(2L))
+                        .build(),
+                OrganizationDetail.builder()
+                        .uid(Optional.of(3L))
+                        .build()
+        );
+        when(organizationService.find(any(OrganizationFilter.class), eq(expectedAfterRequest), eq(expectedLimitRequest)))
+                .thenReturn(new SliceImpl<>(
+                        expectedOrganizationResponse,
+                        PageRequest.of(0, expectedLimitRequest),
+                        true
+                ));
+
+        MvcResult mvcResult = mvc.perform(
+                get("/organizations")
+                        .param("after", String.valueOf(expectedAfterRequest))
+                        .param("limit", String.valueOf(expectedLimitRequest))
+        )
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        List<OrganizationDetail> actualOrganizationResponse = this.objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<OrganizationDetail>>(){}
+        );
+
+        verify(organizationService).find(OrganizationFilter.builder().build(), expectedAfterRequest, expectedLimitRequest);
+        assertTrue(
+                actualOrganizationResponse.equals(expectedOrganizationResponse),
+                "Ожидаемый и фактический результаты отличаются - что-то пошло не так!"
+        );
+        assertTrue(
+                "3".equals(mvcResult.getResponse().getHeader(OrganizationController.NEXT_CURSOR_HEADER)),
+                "Курсор следующей страницы не совпадает с последней организацией страницы"
+        );
+    }
+
+    /**
+     * Find positive when fields are specified then only they returned.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void find_positive_whenFieldsAreSpecified_thenOnlyTheyReturned() throws Exception {
+        List<String> expectedFieldsRequest = Collections.singletonList("name");
+        List<OrganizationDetail> expectedOrganizationResponse = Collections.singletonList(
+                OrganizationDetail.builder()
+                        .uid(Optional.of(1L))
+                        .name(Optional.of("WCorp"))
+                        .build()
+        );
+        when(organizationService.find(any(OrganizationFilter.class), isNull(), isNull()))
+                .thenReturn(new SliceImpl<>(expectedOrganizationResponse));
+
+        MvcResult mvcResult = mvc.perform(
+                get("/organizations")
+                        .param("fields", expectedFieldsRequest.stream().toArray(String[]::new))
+        )
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        String actualOrganizationResponse = mvcResult.getResponse().getContentAsString();
+
+        verify(organizationService).find(
+                OrganizationFilter.builder()
+                        .fields(expectedFieldsRequest)
+                        .build(),
+                null,
+                null
+        );
+        assertTrue(
+                actualOrganizationResponse.contains("\"name\"") && !actualOrganizationResponse.contains("\"inn\""),
+                String.format("В ответе не только выбранные свойства - %s", actualOrganizationResponse)
+        );
+    }
 }
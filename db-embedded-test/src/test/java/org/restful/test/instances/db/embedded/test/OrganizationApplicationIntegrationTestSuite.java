@@ -17,7 +17,9 @@ import org.restful.test.instances.commons.categories.UnitTest;
         IntegrationTestOnReal.class
 })
 @SuiteClasses({
-        OrganizationRepositoryTest.class
+        OrganizationRepositoryTest.class,
+        OrganizationJdbcRepositoryTest.class,
+        OrganizationCacheTest.class
 })
 @Slf4j
 public class OrganizationApplicationIntegrationTestSuite {
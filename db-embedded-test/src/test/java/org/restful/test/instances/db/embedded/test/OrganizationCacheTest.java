@@ -0,0 +1,168 @@
+package org.restful.test.instances.db.embedded.test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnEmbedded;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.model.entity.Position;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
+import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.repository.PositionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 22:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category(IntegrationTestOnEmbedded.class)
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        properties = {
+                "organisations.cache.enabled=true",
+                "spring.jpa.properties.hibernate.generate_statistics=true"
+        }
+)
+@DirtiesContext
+@AutoConfigureTestDatabase
+@AutoConfigureDataJpa
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class OrganizationCacheTest {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Autowired
+    OrganizationJdbcRepository organizationJdbcRepository;
+
+    @Autowired
+    PositionRepository positionRepository;
+
+    @Before
+    public void beforeEachTest() {
+        this.cleanDb();
+    }
+
+    @After
+    public void afterEachTest() {
+        this.cleanDb();
+    }
+
+    @Test
+    public void findById_positive_whenOrganizationIsLoaded_thenItIsInCache() {
+        Organization organizationOrigin = this.createOrganization();
+
+        this.organizationRepository.findById(organizationOrigin.getUid());
+
+        assertTrue(
+                this.entityManagerFactory.getCache().contains(Organization.class, organizationOrigin.getUid()),
+                "Организация не попала в кеш второго уровня"
+        );
+    }
+
+    @Test
+    public void update_positive_whenOrganizationIsUpdatedByJdbc_thenItIsEvictedAndReloaded() {
+        Organization organizationOrigin = this.createOrganization();
+        this.organizationRepository.findById(organizationOrigin.getUid());
+
+        this.organizationJdbcRepository.update(
+                organizationOrigin.getUid(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .build()
+        );
+
+        assertTrue(
+                !this.entityManagerFactory.getCache().contains(Organization.class, organizationOrigin.getUid()),
+                "Обновленная организация осталась в кеше второго уровня"
+        );
+        Organization organizationReloaded = this.organizationRepository.findById(organizationOrigin.getUid())
+                .orElse(null);
+        log.info("Получили сущность `Организация` после обновления - {}", organizationReloaded);
+        assertTrue(
+                organizationReloaded != null && organizationReloaded.getName().equals("WCorp"),
+                String.format("Из кеша получена старая организация - %s", organizationReloaded)
+        );
+    }
+
+    @Test
+    public void delete_positive_whenOrganizationIsDeletedByJdbc_thenItIsEvicted() {
+        Organization organizationOrigin = this.createOrganization();
+        this.organizationRepository.findById(organizationOrigin.getUid());
+
+        this.organizationJdbcRepository.delete(organizationOrigin.getUid());
+
+        assertTrue(
+                !this.organizationRepository.findById(organizationOrigin.getUid()).isPresent(),
+                "Удаленная организация получена из кеша второго уровня"
+        );
+    }
+
+    @Test
+    public void findAll_positive_whenPositionsAreFoundTwice_thenSecondIsFromQueryCache() {
+        this.positionRepository.save(Position.builder()
+                .name("Просто отличный парень")
+                .code("CG1")
+                .build()
+        );
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.positionRepository.findAll();
+        this.positionRepository.findAll();
+        log.info(
+                "Кеш запросов - попаданий {}, промахов {}",
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount()
+        );
+
+        assertTrue(statistics.getQueryCacheHitCount() == 1, "Повторный запрос должностей не из кеша");
+    }
+
+    private Organization createOrganization() {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("GCorp")
+                .inn("0123")
+                .build()
+        );
+        this.entityManagerFactory.getCache().evictAll();
+        log.info("Сохранили сущность `Организация` - {}", organizationOrigin);
+
+        return organizationOrigin;
+    }
+
+    private void cleanDb() {
+        this.organizationRepository.deleteAll();
+        this.positionRepository.deleteAll();
+    }
+}
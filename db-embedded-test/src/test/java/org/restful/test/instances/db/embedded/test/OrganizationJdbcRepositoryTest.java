@@ -0,0 +1,406 @@
+package org.restful.test.instances.db.embedded.test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnEmbedded;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
+import org.restful.test.instances.repository.OrganizationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 19:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category(IntegrationTestOnEmbedded.class)
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@DirtiesContext
+@AutoConfigureTestDatabase
+@AutoConfigureDataJpa
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class OrganizationJdbcRepositoryTest {
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Autowired
+    OrganizationJdbcRepository organizationJdbcRepository;
+
+    @Before
+    public void beforeEachTest() {
+        this.cleanDb();
+    }
+
+    @After
+    public void afterEachTest() {
+        this.cleanDb();
+    }
+
+    @Test
+    public void insertAll_positive_whenOrganizationsAreMoreThanChunk_thenSuccessfulInsertedInOrder() {
+        List<Organization> organizationsOrigin = IntStream.range(0, 7)
+                .mapToObj(i -> Organization.builder()
+                        .name(String.format("GCorps%d", i))
+                        .inn(String.valueOf(i))
+                        .build()
+                )
+                .collect(Collectors.toList());
+        log.info("Создали сущности `Организация` - {}", organizationsOrigin);
+
+        List<Long> uids = this.organizationJdbcRepository.insertAll(organizationsOrigin, 3);
+        log.info("Вставили сущности `Организация` - {}", uids);
+
+        assertTrue(uids.size() == organizationsOrigin.size(), "Идентификаторов не столько, сколько организаций");
+        for (int i = 0; i < uids.size(); i++) {
+            Organization organizationSaved = this.organizationRepository.findById(uids.get(i)).orElse(null);
+            assertNotNull(organizationSaved, "Сущности в бд не обнаружено");
+            assertTrue(
+                    organizationSaved.getName().equals(organizationsOrigin.get(i).getName()),
+                    "Идентификаторы не в порядке организаций"
+            );
+        }
+    }
+
+    @Test
+    public void findAll_positive_whenUidIsFiltered_thenSuccessfulSelectedOne() {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("GCorp")
+                .inn("0123")
+                .kpp("0123")
+                .address("Moscow")
+                .build()
+        );
+        log.info("Сохранили сущность `Организация` - {}", organizationOrigin);
+
+        List<OrganizationDetail> organizationsSelected = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder()
+                        .uid(Collections.singletonList(organizationOrigin.getUid()))
+                        .build()
+        );
+        log.info("Выбрали сущности `Организация` - {}", organizationsSelected);
+
+        assertTrue(organizationsSelected.size() == 1, "Выбрано не то количество сущностей");
+        OrganizationDetail organizationSelected = organizationsSelected.get(0);
+        assertTrue(
+                organizationSelected.getUid().equals(Optional.of(organizationOrigin.getUid()))
+                        && organizationSelected.getName().equals(Optional.of("GCorp"))
+                        && organizationSelected.getInn().equals(Optional.of("0123"))
+                        && organizationSelected.getKpp().equals(Optional.of("0123"))
+                        && organizationSelected.getAddress().equals(Optional.of("Moscow")),
+                String.format("Свойства сущности выбраны не те - %s", organizationSelected)
+        );
+    }
+
+    @Test
+    public void findAll_positive_whenOrganizationNotExists_thenSuccessfulReturnEmpty() {
+        this.organizationRepository.save(Organization.builder().name("GCorp").inn("0123").build());
+
+        List<OrganizationDetail> organizationsSelected = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder()
+                        .uid(Collections.singletonList(101L))
+                        .build()
+        );
+        log.info("Выбрали сущности `Организация` - {}", organizationsSelected);
+
+        assertTrue(organizationsSelected.isEmpty(), "Выбрали сущность которой не должно было быть");
+    }
+
+    @Test
+    public void findAll_positive_whenFiltersAreSpecified_thenSuccessfulSelectedOnlyFiltered() {
+        List<Organization> organizationsOrigin = this.organizationRepository.saveAll(Arrays.asList(
+                Organization.builder().name("GCorp").inn("01").kpp("11").address("Moscow").build(),
+                Organization.builder().name("WCorp").inn("01").kpp("12").address("Moscow").build(),
+                Organization.builder().name("XCorp").inn("02").kpp("11").address("Kazan").build()
+        ));
+        log.info("Сохранили сущности `Организация` - {}", organizationsOrigin);
+
+        List<OrganizationDetail> organizationsByName = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder().name(Arrays.asList("GCorp", "XCorp")).build()
+        );
+        List<OrganizationDetail> organizationsByInn = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder().inn(Collections.singletonList("01")).build()
+        );
+        List<OrganizationDetail> organizationsByKpp = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder().kpp(Collections.singletonList("12")).build()
+        );
+        List<OrganizationDetail> organizationsByAddress = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder().address(Collections.singletonList("Kazan")).build()
+        );
+        List<OrganizationDetail> organizationsByInnAndKpp = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder()
+                        .inn(Collections.singletonList("01"))
+                        .kpp(Collections.singletonList("11"))
+                        .build()
+        );
+        log.info(
+                "Выбрали сущности `Организация` по наименованию - {}, инн - {}, кпп - {}, адресу - {}, инн и кпп - {}",
+                organizationsByName,
+                organizationsByInn,
+                organizationsByKpp,
+                organizationsByAddress,
+                organizationsByInnAndKpp
+        );
+
+        assertTrue(
+                this.toNames(organizationsByName).equals(Arrays.asList("GCorp", "XCorp")),
+                "По наименованию выбраны не те сущности"
+        );
+        assertTrue(
+                this.toNames(organizationsByInn).equals(Arrays.asList("GCorp", "WCorp")),
+                "По инн выбраны не те сущности"
+        );
+        assertTrue(
+                this.toNames(organizationsByKpp).equals(Collections.singletonList("WCorp")),
+                "По кпп выбраны не те сущности"
+        );
+        assertTrue(
+                this.toNames(organizationsByAddress).equals(Collections.singletonList("XCorp")),
+                "По адресу выбраны не те сущности"
+        );
+        assertTrue(
+                this.toNames(organizationsByInnAndKpp).equals(Collections.singletonList("GCorp")),
+                "По инн и кпп выбраны не те сущности"
+        );
+    }
+
+    @Test
+    public void findAll_positive_whenPageIsRequested_thenSuccessfulSelectedAfterUidWithLimit() {
+        List<Organization> organizationsOrigin = this.organizationRepository.saveAll(
+                IntStream.range(0, 5)
+                        .mapToObj(i -> Organization.builder().name(String.format("GCorps%d", i)).build())
+                        .collect(Collectors.toList())
+        );
+        log.info("Сохранили сущности `Организация` - {}", organizationsOrigin);
+        List<Long> uidsOrigin = organizationsOrigin.stream()
+                .map(Organization::getUid)
+                .sorted()
+                .collect(Collectors.toList());
+
+        List<OrganizationDetail> organizationsFirstPage = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder().build(),
+                null,
+                2
+        );
+        List<OrganizationDetail> organizationsNextPage = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder().build(),
+                uidsOrigin.get(1),
+                2
+        );
+        log.info("Выбрали страницы сущностей `Организация` - {}, {}", organizationsFirstPage, organizationsNextPage);
+
+        assertTrue(
+                this.toUids(organizationsFirstPage).equals(uidsOrigin.subList(0, 2)),
+                "Первая страница выбрана не та"
+        );
+        assertTrue(
+                this.toUids(organizationsNextPage).equals(uidsOrigin.subList(2, 4)),
+                "Следующая страница выбрана не та"
+        );
+    }
+
+    @Test
+    public void findAll_positive_whenFieldsAreSpecified_thenSuccessfulSelectedOnlyProjection() {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("GCorp")
+                .inn("0123")
+                .kpp("0123")
+                .build()
+        );
+        log.info("Сохранили сущность `Организация` - {}", organizationOrigin);
+
+        List<OrganizationDetail> organizationsSelected = this.organizationJdbcRepository.findAll(
+                OrganizationFilter.builder()
+                        .name(Collections.singletonList("GCorp"))
+                        .fields(Collections.singletonList("inn"))
+                        .build(),
+                null,
+                10
+        );
+        log.info("Выбрали сущности `Организация` - {}", organizationsSelected);
+
+        assertTrue(organizationsSelected.size() == 1, "Выбрано не то количество сущностей");
+        OrganizationDetail organizationSelected = organizationsSelected.get(0);
+        assertTrue(
+                organizationSelected.getUid().equals(Optional.of(organizationOrigin.getUid()))
+                        && organizationSelected.getInn().equals(Optional.of("0123"))
+                        && organizationSelected.getName() == null
+                        && organizationSelected.getKpp() == null,
+                String.format("Выбраны свойства не из проекции - %s", organizationSelected)
+        );
+    }
+
+    @Test
+    public void update_positive_whenOrganizationExists_thenSuccessfulUpdatedAndReturned() {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("GCorp")
+                .inn("0123")
+                .kpp("0123")
+                .build()
+        );
+        log.info("Сохранили сущность `Организация` - {}", organizationOrigin);
+
+        OrganizationDetail organizationUpdated = this.organizationJdbcRepository.update(
+                organizationOrigin.getUid(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .kpp(Optional.empty())
+                        .build()
+        ).orElse(null);
+        log.info("Обновили сущность `Организация` - {}", organizationUpdated);
+
+        assertNotNull(organizationUpdated, "Сущность не обновлена");
+        assertTrue(
+                organizationUpdated.getName().equals(Optional.of("WCorp"))
+                        && organizationUpdated.getInn().equals(Optional.of("0123"))
+                        && !organizationUpdated.getKpp().isPresent(),
+                String.format("Обновлены не те свойства - %s", organizationUpdated)
+        );
+    }
+
+    @Test
+    public void update_positive_whenOrganizationNotExists_thenSuccessfulReturnEmpty() {
+        Optional<OrganizationDetail> organizationUpdated = this.organizationJdbcRepository.update(
+                101L,
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .build()
+        );
+        log.info("Обновили сущность `Организация` - {}", organizationUpdated);
+
+        assertTrue(!organizationUpdated.isPresent(), "Обновили сущность которой не должно было быть");
+    }
+
+    @Test
+    public void upsertAll_positive_whenSomeOrganizationsExist_thenSuccessfulInsertedAndUpdatedByName() {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("GCorp")
+                .inn("0123")
+                .kpp("0123")
+                .build()
+        );
+        log.info("Сохранили сущность `Организация` - {}", organizationOrigin);
+
+        List<Long> insertedUids = new ArrayList<>();
+        List<OrganizationDetail> organizationsUpserted = this.organizationJdbcRepository.upsertAll(
+                Arrays.asList(
+                        Organization.builder().name("GCorp").inn("3210").build(),
+                        Organization.builder().name("WCorp").inn("0123").build()
+                ),
+                1,
+                insertedUids::add
+        );
+        log.info(
+                "Вставили или обновили сущности `Организация` - {}, вставлены - {}",
+                organizationsUpserted,
+                insertedUids
+        );
+
+        assertTrue(organizationsUpserted.size() == 2, "Вставлено или обновлено не то количество сущностей");
+        assertTrue(
+                insertedUids.size() == 1 && !insertedUids.contains(organizationOrigin.getUid()),
+                String.format("Вставленными названы не те сущности - %s", insertedUids)
+        );
+        Organization organizationUpdated = this.organizationRepository.findById(organizationOrigin.getUid())
+                .orElse(null);
+        assertNotNull(organizationUpdated, "Сущность потеряла идентификатор при обновлении");
+        assertTrue(
+                organizationUpdated.getInn().equals("3210") && organizationUpdated.getKpp() == null,
+                String.format("Свойства сущности не заменены - %s", organizationUpdated)
+        );
+        assertTrue(this.organizationRepository.count() == 2, "Сущностей в бд не столько, сколько наименований");
+    }
+
+    @Test
+    public void delete_positive_whenOrganizationExists_thenSuccessfulDeletedOne() {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("GCorp")
+                .inn("0123")
+                .build()
+        );
+        log.info("Сохранили сущность `Организация` - {}", organizationOrigin);
+
+        int deletedCount = this.organizationJdbcRepository.delete(organizationOrigin.getUid());
+        int deletedAgainCount = this.organizationJdbcRepository.delete(organizationOrigin.getUid());
+        log.info("Удалили сущность `Организация` - {}, повторно - {}", deletedCount, deletedAgainCount);
+
+        assertTrue(deletedCount == 1 && deletedAgainCount == 0, "Удалено не то количество сущностей");
+        assertTrue(
+                !this.organizationRepository.findById(organizationOrigin.getUid()).isPresent(),
+                "Сущность осталась в бд"
+        );
+    }
+
+    @Test
+    public void deleteAll_positive_whenFilterIsSpecified_thenSuccessfulDeletedOnlyFiltered() {
+        List<Organization> organizationsOrigin = this.organizationRepository.saveAll(Arrays.asList(
+                Organization.builder().name("GCorp").inn("01").build(),
+                Organization.builder().name("WCorp").inn("01").build(),
+                Organization.builder().name("XCorp").inn("02").build()
+        ));
+        log.info("Сохранили сущности `Организация` - {}", organizationsOrigin);
+
+        int deletedCount = this.organizationJdbcRepository.deleteAll(OrganizationFilter.builder()
+                .inn(Collections.singletonList("01"))
+                .build()
+        );
+        log.info("Удалили сущности `Организация` - {}", deletedCount);
+
+        List<Organization> organizationsRemaining = this.organizationRepository.findAll();
+        assertTrue(deletedCount == 2, "Удалено не то количество сущностей");
+        assertTrue(
+                organizationsRemaining.size() == 1 && organizationsRemaining.get(0).getInn().equals("02"),
+                "Удалены не те сущности"
+        );
+    }
+
+    private List<String> toNames(List<OrganizationDetail> organizations) {
+        return organizations.stream()
+                .map(organization -> organization.getName().orElse(null))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> toUids(List<OrganizationDetail> organizations) {
+        return organizations.stream()
+                .map(organization -> organization.getUid().orElse(null))
+                .collect(Collectors.toList());
+    }
+
+    private void cleanDb() {
+        this.organizationRepository.deleteAll();
+    }
+}
@@ -13,17 +13,25 @@ import org.restful.test.instances.commons.categories.IntegrationTestOnEmbedded;
 import org.restful.test.instances.commons.categories.UnitTest;
 import org.restful.test.instances.model.entity.Organization;
 import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.service.OrganizationExportService;
+import org.restful.test.instances.service.specification.CustomSpecificationBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Sort;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.Tuple;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -54,6 +62,9 @@ public class OrganizationRepositoryTest {
     @Autowired
     OrganizationRepository organizationRepository;
 
+    @Autowired
+    OrganizationExportService organizationExportService;
+
     @Before
     public void beforeEachTest() {
         this.cleanDb();
@@ -260,6 +271,29 @@ public class OrganizationRepositoryTest {
         });
     }
 
+    @Test
+    @Transactional
+    public void streamAll_positive_whenOrganizationsExists_thenSuccessfulExportedInUidOrder() throws Exception {
+        List<Organization> organisationsOrigin = organizationRepository.saveAll(Arrays.asList(
+                Organization.builder().name("GCorps1").address("Новая, 1").build(),
+                Organization.builder().name("GCorps2").inn("0123").build()
+        ));
+        log.info("Сохранили сущности `Организация` - {}", organisationsOrigin);
+
+        ByteArrayOutputStream destination = new ByteArrayOutputStream();
+        this.organizationExportService.export(OrganizationExportService.Format.CSV, destination);
+        String[] lines = destination.toString(StandardCharsets.UTF_8.name()).split("\n");
+        log.info("Выгрузили из бд сущности `Организация` - {}", Arrays.toString(lines));
+
+        assertTrue(lines.length == 3, "Выгрузили не столько строк, сколько сущностей");
+        assertTrue(lines[0].equals("uid,name,inn,kpp,address"), String.format("Заголовок не тот - %s", lines[0]));
+        assertTrue(
+                lines[1].equals(String.format("%d,GCorps1,,,\"Новая, 1\"", organisationsOrigin.get(0).getUid()))
+                        && lines[2].startsWith(String.format("%d,GCorps2,0123", organisationsOrigin.get(1).getUid())),
+                "Сущности выгружены не в порядке идентификаторов"
+        );
+    }
+
     @Test
     public void findAll_positive_whenOrganizationsNotExists_thenSuccessfulReturnNull() {
         List<Organization> organizationsSaved = this.organizationRepository.findAll();
@@ -268,6 +302,96 @@ public class OrganizationRepositoryTest {
         assertTrue(organizationsSaved != null, "Получили сущности которых не должно было быть");
     }
 
+    @Test
+    public void findAll_positive_whenLimitAndAttributesSpecified_thenSuccessfulReturnPageOfTuples() {
+        int organizationsCount = 5;
+        int limit = 3;
+        List<Organization> organisationsOrigin = new ArrayList<>(){{
+            for (int i = 1; i <= organizationsCount; i++) {
+                add(
+                        Organization.builder()
+                                .name(String.format("GCorps%d", i))
+                                .inn(String.valueOf(i))
+                                .build()
+                );
+            }
+        }};
+        organizationRepository.saveAll(organisationsOrigin);
+        log.info("Сохранили сущности `Организация` - {}", organisationsOrigin);
+
+        List<Tuple> organizationsSaved = this.organizationRepository.findAll(
+                null,
+                Sort.by("uid"),
+                limit,
+                Arrays.asList("uid", "name")
+        );
+        log.info("Получили из бд проекции сущностей `Организация` - {}", organizationsSaved.size());
+
+        assertTrue(organizationsSaved.size() == limit, "Получили не столько сущностей, сколько ограничили");
+        for (int i = 0; i < limit; i++) {
+            Tuple organizationSaved = organizationsSaved.get(i);
+            assertTrue(organizationSaved.getElements().size() == 2, "Получили не только выбранные свойства");
+            assertTrue(
+                    organizationSaved.get("uid", Long.class).equals(organisationsOrigin.get(i).getUid())
+                            && organizationSaved.get("name", String.class).equals(organisationsOrigin.get(i).getName()),
+                    "Сущности получены не по порядку ключа"
+            );
+        }
+    }
+
+    @Test
+    public void findAll_positive_whenSearchSpecified_thenSuccessfulReturnOrganizationsContainingIt() {
+        List<Organization> organisationsOrigin = Arrays.asList(
+                Organization.builder()
+                        .name("WCorp")
+                        .address("Новая - 15, 2")
+                        .build(),
+                Organization.builder()
+                        .name("GCorp_1")
+                        .address("Старая - 1")
+                        .build(),
+                Organization.builder()
+                        .name("Roga")
+                        .address("Новая - 1")
+                        .build(),
+                Organization.builder()
+                        .name("GCorpX1")
+                        .build()
+        );
+        organizationRepository.saveAll(organisationsOrigin);
+        log.info("Сохранили сущности `Организация` - {}", organisationsOrigin);
+
+        List<Organization> organizationsFoundByName = this.organizationRepository.findAll(
+                CustomSpecificationBuilder.getInstance()
+                        .withSearch("CORP", "name", "address")
+                        .build()
+        );
+        List<Organization> organizationsFoundByAddress = this.organizationRepository.findAll(
+                CustomSpecificationBuilder.getInstance()
+                        .withSearch("новая", "name", "address")
+                        .build()
+        );
+        List<Organization> organizationsFoundByWildcard = this.organizationRepository.findAll(
+                CustomSpecificationBuilder.getInstance()
+                        .withSearch("p_1", "name", "address")
+                        .build()
+        );
+        log.info(
+                "Получили из бд сущности `Организация`:\nпо наименованию - {}\nпо адресу - {}\nпо шаблону - {}",
+                organizationsFoundByName,
+                organizationsFoundByAddress,
+                organizationsFoundByWildcard
+        );
+
+        assertTrue(organizationsFoundByName.size() == 3, "Поиск по наименованию не нашел организации");
+        assertTrue(organizationsFoundByAddress.size() == 2, "Поиск по адресу не нашел организации");
+        assertTrue(
+                organizationsFoundByWildcard.size() == 1
+                        && organizationsFoundByWildcard.get(0).getName().equals("GCorp_1"),
+                "Символы шаблона в подстроке поиска не экранированы"
+        );
+    }
+
     @Test
     public void deleteById_positive_whenIdNotNull_thenSuccessfulDeleteOrganization() {
         Organization organizationOrigin = Organization.builder()
@@ -0,0 +1,96 @@
+package configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.rules.RuleChain;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.MountableFile;
+
+import java.time.Duration;
+
+/**
+ * The primary and its streaming replica made by {@code pg_basebackup}.
+ *
+ * @project restful-test-instances
+ * @created 20.10.2026 13:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class OrganizationReplicatedDbContainers {
+
+    static String IMAGE_VERSION = "postgres:11.1";
+
+    static String PRIMARY_ALIAS = "primary";
+
+    static String REPLICA_DATA = "/var/lib/postgresql/replica";
+
+    Network network = Network.newNetwork();
+
+    PostgreSQLContainer<?> primary;
+
+    GenericContainer<?> replica;
+
+    @SuppressWarnings("resource")
+    public OrganizationReplicatedDbContainers() {
+        this.primary = new PostgreSQLContainer<>(IMAGE_VERSION)
+                .withNetwork(this.network)
+                .withNetworkAliases(PRIMARY_ALIAS)
+                .withCopyFileToContainer(
+                        MountableFile.forClasspathResource("replication/allow-replication.sh", 0755),
+                        "/docker-entrypoint-initdb.d/allow-replication.sh"
+                );
+
+        /*
+         * Реплика копирует каталог основной БД и запускается с recovery.conf, который пишет pg_basebackup -R
+         */
+        this.replica = new GenericContainer<>(IMAGE_VERSION)
+                .withNetwork(this.network)
+                .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+                .withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint(
+                        "bash",
+                        "-c",
+                        String.format(
+                                "until pg_isready -h %1$s -U %2$s; do sleep 1; done"
+                                        + " && pg_basebackup -h %1$s -U %2$s -D %3$s -R -X stream"
+                                        + " && chown -R postgres:postgres %3$s && chmod 700 %3$s"
+                                        + " && exec gosu postgres postgres -D %3$s",
+                                PRIMARY_ALIAS,
+                                this.primary.getUsername(),
+                                REPLICA_DATA
+                        )
+                ))
+                .waitingFor(Wait.forLogMessage(".*database system is ready to accept read only connections.*", 1)
+                        .withStartupTimeout(Duration.ofMinutes(2)));
+    }
+
+    /**
+     * Get the rule which starts the primary before the replica.
+     *
+     * @return the rule chain
+     */
+    public RuleChain getRuleChain() {
+        return RuleChain.outerRule(this.network)
+                .around(this.primary)
+                .around(this.replica);
+    }
+
+    public PostgreSQLContainer<?> getPrimary() {
+        return this.primary;
+    }
+
+    public String getReplicaJdbcUrl() {
+        return String.format(
+                "jdbc:postgresql://%s:%d/%s",
+                this.replica.getHost(),
+                this.replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                this.primary.getDatabaseName()
+        );
+    }
+}
@@ -0,0 +1,188 @@
+package configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The captor of the selections emitted through the application data source - by JPA and by JDBC alike.
+ * <p>
+ * Every executed {@code SELECT} is kept together with the calls which bound its parameters,
+ * so the test can run it once more under {@code EXPLAIN} with the same values.
+ *
+ * @project restful-test-instances
+ * @created 22.10.2026 12:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class StatementCaptor implements BeanPostProcessor {
+
+    List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || !"dataSource".equals(beanName)) return bean;
+
+        return new DelegatingDataSource((DataSource) bean) {
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return capture(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return capture(super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Get the selections captured since the last clearing.
+     *
+     * @return the captured selections in the order of their execution
+     */
+    public List<CapturedStatement> getStatements() {
+        return new ArrayList<>(this.statements);
+    }
+
+    /**
+     * Forget the captured selections.
+     */
+    public void clear() {
+        this.statements.clear();
+    }
+
+    private Connection capture(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName())) return proxy == args[0];
+                    if ("hashCode".equals(method.getName())) return System.identityHashCode(proxy);
+
+                    Object result = invoke(connection, method, args);
+                    if (!"prepareStatement".equals(method.getName()) || !isSelect((String) args[0])) return result;
+
+                    return capture((PreparedStatement) result, (String) args[0]);
+                }
+        );
+    }
+
+    private PreparedStatement capture(PreparedStatement preparedStatement, String sql) {
+        Map<Integer, Binding> bindings = new TreeMap<>();
+
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(preparedStatement, method, args);
+                    /*
+                     * Параметр задает любой setXxx(index, value, ...) - повторяем тот же вызов с теми же аргументами
+                     */
+                    if (method.getName().startsWith("set") && args != null && args.length > 1
+                            && args[0] instanceof Integer) {
+                        bindings.put((Integer) args[0], new Binding(method, args));
+                    } else if ("clearParameters".equals(method.getName())) {
+                        bindings.clear();
+                    } else if (("executeQuery".equals(method.getName()) || "execute".equals(method.getName()))
+                            && (args == null || args.length == 0)) {
+                        this.statements.add(new CapturedStatement(sql, new ArrayList<>(bindings.values())));
+                    }
+
+                    return result;
+                }
+        );
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.trim().toLowerCase().startsWith("select");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The captured selection.
+     */
+    @FieldDefaults(
+            level = AccessLevel.PRIVATE,
+            makeFinal = true
+    )
+    public static final class CapturedStatement {
+
+        String sql;
+
+        List<Binding> bindings;
+
+        CapturedStatement(String sql, List<Binding> bindings) {
+            this.sql = sql;
+            this.bindings = Collections.unmodifiableList(bindings);
+        }
+
+        public String getSql() {
+            return this.sql;
+        }
+
+        /**
+         * Bind the captured parameters to the other statement of the same parameters.
+         *
+         * @param preparedStatement the statement
+         * @throws SQLException the sql exception
+         */
+        public void bind(PreparedStatement preparedStatement) throws SQLException {
+            for (Binding binding : this.bindings) {
+                try {
+                    binding.method.invoke(preparedStatement, binding.args);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new SQLException("Не получилось задать параметр запроса - " + binding.method.getName(), e);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.sql;
+        }
+    }
+
+    @FieldDefaults(
+            level = AccessLevel.PRIVATE,
+            makeFinal = true
+    )
+    private static final class Binding {
+
+        Method method;
+
+        Object[] args;
+
+        Binding(Method method, Object[] args) {
+            this.method = method;
+            this.args = args.clone();
+        }
+    }
+}
@@ -18,7 +18,12 @@ import org.restful.test.instances.commons.categories.UnitTest;
 })
 @SuiteClasses({
         OrganizationRepositoryTest.class,
-        EmployRepositoryTest.class
+        EmployRepositoryTest.class,
+        PartitionedEmployRepositoryTest.class,
+        OrganizationChangeListenerTest.class,
+        ReplicaRoutingDataSourceTest.class,
+        ShardedOrganizationServiceTest.class,
+        OrganizationImportServiceTest.class
 })
 @Slf4j
 public class OrganizationApplicationIntegrationTestSuite {
@@ -0,0 +1,246 @@
+package org.restful.test.instances.db.testcontainers.test;
+
+import configuration.OrganizationDbContainer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnReal;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.service.OrganizationService;
+import org.restful.test.instances.service.cache.OrganizationResultCache;
+import org.restful.test.instances.service.cache.OrganizationUidFilter;
+import org.restful.test.instances.service.mapping.CustomModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * @project restful-test-instances
+ * @created 19.10.2026 11:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category(IntegrationTestOnReal.class)
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        properties = {
+                "organisations.cache.enabled=true",
+                "organisations.cache.listen.enabled=true",
+                "organisations.find.uid-filter.enabled=true"
+        }
+)
+@DirtiesContext
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class OrganizationChangeListenerTest {
+
+    static long NOTIFICATION_TIMEOUT = 10000;
+
+    @ClassRule
+    public static PostgreSQLContainer postgreSQLContainer = OrganizationDbContainer.getInstance();
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Autowired
+    OrganizationResultCache organizationResultCache;
+
+    @Autowired
+    OrganizationUidFilter organizationUidFilter;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrganizationService organizationService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Before
+    public void beforeEachTest() {
+        this.cleanDb();
+    }
+
+    @After
+    public void afterEachTest() {
+        this.cleanDb();
+    }
+
+    @Test
+    public void onChange_positive_whenOrganizationIsUpdatedOutsideOfInstance_thenItIsEvicted()
+            throws InterruptedException {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("WCorp")
+                .build()
+        );
+        this.organizationRepository.findById(organizationOrigin.getUid());
+        assertTrue(
+                this.entityManagerFactory.getCache().contains(Organization.class, organizationOrigin.getUid()),
+                "Организация не попала в кеш второго уровня"
+        );
+        long version = this.getTableVersion();
+
+        /*
+         * Изменяем организацию мимо приложения - так же, как ее изменил бы другой экземпляр
+         */
+        this.jdbcTemplate.update(
+                "UPDATE organization SET name = ? WHERE uid = ?",
+                "GCorp",
+                organizationOrigin.getUid()
+        );
+
+        assertTrue(
+                this.await(() -> !this.entityManagerFactory.getCache().contains(
+                        Organization.class,
+                        organizationOrigin.getUid()
+                )),
+                "Измененная организация осталась в кеше второго уровня"
+        );
+        assertTrue(this.getTableVersion() > version, "Версия таблицы организаций не изменилась");
+    }
+
+    @Test
+    public void onChange_positive_whenOrganizationIsInsertedOutsideOfInstance_thenResultCacheIsInvalidated()
+            throws InterruptedException {
+        long version = this.getTableVersion();
+
+        this.jdbcTemplate.update("INSERT INTO organization (name) VALUES (?)", "WCorp");
+
+        assertTrue(
+                this.await(() -> this.getTableVersion() > version),
+                "Версия таблицы организаций не изменилась"
+        );
+    }
+
+    @Test
+    public void onChange_positive_whenOrganizationIsInsertedOutsideOfInstance_thenItMightExist()
+            throws InterruptedException {
+        Long uid = this.jdbcTemplate.queryForObject(
+                "INSERT INTO organization (name) VALUES (?) RETURNING uid",
+                Long.class,
+                "WCorp"
+        );
+
+        assertTrue(
+                this.await(() -> this.organizationUidFilter.mightExist(uid)),
+                "Организации, созданной другим экземпляром, нет в фильтре идентификаторов"
+        );
+    }
+
+    @Test
+    public void onChange_positive_whenOrganizationsAreInsertedInOneStatement_thenAllMightExistWithoutRebuild()
+            throws InterruptedException {
+        this.awaitNotificationsHandled();
+        double size = this.getUidFilterSize();
+
+        List<Long> uids = this.jdbcTemplate.queryForList(
+                "INSERT INTO organization (name) VALUES (?), (?) RETURNING uid",
+                Long.class,
+                "WCorp",
+                "GCorp"
+        );
+
+        assertTrue(
+                this.await(() -> uids.stream().allMatch(this.organizationUidFilter::mightExist)),
+                "Организаций, созданных другим экземпляром, нет в фильтре идентификаторов"
+        );
+        assertTrue(
+                this.getUidFilterSize() == size + uids.size(),
+                "Фильтр идентификаторов перестроен, а не дополнен вставленными идентификаторами"
+        );
+    }
+
+    @Test
+    public void onChange_positive_whenOrganizationsAreUpsertedByInstance_thenOnlyInsertedAreCountedOnce()
+            throws InterruptedException, CustomModelMapper.MappingException {
+        this.awaitNotificationsHandled();
+        double size = this.getUidFilterSize();
+
+        OrganizationDetail organizationCreated = this.organizationService.create(OrganizationDetail.builder()
+                .name(Optional.of("WCorp"))
+                .build()
+        );
+        this.organizationService.upsert("WCorp", OrganizationDetail.builder().inn(Optional.of("0123")).build());
+        this.organizationService.upsert("GCorp", OrganizationDetail.builder().inn(Optional.of("0123")).build());
+        assertTrue(
+                this.organizationUidFilter.mightExist(organizationCreated.getUid().get()),
+                "Созданной организации нет в фильтре идентификаторов до уведомления"
+        );
+
+        this.awaitNotificationsHandled();
+        log.info("Размер фильтра идентификаторов - было {}, стало {}", size, this.getUidFilterSize());
+        assertTrue(
+                this.getUidFilterSize() == size + 3,
+                "Фильтр идентификаторов посчитал не только по разу вставленные организации"
+        );
+    }
+
+    /*
+     * Уведомления доставляются в порядке фиксации - дождавшись своей вставки, дожидаемся и всех предыдущих
+     */
+    private void awaitNotificationsHandled() throws InterruptedException {
+        Long uid = this.jdbcTemplate.queryForObject(
+                "INSERT INTO organization (name) VALUES (?) RETURNING uid",
+                Long.class,
+                "XCorp" + System.nanoTime() % 100000
+        );
+
+        assertTrue(
+                this.await(() -> this.organizationUidFilter.mightExist(uid)),
+                "Уведомление о вставке организации не получено"
+        );
+    }
+
+    private double getUidFilterSize() {
+        return this.meterRegistry.get("organizations.uid.filter.size").gauge().value();
+    }
+
+    private long getTableVersion() {
+        return this.organizationResultCache.createKey(OrganizationFilter.builder().build(), null, 1).getVersion();
+    }
+
+    private boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + NOTIFICATION_TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) return false;
+
+            Thread.sleep(50);
+        }
+
+        return true;
+    }
+
+    private void cleanDb() {
+        this.organizationRepository.deleteAll();
+    }
+}
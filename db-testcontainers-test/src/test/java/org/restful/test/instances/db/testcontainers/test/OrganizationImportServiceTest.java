@@ -0,0 +1,139 @@
+package org.restful.test.instances.db.testcontainers.test;
+
+import configuration.OrganizationDbContainer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnReal;
+import org.restful.test.instances.model.detail.OrganizationImportDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.service.OrganizationImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 20:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category(IntegrationTestOnReal.class)
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@DirtiesContext
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class OrganizationImportServiceTest {
+
+    @ClassRule
+    public static PostgreSQLContainer postgreSQLContainer = OrganizationDbContainer.getInstance();
+
+    @Autowired
+    OrganizationImportService organizationImportService;
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Before
+    public void beforeEachTest() {
+        this.cleanDb();
+    }
+
+    @After
+    public void afterEachTest() {
+        this.cleanDb();
+    }
+
+    @Test
+    public void importCsv_positive_whenCsvHasDuplicatesAndInvalidRows_thenSuccessfulMergedLastRowOfName()
+            throws IOException {
+        Organization organizationOrigin = this.organizationRepository.save(Organization.builder()
+                .name("GCorp")
+                .inn("00")
+                .kpp("00")
+                .build()
+        );
+        log.info("Сохранили сущность `Организация` - {}", organizationOrigin);
+
+        String csv = "name,inn,kpp,address\n"
+                + "WCorp,01,,Moscow\n"
+                + "GCorp,02,,\n"
+                + "WCorp,03,,\"Kazan, \"\"Center\"\"\"\n"
+                + ",04,,\n"
+                + "XCorp,01234567890,,\n"
+                + "XCorp,05,05,\n";
+        log.info("Создали CSV для импорта - {}", csv);
+
+        OrganizationImportDetail importOrganizationsResponse = this.organizationImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))
+        );
+        log.info("Импортировали сущности `Организация` - {}", importOrganizationsResponse);
+
+        assertTrue(importOrganizationsResponse.getRows() == 6, "Прочитано не то количество строк");
+        assertTrue(importOrganizationsResponse.getFailed() == 2, "Не прошло проверку не то количество строк");
+        assertTrue(
+                importOrganizationsResponse.getErrors().keySet().equals(new TreeSet<>(Arrays.asList(4L, 5L))),
+                String.format("Ошибки не у тех строк - %s", importOrganizationsResponse.getErrors())
+        );
+        assertTrue(
+                importOrganizationsResponse.getImported() == 3,
+                "Объединено не то количество организаций - дубликаты наименований не схлопнуты"
+        );
+
+        Map<String, Organization> organizationsImported = this.organizationRepository.findAll().stream()
+                .collect(Collectors.toMap(Organization::getName, Function.identity()));
+        log.info("Получили из бд сущности `Организация` - {}", organizationsImported);
+
+        assertTrue(organizationsImported.size() == 3, "Сущностей в бд не столько, сколько наименований");
+        Organization organizationReplaced = organizationsImported.get("GCorp");
+        assertNotNull(organizationReplaced, "Существующая сущность потерялась при импорте");
+        assertTrue(
+                organizationReplaced.getUid().equals(organizationOrigin.getUid())
+                        && organizationReplaced.getInn().equals("02")
+                        && organizationReplaced.getKpp() == null,
+                String.format("Существующая сущность не заменена строкой CSV - %s", organizationReplaced)
+        );
+        Organization organizationDuplicated = organizationsImported.get("WCorp");
+        assertTrue(
+                organizationDuplicated.getInn().equals("03")
+                        && organizationDuplicated.getAddress().equals("Kazan, \"Center\""),
+                String.format("Из дубликатов наименования выбрана не последняя строка - %s", organizationDuplicated)
+        );
+        assertTrue(
+                organizationsImported.get("XCorp").getInn().equals("05"),
+                "Невалидная строка попала в бд"
+        );
+    }
+
+    private void cleanDb() {
+        this.organizationRepository.deleteAll();
+    }
+}
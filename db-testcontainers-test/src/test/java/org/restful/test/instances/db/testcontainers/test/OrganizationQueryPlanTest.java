@@ -0,0 +1,243 @@
+package org.restful.test.instances.db.testcontainers.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import configuration.OrganizationDbContainer;
+import configuration.StatementCaptor;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnReal;
+import org.restful.test.instances.commons.categories.QueryPlanTest;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.service.EmployService;
+import org.restful.test.instances.service.OrganizationService;
+import org.restful.test.instances.service.mapping.CustomModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The plans of the selections which have to be served by the indexes.
+ * <p>
+ * The selections emitted by the repository and service methods are captured and explained
+ * with {@code ANALYZE} and {@code BUFFERS} on the realistic volume of the data: the test fails,
+ * if the selection reads any table by {@code Seq Scan} or reads more buffers than its budget.
+ *
+ * @project restful-test-instances
+ * @created 22.10.2026 12:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category({IntegrationTestOnReal.class, QueryPlanTest.class})
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Import(StatementCaptor.class)
+@DirtiesContext
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class OrganizationQueryPlanTest {
+
+    static int ORGANIZATIONS_COUNT = 100000;
+
+    static int EMPLOYS_PER_ORGANIZATION = 2;
+
+    static String EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ";
+
+    static ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @ClassRule
+    public static PostgreSQLContainer postgreSQLContainer = OrganizationDbContainer.getInstance();
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Autowired
+    OrganizationService organizationService;
+
+    @Autowired
+    EmployService employService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    StatementCaptor statementCaptor;
+
+    Map<String, Object> organization;
+
+    @Before
+    public void beforeEachTest() {
+        if (this.jdbcTemplate.queryForObject("SELECT count(*) FROM organization", Long.class) == 0) this.seedDb();
+
+        this.organization = this.jdbcTemplate.queryForMap(
+                "SELECT uid, name, inn, kpp FROM organization ORDER BY uid OFFSET ? LIMIT 1",
+                ORGANIZATIONS_COUNT / 2
+        );
+        this.statementCaptor.clear();
+    }
+
+    @Test
+    public void findById_plan_whenOrganizationIsSelectedByUid_thenPrimaryKeyIsUsed() {
+        this.organizationRepository.findById((Long) this.organization.get("uid"));
+
+        this.assertIndexedSelections(8);
+    }
+
+    @Test
+    public void find_plan_whenOrganizationsAreFilteredByName_thenNameIndexIsUsed()
+            throws CustomModelMapper.MappingException {
+        this.organizationService.find(
+                OrganizationFilter.builder()
+                        .name(Collections.singletonList((String) this.organization.get("name")))
+                        .build(),
+                null,
+                10
+        );
+
+        this.assertIndexedSelections(16);
+    }
+
+    @Test
+    public void find_plan_whenOrganizationsAreFilteredByInn_thenInnIndexIsUsed()
+            throws CustomModelMapper.MappingException {
+        this.organizationService.find(
+                OrganizationFilter.builder()
+                        .inn(Collections.singletonList((String) this.organization.get("inn")))
+                        .build(),
+                null,
+                10
+        );
+
+        this.assertIndexedSelections(16);
+    }
+
+    @Test
+    public void find_plan_whenOrganizationsAreFilteredByKpp_thenKppIndexIsUsed()
+            throws CustomModelMapper.MappingException {
+        this.organizationService.find(
+                OrganizationFilter.builder()
+                        .kpp(Collections.singletonList((String) this.organization.get("kpp")))
+                        .build(),
+                null,
+                10
+        );
+
+        this.assertIndexedSelections(32);
+    }
+
+    @Test
+    public void find_plan_whenEmploysAreSelectedByOrganization_thenOrganizationIndexIsUsed()
+            throws CustomModelMapper.MappingException {
+        this.employService.find((Long) this.organization.get("uid"));
+
+        this.assertIndexedSelections(16);
+    }
+
+    /*
+     * ИНН уникален, КПП повторяется у каждой 10000-й организации, у каждой организации по два сотрудника
+     */
+    private void seedDb() {
+        this.jdbcTemplate.update("INSERT INTO position (name, code) VALUES ('Просто отличный парень', 'CG1')");
+        this.jdbcTemplate.update(
+                "INSERT INTO organization (name, inn, kpp, address) "
+                        + "SELECT 'o' || i, lpad(i::text, 10, '0'), lpad((i % 10000)::text, 8, '0'), "
+                        + "'г. Москва, ул. Тверская, д. ' || i FROM generate_series(1, ?) i",
+                ORGANIZATIONS_COUNT
+        );
+        this.jdbcTemplate.update(
+                "INSERT INTO employ (full_name, organization_uid, position_uid) "
+                        + "SELECT 'Сотрудник ' || o.uid || '-' || e, o.uid, p.position_uid "
+                        + "FROM organization o CROSS JOIN generate_series(1, ?) e CROSS JOIN position p",
+                EMPLOYS_PER_ORGANIZATION
+        );
+        this.jdbcTemplate.execute("VACUUM ANALYZE position");
+        this.jdbcTemplate.execute("VACUUM ANALYZE organization");
+        this.jdbcTemplate.execute("VACUUM ANALYZE employ");
+        log.info(
+                "Заполнили БД - {} организаций по {} сотрудника",
+                ORGANIZATIONS_COUNT,
+                EMPLOYS_PER_ORGANIZATION
+        );
+    }
+
+    private void assertIndexedSelections(int buffersBudget) {
+        List<StatementCaptor.CapturedStatement> statements = this.statementCaptor.getStatements();
+        assertTrue(!statements.isEmpty(), "Метод не выполнил ни одной выборки");
+
+        for (StatementCaptor.CapturedStatement statement : statements) {
+            JsonNode plan = this.explain(statement);
+            log.info("План выборки {}:\n{}", statement, plan);
+
+            List<String> scannedTables = new ArrayList<>();
+            collectSeqScans(plan, scannedTables);
+            assertTrue(
+                    scannedTables.isEmpty(),
+                    String.format("Выборка читает таблицы %s целиком (Seq Scan) - %s", scannedTables, statement)
+            );
+
+            /*
+             * Счетчики буферов узла включают буферы его дочерних узлов - бюджет проверяем по корню плана
+             */
+            long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+            assertTrue(
+                    buffers <= buffersBudget,
+                    String.format("Выборка прочитала %d буферов при бюджете %d - %s", buffers, buffersBudget, statement)
+            );
+        }
+    }
+
+    private JsonNode explain(StatementCaptor.CapturedStatement statement) {
+        return this.jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement explain = connection.prepareStatement(EXPLAIN + statement.getSql());
+                    statement.bind(explain);
+
+                    return explain;
+                },
+                resultSet -> {
+                    resultSet.next();
+                    try {
+                        return OBJECT_MAPPER.readTree(resultSet.getString(1)).get(0).get("Plan");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+        );
+    }
+
+    private static void collectSeqScans(JsonNode plan, List<String> scannedTables) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            scannedTables.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectSeqScans(child, scannedTables);
+        }
+    }
+}
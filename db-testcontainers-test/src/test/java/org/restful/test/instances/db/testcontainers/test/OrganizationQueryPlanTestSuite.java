@@ -0,0 +1,33 @@
+package org.restful.test.instances.db.testcontainers.test;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.experimental.categories.Categories;
+import org.junit.experimental.categories.Categories.ExcludeCategory;
+import org.junit.experimental.categories.Category;
+import org.junit.experimental.categories.Categories.IncludeCategory;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite.SuiteClasses;
+import org.restful.test.instances.commons.categories.IntegrationTestOnEmbedded;
+import org.restful.test.instances.commons.categories.IntegrationTestOnReal;
+import org.restful.test.instances.commons.categories.QueryPlanTest;
+import org.restful.test.instances.commons.categories.UnitTest;
+
+@Category({IntegrationTestOnReal.class, QueryPlanTest.class})
+@RunWith(Categories.class)
+@IncludeCategory(QueryPlanTest.class)
+@ExcludeCategory({
+        UnitTest.class,
+        IntegrationTestOnEmbedded.class
+})
+@SuiteClasses({
+        OrganizationQueryPlanTest.class
+})
+@Slf4j
+public class OrganizationQueryPlanTestSuite {
+
+    public void main() {
+        log.info("Started query plan tests on real database");
+    }
+
+}
+
@@ -0,0 +1,178 @@
+package org.restful.test.instances.db.testcontainers.test;
+
+import configuration.OrganizationDbContainer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnReal;
+import org.restful.test.instances.model.entity.Employ;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.model.entity.Position;
+import org.restful.test.instances.repository.EmployRepository;
+import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.repository.PositionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * @project restful-test-instances
+ * @created 22.10.2026 10:15
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category(IntegrationTestOnReal.class)
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        properties = {
+                "organisations.datasource.partitioning.employ=true"
+        }
+)
+@DirtiesContext
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class PartitionedEmployRepositoryTest {
+
+    static Pattern PARTITION_SCAN = Pattern.compile(" on (employ_p\\d+)(?:\\s|$)");
+
+    @ClassRule
+    public static PostgreSQLContainer postgreSQLContainer = OrganizationDbContainer.getInstance();
+
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    @Autowired
+    PositionRepository positionRepository;
+
+    @Autowired
+    EmployRepository employRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Organization firstOrganization;
+
+    Organization secondOrganization;
+
+    Position position;
+
+    @Before
+    public void beforeEachTest() {
+        this.cleanDb();
+        this.firstOrganization = this.organizationRepository.save(Organization.builder()
+                .name("АО Ревизор")
+                .build());
+        this.secondOrganization = this.organizationRepository.save(Organization.builder()
+                .name("ООО Аудитор")
+                .build());
+        this.position = this.positionRepository.save(Position.builder()
+                .name("Просто отличный парень")
+                .code("CG1")
+                .build());
+    }
+
+    @After
+    public void afterEachTest() {
+        this.cleanDb();
+    }
+
+    @Test
+    public void migration_positive_whenPartitioningIsEnabled_thenEmployIsPartitionedByHash() {
+        Long partitionsCount = this.jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_inherits WHERE inhparent = 'employ'::regclass",
+                Long.class
+        );
+        log.info("Таблица employ разбита на секции - {}", partitionsCount);
+
+        assertTrue(partitionsCount == 8, "Таблица employ не разбита на секции");
+    }
+
+    @Test
+    public void findAllByOrganizationUid_positive_whenEmploysAreInDifferentPartitions_thenOnlyOrganizationEmploys() {
+        List<Employ> firstEmploys = this.employRepository.saveAll(Arrays.asList(
+                this.createEmploy("Василий Зайцев", this.firstOrganization),
+                this.createEmploy("Петр Волков", this.firstOrganization)
+        ));
+        this.employRepository.save(this.createEmploy("Иван Медведев", this.secondOrganization));
+
+        List<Employ> employs = this.employRepository.findAllByOrganizationUidOrderByEmployUid(
+                this.firstOrganization.getUid()
+        );
+        log.info("Получили сотрудников организации из бд - {}", employs);
+
+        assertTrue(
+                employs.equals(firstEmploys),
+                String.format("Выбраны не сотрудники организации %d - %s", this.firstOrganization.getUid(), employs)
+        );
+        assertTrue(
+                !this.employRepository.findByOrganizationUidAndEmployUid(
+                        this.secondOrganization.getUid(),
+                        firstEmploys.get(0).getEmployUid()
+                ).isPresent(),
+                "Сотрудник выбран в чужой организации"
+        );
+    }
+
+    @Test
+    public void findAllByOrganizationUid_positive_whenOrganizationUidIsBound_thenOnePartitionIsScanned() {
+        this.employRepository.save(this.createEmploy("Василий Зайцев", this.firstOrganization));
+
+        List<String> plan = this.jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM employ WHERE organization_uid = ? ORDER BY employ_uid",
+                String.class,
+                this.firstOrganization.getUid()
+        );
+        log.info("План выборки сотрудников организации - {}", plan);
+
+        /*
+         * Секция в плане встречается и в индексе, и в таблице (Bitmap Index/Heap Scan) - считаем разные таблицы
+         */
+        Set<String> scannedPartitions = plan.stream()
+                .map(PARTITION_SCAN::matcher)
+                .filter(Matcher::find)
+                .map(partition -> partition.group(1))
+                .collect(Collectors.toSet());
+        assertTrue(
+                scannedPartitions.size() == 1,
+                String.format("Выборка по организации не отсечена до одной секции - %s", plan)
+        );
+    }
+
+    private Employ createEmploy(String fullName, Organization organization) {
+        return Employ.builder()
+                .fullName(fullName)
+                .organizationUid(organization.getUid())
+                .positionUid(this.position.getPositionUid())
+                .build();
+    }
+
+    private void cleanDb() {
+        this.employRepository.deleteAll();
+        this.organizationRepository.deleteAll();
+        this.positionRepository.deleteAll();
+    }
+}
@@ -0,0 +1,275 @@
+package org.restful.test.instances.db.testcontainers.test;
+
+import configuration.OrganizationReplicatedDbContainers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.RuleChain;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnReal;
+import org.restful.test.instances.repository.routing.ReplicaRoutingDataSource;
+import org.restful.test.instances.repository.routing.RoutingContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @project restful-test-instances
+ * @created 20.10.2026 13:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category(IntegrationTestOnReal.class)
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        properties = {
+                "organisations.datasource.replicas.enabled=true",
+                "organisations.datasource.replicas.check-interval=100"
+        }
+)
+@ContextConfiguration(initializers = ReplicaRoutingDataSourceTest.Initializer.class)
+@DirtiesContext
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class ReplicaRoutingDataSourceTest {
+
+    static long REPLICATION_TIMEOUT = 10000;
+
+    static OrganizationReplicatedDbContainers containers = new OrganizationReplicatedDbContainers();
+
+    @ClassRule
+    public static RuleChain containersRule = containers.getRuleChain();
+
+    @Autowired
+    ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    @Qualifier("readOnlyTransactionTemplate")
+    TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @After
+    public void afterEachTest() throws SQLException {
+        this.executeOnReplica("SELECT pg_wal_replay_resume()");
+        this.jdbcTemplate.update("DELETE FROM organization");
+    }
+
+    @Test
+    public void getConnection_positive_whenTransactionIsReadOnly_thenReplicaIsUsed() {
+        assertTrue(this.isReadFromReplica(), "Транзакция только для чтения выполнена не на реплике");
+        assertTrue(
+                !this.jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class),
+                "Запрос вне транзакции только для чтения выполнен не в основной БД"
+        );
+    }
+
+    @Test
+    public void getConnection_positive_whenReplicaIsBehindToken_thenOwnWriteIsReadFromPrimary() throws SQLException {
+        this.executeOnReplica("SELECT pg_wal_replay_pause()");
+        this.jdbcTemplate.update("INSERT INTO organization (name) VALUES (?)", "WCorp");
+        long lsn = this.replicaRoutingDataSource.getCurrentLsn();
+        this.replicaRoutingDataSource.checkReplicas();
+
+        try (RoutingContext.Scope scope = RoutingContext.requireLsn(lsn)) {
+            assertTrue(!this.isReadFromReplica(), "Чтение своей записи выполнено на отставшей реплике");
+            assertTrue(
+                    this.readOnlyTransactionTemplate.execute(status -> this.jdbcTemplate.queryForObject(
+                            "SELECT count(*) FROM organization WHERE name = ?",
+                            Long.class,
+                            "WCorp"
+                    )) == 1,
+                    "Своя запись не прочитана"
+            );
+        }
+    }
+
+    @Test
+    public void getConnection_positive_whenTokenIsCapturedForOtherThread_thenOwnWriteIsReadFromPrimary()
+            throws SQLException, ExecutionException, InterruptedException {
+        this.executeOnReplica("SELECT pg_wal_replay_pause()");
+        this.jdbcTemplate.update("INSERT INTO organization (name) VALUES (?)", "WCorp");
+        long lsn = this.replicaRoutingDataSource.getCurrentLsn();
+        this.replicaRoutingDataSource.checkReplicas();
+
+        RoutingContext routingContext;
+        try (RoutingContext.Scope scope = RoutingContext.requireLsn(lsn)) {
+            routingContext = RoutingContext.capture();
+        }
+
+        /*
+         * Так тело потокового ответа читает в потоке, который запускается уже после фильтра запроса
+         */
+        boolean isReadFromReplica = CompletableFuture.supplyAsync(() -> {
+            try (RoutingContext.Scope scope = routingContext.use()) {
+                return this.isReadFromReplica();
+            }
+        }).get();
+        assertTrue(!isReadFromReplica, "Чтение своей записи в другом потоке выполнено на отставшей реплике");
+    }
+
+    @Test
+    public void getConnection_positive_whenReplicaCatchesUpToken_thenReplicaIsUsed()
+            throws SQLException, InterruptedException {
+        this.jdbcTemplate.update("INSERT INTO organization (name) VALUES (?)", "WCorp");
+        long lsn = this.replicaRoutingDataSource.getCurrentLsn();
+
+        try (RoutingContext.Scope scope = RoutingContext.requireLsn(lsn)) {
+            long deadline = System.currentTimeMillis() + REPLICATION_TIMEOUT;
+            while (!this.isReadFromReplica()) {
+                assertTrue(System.currentTimeMillis() < deadline, "Реплика не догнала позицию WAL записи");
+
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    @Test
+    public void checkReplicas_positive_whenReplicaIsUnavailable_thenItIsEjected() throws Exception {
+        DriverManagerDataSource primary = new DriverManagerDataSource(
+                containers.getPrimary().getJdbcUrl(),
+                containers.getPrimary().getUsername(),
+                containers.getPrimary().getPassword()
+        );
+        DriverManagerDataSource unavailableReplica = new DriverManagerDataSource(
+                "jdbc:postgresql://localhost:1/test?connectTimeout=1",
+                containers.getPrimary().getUsername(),
+                containers.getPrimary().getPassword()
+        );
+
+        try (ReplicaRoutingDataSource replicaRoutingDataSource = new ReplicaRoutingDataSource(
+                primary,
+                Collections.singletonMap("unavailable", unavailableReplica),
+                60000,
+                Long.MAX_VALUE,
+                new SimpleMeterRegistry()
+        )) {
+            replicaRoutingDataSource.checkReplicas();
+            assertTrue(replicaRoutingDataSource.getHealthyReplicasCount() == 0, "Недоступная реплика не исключена");
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try (Connection connection = replicaRoutingDataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet isInRecovery = statement.executeQuery("SELECT pg_is_in_recovery()")) {
+                isInRecovery.next();
+                assertTrue(!isInRecovery.getBoolean(1), "Без реплик чтение выполнено не в основной БД");
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        }
+    }
+
+    @Test
+    public void checkReplicas_positive_whenReplicaIsPromoted_thenItIsEjected() throws Exception {
+        DriverManagerDataSource primary = new DriverManagerDataSource(
+                containers.getPrimary().getJdbcUrl(),
+                containers.getPrimary().getUsername(),
+                containers.getPrimary().getPassword()
+        );
+
+        /*
+         * Повышенная реплика отвечает и помнит позицию, догнавшую основную БД, но уже не в режиме восстановления
+         */
+        String replayLsn = ReplicaRoutingDataSource.formatLsn(this.replicaRoutingDataSource.getCurrentLsn());
+        ResultSet isInRecovery = mock(ResultSet.class);
+        when(isInRecovery.next()).thenReturn(true);
+        when(isInRecovery.getBoolean(1)).thenReturn(false);
+        ResultSet lsn = mock(ResultSet.class);
+        when(lsn.next()).thenReturn(true);
+        when(lsn.getString(1)).thenReturn(replayLsn);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenAnswer(invocation ->
+                invocation.<String>getArgument(0).contains("pg_is_in_recovery") ? isInRecovery : lsn
+        );
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseMajorVersion()).thenReturn(11);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getMetaData()).thenReturn(metaData);
+        DataSource promotedReplica = mock(DataSource.class);
+        when(promotedReplica.getConnection()).thenReturn(connection);
+
+        try (ReplicaRoutingDataSource replicaRoutingDataSource = new ReplicaRoutingDataSource(
+                primary,
+                Collections.singletonMap("promoted", promotedReplica),
+                60000,
+                Long.MAX_VALUE,
+                new SimpleMeterRegistry()
+        )) {
+            replicaRoutingDataSource.checkReplicas();
+            assertTrue(replicaRoutingDataSource.getHealthyReplicasCount() == 0, "Повышенная реплика не исключена");
+        }
+    }
+
+    private boolean isReadFromReplica() {
+        return this.readOnlyTransactionTemplate.execute(status -> this.jdbcTemplate.queryForObject(
+                "SELECT pg_is_in_recovery()",
+                Boolean.class
+        ));
+    }
+
+    private void executeOnReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                containers.getReplicaJdbcUrl(),
+                containers.getPrimary().getUsername(),
+                containers.getPrimary().getPassword()
+        );
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * The initializer of the data sources of the replicated containers.
+     */
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext applicationContext) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + containers.getPrimary().getJdbcUrl(),
+                    "spring.datasource.username=" + containers.getPrimary().getUsername(),
+                    "spring.datasource.password=" + containers.getPrimary().getPassword(),
+                    "organisations.datasource.replicas.urls=" + containers.getReplicaJdbcUrl()
+            ).applyTo(applicationContext);
+        }
+    }
+}
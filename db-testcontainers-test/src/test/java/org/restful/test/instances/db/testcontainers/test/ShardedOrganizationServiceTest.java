@@ -0,0 +1,265 @@
+package org.restful.test.instances.db.testcontainers.test;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.RuleChain;
+import org.junit.runner.RunWith;
+import org.restful.test.instances.commons.categories.IntegrationTestOnReal;
+import org.restful.test.instances.model.detail.OrganizationBatchDetail;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.routing.ShardRebalancer;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.restful.test.instances.service.OrganizationService;
+import org.restful.test.instances.service.mapping.CustomModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * @project restful-test-instances
+ * @created 21.10.2026 14:00
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Category(IntegrationTestOnReal.class)
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@SpringBootTest(
+        properties = {
+                "organisations.datasource.shards.enabled=true"
+        }
+)
+@ContextConfiguration(initializers = ShardedOrganizationServiceTest.Initializer.class)
+@DirtiesContext
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class ShardedOrganizationServiceTest {
+
+    static String IMAGE_VERSION = "postgres:11.1";
+
+    static PostgreSQLContainer<?> firstShard = new PostgreSQLContainer<>(IMAGE_VERSION);
+
+    static PostgreSQLContainer<?> secondShard = new PostgreSQLContainer<>(IMAGE_VERSION);
+
+    @ClassRule
+    public static RuleChain shardsRule = RuleChain.outerRule(firstShard).around(secondShard);
+
+    @Autowired
+    OrganizationService organizationService;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    ShardRebalancer shardRebalancer;
+
+    @After
+    public void afterEachTest() {
+        for (JdbcTemplate shard : getShards()) {
+            shard.update("DELETE FROM employ");
+            shard.update("DELETE FROM organization");
+            shard.update("DELETE FROM position");
+        }
+    }
+
+    @Test
+    public void create_positive_whenOrganizationIsCreated_thenItIsStoredInShardOfUid()
+            throws CustomModelMapper.MappingException {
+        OrganizationDetail organization = this.organizationService.create(OrganizationDetail.builder()
+                .name(Optional.of("WCorp"))
+                .build());
+        long uid = organization.getUid().get();
+        int shard = this.shardRouter.shardOf(uid);
+        log.info("Создали организацию {} в шарде {}", uid, shard);
+
+        assertTrue(
+                countOrganizations(getShards().get(shard), uid) == 1,
+                "Организация не сохранена в шарде своего идентификатора"
+        );
+        assertTrue(
+                countOrganizations(getShards().get(1 - shard), uid) == 0,
+                "Организация сохранена не в своем шарде"
+        );
+        assertTrue(
+                this.organizationService.find(uid).getName().equals(Optional.of("WCorp")),
+                "Организация не выбрана из своего шарда"
+        );
+    }
+
+    @Test
+    public void find_positive_whenOrganizationsAreInBothShards_thenPagesAreMergedByUid()
+            throws CustomModelMapper.MappingException {
+        OrganizationBatchDetail organizations = this.organizationService.createAll(Arrays.asList(
+                OrganizationDetail.builder().name(Optional.of("ACorp")).build(),
+                OrganizationDetail.builder().name(Optional.of("BCorp")).build(),
+                OrganizationDetail.builder().name(Optional.of("CCorp")).build(),
+                OrganizationDetail.builder().name(Optional.of("DCorp")).build(),
+                OrganizationDetail.builder().name(Optional.of("ECorp")).build(),
+                OrganizationDetail.builder().name(Optional.of("FCorp")).build()
+        ));
+        List<Long> uids = organizations.getUids().stream()
+                .sorted()
+                .collect(Collectors.toList());
+        assertTrue(
+                uids.stream().map(this.shardRouter::shardOf).distinct().count() == 2,
+                String.format("Организации созданы не в обоих шардах - %s", uids)
+        );
+
+        OrganizationFilter filter = OrganizationFilter.builder().build();
+        Slice<OrganizationDetail> firstPage = this.organizationService.find(filter, null, 4);
+        Long last = firstPage.getContent().get(firstPage.getNumberOfElements() - 1).getUid().get();
+        Slice<OrganizationDetail> secondPage = this.organizationService.find(filter, last, 4);
+
+        assertTrue(firstPage.hasNext() && !secondPage.hasNext(), "Неверный признак следующей страницы");
+        assertTrue(
+                toUids(firstPage).equals(uids.subList(0, 4)) && toUids(secondPage).equals(uids.subList(4, 6)),
+                String.format(
+                        "Страницы шардов объединены не по uid - %s, %s",
+                        toUids(firstPage),
+                        toUids(secondPage)
+                )
+        );
+    }
+
+    @Test
+    public void upsert_positive_whenNameIsInShardOfOtherName_thenOrganizationIsUpdatedInShardOfUid()
+            throws CustomModelMapper.MappingException {
+        int shard = 1 - this.shardRouter.shardOfNew("WCorp");
+        long uid = 1000000 + shard;
+        getShards().get(shard).update("INSERT INTO organization (uid, name) VALUES (?, 'WCorp')", uid);
+
+        OrganizationDetail organization = this.organizationService.upsert(
+                "WCorp",
+                OrganizationDetail.builder().inn(Optional.of("01")).build()
+        );
+        log.info("Создали или обновили организацию - {}", organization);
+
+        assertTrue(
+                organization.getUid().equals(Optional.of(uid)),
+                String.format("Организация не найдена в шарде своего идентификатора - %s", organization)
+        );
+        assertTrue(
+                getShards().get(1 - shard).queryForObject(
+                        "SELECT count(*) FROM organization WHERE name = 'WCorp'",
+                        Long.class
+                ) == 0,
+                "Организация с тем же наименованием создана в шарде наименования"
+        );
+        assertTrue(
+                getShards().get(shard).queryForObject(
+                        "SELECT inn FROM organization WHERE uid = ?",
+                        String.class,
+                        uid
+                ).equals("01"),
+                "Организация не обновлена в шарде своего идентификатора"
+        );
+    }
+
+    @Test(expected = DataIntegrityViolationException.class)
+    public void create_negative_whenNameIsInShardOfOtherName_thenThrowsException()
+            throws CustomModelMapper.MappingException {
+        int shard = 1 - this.shardRouter.shardOfNew("WCorp");
+        getShards().get(shard).update("INSERT INTO organization (uid, name) VALUES (?, 'WCorp')", 1000000 + shard);
+
+        this.organizationService.create(OrganizationDetail.builder()
+                .name(Optional.of("WCorp"))
+                .build());
+    }
+
+    @Test
+    public void rebalance_positive_whenOrganizationIsInOtherShard_thenItIsMovedWithEmployees() {
+        long uid = 1000001;
+        JdbcTemplate first = getShards().get(0);
+        first.update("INSERT INTO position (position_uid, name, code) VALUES (1, 'Директор', 'DIR')");
+        first.update("INSERT INTO organization (uid, name) VALUES (?, 'WCorp')", uid);
+        first.update(
+                "INSERT INTO employ (employ_uid, full_name, organization_uid, position_uid) "
+                        + "VALUES (1, 'Иванов', ?, 1)",
+                uid
+        );
+
+        long moved = this.shardRebalancer.rebalance();
+
+        JdbcTemplate second = getShards().get(1);
+        assertTrue(moved == 1, String.format("Перенесено не одна организация - %d", moved));
+        assertTrue(countOrganizations(first, uid) == 0, "Организация осталась в чужом шарде");
+        assertTrue(countOrganizations(second, uid) == 1, "Организация не перенесена в свой шард");
+        assertTrue(
+                second.queryForObject(
+                        "SELECT count(*) FROM employ WHERE organization_uid = ?",
+                        Long.class,
+                        uid
+                ) == 1,
+                "Сотрудник не перенесен вместе с организацией"
+        );
+        assertNotNull(
+                this.organizationService.find(uid),
+                "Перенесенная организация не выбрана из своего шарда"
+        );
+    }
+
+    private static long countOrganizations(JdbcTemplate shard, long uid) {
+        return shard.queryForObject("SELECT count(*) FROM organization WHERE uid = ?", Long.class, uid);
+    }
+
+    private static List<Long> toUids(Slice<OrganizationDetail> page) {
+        return page.getContent().stream()
+                .map(organization -> organization.getUid().get())
+                .collect(Collectors.toList());
+    }
+
+    private static List<JdbcTemplate> getShards() {
+        return Arrays.asList(firstShard, secondShard).stream()
+                .map(shard -> new JdbcTemplate(new DriverManagerDataSource(
+                        shard.getJdbcUrl(),
+                        shard.getUsername(),
+                        shard.getPassword()
+                )))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The initializer of the data sources of the shard containers.
+     */
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext applicationContext) {
+            TestPropertyValues.of(
+                    "spring.datasource.url=" + firstShard.getJdbcUrl(),
+                    "spring.datasource.username=" + firstShard.getUsername(),
+                    "spring.datasource.password=" + firstShard.getPassword(),
+                    "organisations.datasource.shards.urls=" + firstShard.getJdbcUrl() + "," + secondShard.getJdbcUrl()
+            ).applyTo(applicationContext);
+        }
+    }
+}
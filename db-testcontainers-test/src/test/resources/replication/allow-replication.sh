@@ -0,0 +1,5 @@
+#!/bin/bash
+set -e
+
+# реплики подключаются для потоковой репликации без пароля - только в тестовой сети контейнеров
+echo "host replication all all trust" >> "$PGDATA/pg_hba.conf"
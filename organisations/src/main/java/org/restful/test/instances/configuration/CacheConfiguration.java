@@ -0,0 +1,115 @@
+package org.restful.test.instances.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The configuration of the Hibernate second-level and query cache in the Caffeine JCache.
+ * <p>
+ * The regions are created here with the size and TTL from the settings,
+ * the update timestamps region is never expired - otherwise the query cache may return the stale results.
+ * The regions live in the own cache manager of the application, not in the default one of the JVM,
+ * so closing it on shutdown does not close the caches of anyone else.
+ * If the cache is disabled, the second-level and query cache are turned off explicitly,
+ * so neither the entity annotations nor the defaults of the provider on the classpath turn them on.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 22:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@Configuration
+public class CacheConfiguration {
+
+    /**
+     * The region of the organizations.
+     */
+    public static final String ORGANIZATION_REGION = "organization";
+
+    /**
+     * The region of the positions.
+     */
+    public static final String POSITION_REGION = "position";
+
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    static final String CACHE_MANAGER_SETTING = "hibernate.javax.cache.cache_manager";
+
+    static final URI ENTITY_CACHE_MANAGER_URI = URI.create("organisations:entity-cache");
+
+    @ConditionalOnProperty(
+            name = "organisations.cache.enabled",
+            havingValue = "true"
+    )
+    @Bean(name = "entityCacheManager", destroyMethod = "close")
+    public CacheManager getEntityCacheManager(@Value("${organisations.cache.max-size:10000}") long maxSize,
+                                              @Value("${organisations.cache.ttl:600}") long ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(ENTITY_CACHE_MANAGER_URI, CacheConfiguration.class.getClassLoader());
+
+        CaffeineConfiguration<Object, Object> expiringConfiguration = new CaffeineConfiguration<>();
+        expiringConfiguration.setMaximumSize(OptionalLong.of(maxSize));
+        expiringConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttl)));
+        expiringConfiguration.setStatisticsEnabled(true);
+        for (String region : new String[] {ORGANIZATION_REGION, POSITION_REGION, QUERY_RESULTS_REGION}) {
+            if (cacheManager.getCache(region) == null) cacheManager.createCache(region, expiringConfiguration);
+        }
+
+        CaffeineConfiguration<Object, Object> eternalConfiguration = new CaffeineConfiguration<>();
+        eternalConfiguration.setStatisticsEnabled(true);
+        if (cacheManager.getCache(UPDATE_TIMESTAMPS_REGION) == null) {
+            cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, eternalConfiguration);
+        }
+        log.info(
+                "Создали регионы кеша второго уровня - {}, размер - {}, время жизни - {} с",
+                cacheManager.getCacheNames(),
+                maxSize,
+                ttl
+        );
+
+        return cacheManager;
+    }
+
+    @ConditionalOnProperty(
+            name = "organisations.cache.enabled",
+            havingValue = "true"
+    )
+    @Bean
+    public HibernatePropertiesCustomizer getSecondLevelCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(CACHE_MANAGER_SETTING, entityCacheManager);
+        };
+    }
+
+    @ConditionalOnProperty(
+            name = "organisations.cache.enabled",
+            havingValue = "false",
+            matchIfMissing = true
+    )
+    @Bean
+    public HibernatePropertiesCustomizer getDisabledSecondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package org.restful.test.instances.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.restful.test.instances.service.cache.OrganizationResultCache;
+import org.restful.test.instances.service.concurrent.MicroBatcher;
+import org.restful.test.instances.service.concurrent.SingleFlight;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @project restful-test-instances
+ * @created 19.10.2026 13:55
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Configuration
+public class CoalescingConfiguration {
+
+    @Bean(name = "organizationFindFlight")
+    public SingleFlight<OrganizationResultCache.Key, Slice<OrganizationDetail>> getOrganizationFindFlight(
+            MeterRegistry meterRegistry) {
+        return new SingleFlight<>("organizations-find", meterRegistry);
+    }
+
+    @Bean(name = "organizationByUidBatcher", destroyMethod = "close")
+    public MicroBatcher<Long, OrganizationDetail> getOrganizationByUidBatcher(
+            OrganizationJdbcRepository organizationJdbcRepository,
+            ShardRouter shardRouter,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransactionTemplate,
+            @Value("${organisations.find.by-key.window:2000}") long window,
+            @Value("${organisations.find.by-key.max-size:100}") int maxBatchSize,
+            @Value("${organisations.find.by-key.parallelism:4}") int parallelism,
+            MeterRegistry meterRegistry) {
+        return new MicroBatcher<>(
+                "organizations-by-uid",
+                window,
+                maxBatchSize,
+                parallelism,
+                uids -> {
+                    Map<Integer, List<Long>> uidsByShard = shardRouter.groupByShard(uids, shardRouter::shardOf);
+
+                    return shardRouter.fanOut(shard -> uidsByShard.containsKey(shard)
+                            ? readOnlyTransactionTemplate.execute(status -> organizationJdbcRepository.findAll(
+                                    OrganizationFilter.builder().uid(uidsByShard.get(shard)).build()
+                            ))
+                            : Collections.<OrganizationDetail>emptyList()
+                    )
+                            .stream()
+                            .flatMap(List::stream)
+                            .collect(Collectors.toMap(
+                                    organization -> organization.getUid().get(),
+                                    Function.identity()
+                            ));
+                },
+                meterRegistry
+        );
+    }
+
+    @Bean(name = "organizationByNameBatcher", destroyMethod = "close")
+    public MicroBatcher<String, OrganizationDetail> getOrganizationByNameBatcher(
+            OrganizationJdbcRepository organizationJdbcRepository,
+            ShardRouter shardRouter,
+            @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransactionTemplate,
+            @Value("${organisations.find.by-key.window:2000}") long window,
+            @Value("${organisations.find.by-key.max-size:100}") int maxBatchSize,
+            @Value("${organisations.find.by-key.parallelism:4}") int parallelism,
+            MeterRegistry meterRegistry) {
+        return new MicroBatcher<>(
+                "organizations-by-name",
+                window,
+                maxBatchSize,
+                parallelism,
+                names -> shardRouter.fanOut(shard -> readOnlyTransactionTemplate.execute(
+                        status -> organizationJdbcRepository.findAll(OrganizationFilter.builder().name(names).build())
+                ))
+                        .stream()
+                        .flatMap(List::stream)
+                        .collect(Collectors.toMap(
+                                organization -> organization.getName().get(),
+                                Function.identity(),
+                                (first, second) -> first
+                        )),
+                meterRegistry
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package org.restful.test.instances.configuration;
+
+import org.restful.test.instances.repository.KeysetJpaRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 15:14
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@EnableJpaRepositories(
+        basePackages = "org.restful.test.instances.repository",
+        repositoryBaseClass = KeysetJpaRepository.class
+)
+@Configuration
+public class JpaConfiguration {
+
+    /**
+     * The writable transaction for the operations which choose the shard before the transaction begins.
+     * It is declared here, because the read-only template below turns off the one of Spring Boot.
+     *
+     * @param transactionManager the transaction manager
+     * @return the transaction template
+     */
+    @Bean(name = "transactionTemplate")
+    public TransactionTemplate getTransactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The read-only transaction for the selections which can not be annotated by
+     * {@code @Transactional(readOnly = true)} - the session flush mode is {@code MANUAL},
+     * the loaded entities are read-only without the snapshots for the dirty checking
+     * and the JDBC connection is read-only.
+     *
+     * @param transactionManager the transaction manager
+     * @return the read-only transaction template
+     */
+    @Bean(name = "readOnlyTransactionTemplate")
+    public TransactionTemplate getReadOnlyTransactionTemplate(PlatformTransactionManager transactionManager) {
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        return readOnlyTransactionTemplate;
+    }
+}
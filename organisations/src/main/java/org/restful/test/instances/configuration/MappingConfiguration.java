@@ -0,0 +1,33 @@
+package org.restful.test.instances.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 12:41
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Configuration
+public class MappingConfiguration {
+
+    @Bean(name = "bulkMappingPool", destroyMethod = "shutdown")
+    public ForkJoinPool getBulkMappingPool(@Value("${organisations.mapping.bulk.parallelism:4}") int parallelism) {
+        return new ForkJoinPool(
+                parallelism,
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("bulk-mapping-" + thread.getPoolIndex());
+
+                    return thread;
+                },
+                null,
+                false
+        );
+    }
+}
@@ -0,0 +1,76 @@
+package org.restful.test.instances.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.restful.test.instances.repository.routing.ConsistencyTokenFilter;
+import org.restful.test.instances.repository.routing.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @project restful-test-instances
+ * @created 20.10.2026 12:00
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@ConditionalOnProperty(
+        name = "organisations.datasource.replicas.enabled",
+        havingValue = "true"
+)
+@Configuration
+public class ReplicaDataSourceConfiguration {
+
+    @Bean(name = "replicaRoutingDataSource", destroyMethod = "close")
+    public ReplicaRoutingDataSource getReplicaRoutingDataSource(
+            DataSourceProperties dataSourceProperties,
+            @Value("${organisations.datasource.replicas.urls}") String[] urls,
+            @Value("${organisations.datasource.replicas.check-interval:1000}") long checkInterval,
+            @Value("${organisations.datasource.replicas.max-lag:16777216}") long maxLag,
+            MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.trim().isEmpty()) continue;
+
+            HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.put(url.trim(), replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, checkInterval, maxLag, meterRegistry);
+    }
+
+    /*
+     * Транзакция JPA берет соединение раньше, чем становится известно, что она только для чтения, -
+     * настоящее соединение выбираем при первом запросе
+     */
+    @Primary
+    @Bean(name = "dataSource")
+    public DataSource getDataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean(name = "consistencyTokenFilterRegistrationBean")
+    public FilterRegistrationBean<ConsistencyTokenFilter> getConsistencyTokenFilterRegistrationBean(
+            ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new FilterRegistrationBean<>(new ConsistencyTokenFilter(replicaRoutingDataSource));
+    }
+}
@@ -0,0 +1,108 @@
+package org.restful.test.instances.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import org.restful.test.instances.repository.routing.ShardRebalancer;
+import org.restful.test.instances.repository.routing.ShardRoutingDataSource;
+import org.restful.test.instances.repository.routing.ShardSpringLiquibase;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @project restful-test-instances
+ * @created 21.10.2026 11:00
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@ConditionalOnProperty(
+        name = "organisations.datasource.shards.enabled",
+        havingValue = "true"
+)
+@Configuration
+public class ShardingConfiguration {
+
+    @Bean(name = "shardRoutingDataSource", destroyMethod = "close")
+    public ShardRoutingDataSource getShardRoutingDataSource(
+            DataSourceProperties dataSourceProperties,
+            @Value("${organisations.datasource.shards.urls}") String[] urls,
+            @Value("${organisations.datasource.replicas.enabled:false}") boolean isReplicasEnabled,
+            @Value("${organisations.id.strategy:sequence}") String idStrategy,
+            MeterRegistry meterRegistry) {
+        /*
+         * Шард организации определяется по uid из последовательности шарда, а реплики у каждого шарда свои
+         */
+        if (isReplicasEnabled) {
+            throw new IllegalStateException("Шарды нельзя включить вместе с репликами - organisations.datasource");
+        }
+        if (!"sequence".equals(idStrategy)) {
+            throw new IllegalStateException(String.format(
+                    "Шарды работают только с идентификаторами из последовательностей - organisations.id.strategy: %s",
+                    idStrategy
+            ));
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (String url : urls) {
+            if (url.trim().isEmpty()) continue;
+
+            HikariDataSource shard = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .build();
+            shard.setPoolName("shard-" + shards.size());
+            shards.add(shard);
+        }
+
+        return new ShardRoutingDataSource(shards, meterRegistry);
+    }
+
+    /*
+     * Транзакция JPA берет соединение раньше, чем становится известен шард, - настоящее соединение выбираем
+     * при первом запросе
+     */
+    @Primary
+    @Bean(name = "dataSource")
+    public DataSource getDataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean(name = "liquibase")
+    public SpringLiquibase getLiquibase(ShardRoutingDataSource shardRoutingDataSource,
+                                        @Value("${spring.liquibase.change-log}") String changeLog,
+                                        @Value("${organisations.datasource.partitioning.employ:false}")
+                                                boolean isEmployPartitioned) {
+        SpringLiquibase liquibase = new ShardSpringLiquibase(shardRoutingDataSource.getShards());
+        liquibase.setChangeLog(changeLog);
+        liquibase.setChangeLogParameters(
+                Collections.singletonMap("employ-partitioned", String.valueOf(isEmployPartitioned))
+        );
+
+        return liquibase;
+    }
+
+    /*
+     * Последовательности выравниваем после миграции всех шардов и до первой вставки
+     */
+    @Bean(name = "shardRebalancer")
+    public ShardRebalancer getShardRebalancer(
+            ShardRoutingDataSource shardRoutingDataSource,
+            @Qualifier("liquibase") SpringLiquibase liquibase,
+            @Value("${organisations.datasource.shards.rebalance-chunk-size:1000}") int chunkSize) {
+        ShardRebalancer shardRebalancer = new ShardRebalancer(shardRoutingDataSource.getShards(), chunkSize);
+        shardRebalancer.alignSequences();
+
+        return shardRebalancer;
+    }
+}
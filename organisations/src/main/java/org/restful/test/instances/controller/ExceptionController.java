@@ -20,6 +20,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import javax.persistence.EntityNotFoundException;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
@@ -298,6 +299,33 @@ public class ExceptionController extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(e, exceptionDetail, new HttpHeaders(), exceptionDetail.getStatus(), request);
     }
 
+    /**
+     * Handle entity not found response entity.
+     *
+     * Обработка ошибок отсутствия сущности - единственный ответ не с 400 статусом, а с 404
+     *
+     * @param e       the e
+     * @param request the request
+     * @return the response entity
+     */
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler({
+            EntityNotFoundException.class
+    })
+    public ResponseEntity<Object> handleEntityNotFound(EntityNotFoundException e, WebRequest request) {
+        log.error("exception - " + request, e);
+
+        ExceptionDetail exceptionDetail = ExceptionDetail.builder()
+                .status(HttpStatus.NOT_FOUND)
+                .comment("Ошибка запроса к API - сущность не найдена")
+                .message(e.getMessage())
+                .details(request.getDescription(true))
+                .timestamp(new Date())
+                .build();
+
+        return new ResponseEntity<>(exceptionDetail, new HttpHeaders(), exceptionDetail.getStatus());
+    }
+
     /**
      * Handle illegal arguments response entity.
      *
@@ -6,13 +6,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.restful.test.instances.model.detail.ExceptionDetail;
+import org.restful.test.instances.model.detail.OrganizationBatchDetail;
+import org.restful.test.instances.model.detail.OrganizationDeleteDetail;
 import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.detail.OrganizationImportDetail;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.routing.RoutingContext;
+import org.restful.test.instances.service.OrganizationExportService;
+import org.restful.test.instances.service.OrganizationImportService;
 import org.restful.test.instances.service.OrganizationService;
 import org.restful.test.instances.service.mapping.CustomModelMapper;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -33,15 +48,38 @@ import java.util.List;
 )
 @Validated
 @RequestMapping(value = "/organizations")
-@CrossOrigin(origins = "/**")
+@CrossOrigin(
+        origins = "/**",
+        exposedHeaders = OrganizationController.NEXT_CURSOR_HEADER
+)
 @RestController
 public class OrganizationController {
 
+    /**
+     * The header with the cursor of the next page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * The accepted media type of the streamed organizations selection.
+     */
+    public static final String STREAM_MEDIA_TYPE = MediaType.APPLICATION_STREAM_JSON_VALUE;
+
     /*
      * Сервис для организаций
      */
     OrganizationService organizationService;
 
+    /*
+     * Сервис импорта организаций
+     */
+    OrganizationImportService organizationImportService;
+
+    /*
+     * Сервис выгрузки организаций
+     */
+    OrganizationExportService organizationExportService;
+
     /**
      * Create organization detail.
      *
@@ -81,6 +119,178 @@ public class OrganizationController {
         return this.organizationService.create(organizationDetail);
     }
 
+    /**
+     * Create all organizations.
+     *
+     * @param organizationDetails the organization details
+     * @return the organization batch detail
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @ApiOperation(
+            value = "Создать пакет новых организаций",
+            notes = "Метод принимает запрос на создание нескольких новых организаций - "
+                    + "создаются только организации, прошедшие проверку"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 201,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationBatchDetail.class
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Операция не выполнена - проверьте корректность данных",
+                    response = ExceptionDetail.class
+            )
+    })
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(
+            value = "/batch"
+    )
+    public OrganizationBatchDetail createAll(
+            @ApiParam(
+                    name="organizationDetails",
+                    value = "Данные для сущностей \"Организация\"",
+                    required = true
+            )
+            @RequestBody
+                    List<OrganizationDetail> organizationDetails) throws CustomModelMapper.MappingException {
+
+        log.info("Получили запрос - {} организаций", organizationDetails.size());
+
+        return this.organizationService.createAll(organizationDetails);
+    }
+
+    /**
+     * Upsert organization detail.
+     *
+     * @param name               the name
+     * @param organizationDetail the organization detail
+     * @return the organization detail
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @ApiOperation(
+            value = "Создать или заменить организацию по наименованию",
+            notes = "Метод принимает запрос на создание организации или замену данных существующей организации "
+                    + "с тем же наименованием одним запросом к БД"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationDetail.class
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Операция не выполнена - проверьте корректность данных",
+                    response = ExceptionDetail.class
+            )
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PutMapping(
+            value = "/by-name/{name}"
+    )
+    public OrganizationDetail upsert(
+            @ApiParam(
+                    name="name",
+                    value = "Наименование сущности \"Организация\"",
+                    example = "WCorp",
+                    required = true
+            )
+            @PathVariable
+                    String name,
+            @ApiParam(
+                    name="organizationDetail",
+                    value = "Данные для сущности \"Организация\"",
+                    example = "{\"inn\": \"0123\"}",
+                    required = true
+            )
+            @RequestBody
+                    OrganizationDetail organizationDetail) throws CustomModelMapper.MappingException {
+
+        log.info("Получили запрос:\nname - {}\norganization - {}", name, organizationDetail);
+
+        return this.organizationService.upsert(name, organizationDetail);
+    }
+
+    /**
+     * Upsert all organizations.
+     *
+     * @param organizationDetails the organization details
+     * @return the organization batch detail
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @ApiOperation(
+            value = "Создать или заменить пакет организаций по наименованиям",
+            notes = "Метод принимает запрос на создание или замену нескольких организаций - "
+                    + "сохраняются только организации, прошедшие проверку"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationBatchDetail.class
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Операция не выполнена - проверьте корректность данных",
+                    response = ExceptionDetail.class
+            )
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PutMapping(
+            value = "/by-name"
+    )
+    public OrganizationBatchDetail upsertAll(
+            @ApiParam(
+                    name="organizationDetails",
+                    value = "Данные для сущностей \"Организация\"",
+                    required = true
+            )
+            @RequestBody
+                    List<OrganizationDetail> organizationDetails) throws CustomModelMapper.MappingException {
+
+        log.info("Получили запрос - {} организаций", organizationDetails.size());
+
+        return this.organizationService.upsertAll(organizationDetails);
+    }
+
+    /**
+     * Import organizations from CSV.
+     *
+     * @param source the source
+     * @return the organization import detail
+     * @throws IOException the io exception
+     */
+    @ApiOperation(
+            value = "Импортировать организации из CSV",
+            notes = "Метод принимает CSV с заголовком (name, inn, kpp, address) и потоком загружает его через COPY - "
+                    + "организации с существующими наименованиями заменяются, строки с ошибками пропускаются"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationImportDetail.class
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Операция не выполнена - проверьте корректность данных",
+                    response = ExceptionDetail.class
+            )
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(
+            value = "/import",
+            consumes = "text/csv"
+    )
+    public OrganizationImportDetail importCsv(InputStream source) throws IOException {
+
+        log.info("Получили запрос на импорт организаций из CSV");
+
+        return this.organizationImportService.importCsv(source);
+    }
+
     @ApiOperation(
             value = "Изменить организацию",
             notes = "Метод принимает запрос на изменение данных организации"
@@ -159,16 +369,260 @@ public class OrganizationController {
         return this.organizationService.delete(uid);
     }
 
+    @ApiOperation(
+            value = "Удалить организации по фильтру",
+            notes = "Метод принимает запрос на удаление организаций одним запросом к БД - "
+                    + "фильтр тот же, что и при выборке, и должен быть задан"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationDeleteDetail.class
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Операция не выполнена - проверьте корректность данных",
+                    response = ExceptionDetail.class
+            )
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @DeleteMapping
+    public OrganizationDeleteDetail deleteAll(
+            @ApiParam(
+                    name="uid",
+                    value = "Идентификатор сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "uid",
+                    required = false
+            )
+                    List<Long> uid,
+            @ApiParam(
+                    name="name",
+                    value = "Наименование сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "name",
+                    required = false
+            )
+                    List<String> name,
+            @ApiParam(
+                    name="inn",
+                    value = "ИНН сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "inn",
+                    required = false
+            )
+                    List<String> inn,
+            @ApiParam(
+                    name="kpp",
+                    value = "КПП сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "kpp",
+                    required = false
+            )
+                    List<String> kpp,
+            @ApiParam(
+                    name="address",
+                    value = "Адрес сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "address",
+                    required = false
+            )
+                    List<String> address,
+            @ApiParam(
+                    name="q",
+                    value = "Подстрока для поиска в наименовании или адресе сущности \"Организация\"",
+                    example = "corp",
+                    required = false
+            )
+            @RequestParam(
+                    value = "q",
+                    required = false
+            )
+                    String q) {
+
+        log.info(
+                "Получили запрос:\nuid - {}\nname - {}\ninn - {}\nkpp - {}\naddress - {}\nq - {}",
+                uid,
+                name,
+                inn,
+                kpp,
+                address,
+                q
+        );
+
+        return this.organizationService.deleteAll(
+                OrganizationFilter.builder()
+                        .uid(uid)
+                        .name(name)
+                        .inn(inn)
+                        .kpp(kpp)
+                        .address(address)
+                        .search(q)
+                        .build()
+        );
+    }
+
+    /**
+     * Export all organizations.
+     *
+     * @param format the format
+     * @return the response entity with the streaming body
+     */
+    @ApiOperation(
+            value = "Выгрузить все организации",
+            notes = "Метод выгружает все организации потоком по мере чтения из БД - в формате NDJSON или CSV"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно"
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Операция не выполнена - проверьте корректность данных",
+                    response = ExceptionDetail.class
+            )
+    })
+    @GetMapping(
+            value = "/export"
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @ApiParam(
+                    name="format",
+                    value = "Формат выгрузки - ndjson или csv",
+                    example = "ndjson",
+                    required = false
+            )
+            @RequestParam(
+                    value = "format",
+                    required = false,
+                    defaultValue = "ndjson"
+            )
+                    String format) {
+
+        log.info("Получили запрос на выгрузку организаций - {}", format);
+
+        OrganizationExportService.Format exportFormat = OrganizationExportService.Format.of(format);
+
+        /*
+         * Тело пишет другой поток уже после фильтра X-Consistency-Token - переносим в него требования к БД
+         */
+        RoutingContext routingContext = RoutingContext.capture();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(destination -> {
+                    try (RoutingContext.Scope scope = routingContext.use()) {
+                        this.organizationExportService.export(exportFormat, destination);
+                    } catch (CustomModelMapper.MappingException e) {
+                        throw new IOException(e);
+                    }
+                });
+    }
+
+    @ApiOperation(
+            value = "Выбрать организацию",
+            notes = "Метод принимает запрос на выборку данных организации по идентификатору - одновременные запросы "
+                    + "выбираются из БД одним запросом"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationDetail.class
+            ),
+            @ApiResponse(
+                    code = 404,
+                    message = "Операция не выполнена - организации с таким идентификатором не существует",
+                    response = ExceptionDetail.class
+            )
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(
+            value = "/{uid}"
+    )
+    public OrganizationDetail find(
+            @ApiParam(
+                    name="uid",
+                    value = "Идентификатор сущности \"Организация\"",
+                    example = "1",
+                    required = true
+            )
+            @PathVariable
+                    Long uid) {
+
+        log.info("Получили запрос - {}", uid);
+
+        return this.organizationService.find(uid);
+    }
+
+    @ApiOperation(
+            value = "Выбрать организацию по наименованию",
+            notes = "Метод принимает запрос на выборку данных организации по наименованию - одновременные запросы "
+                    + "выбираются из БД одним запросом"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationDetail.class
+            ),
+            @ApiResponse(
+                    code = 404,
+                    message = "Операция не выполнена - организации с таким наименованием не существует",
+                    response = ExceptionDetail.class
+            )
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(
+            value = "/by-name/{name}"
+    )
+    public OrganizationDetail findByName(
+            @ApiParam(
+                    name="name",
+                    value = "Наименование сущности \"Организация\"",
+                    example = "WCorp",
+                    required = true
+            )
+            @PathVariable
+                    String name) {
+
+        log.info("Получили запрос - {}", name);
+
+        return this.organizationService.findByName(name);
+    }
+
     @ApiOperation(
             value = "Выбрать организации",
-            notes = "Метод принимает запрос на выборку данных организаций"
+            notes = "Метод принимает запрос на выборку данных организаций - страница больше порога отдается потоком"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     code = 200,
                     message = "Операция выполнена успешно",
                     response = OrganizationDetail.class,
-                    responseContainer = "List"
+                    responseContainer = "List",
+                    responseHeaders = @ResponseHeader(
+                            name = NEXT_CURSOR_HEADER,
+                            description = "Значение параметра after для следующей страницы (нет - страница последняя)",
+                            response = Long.class
+                    )
             ),
             @ApiResponse(
                     code = 400,
@@ -178,7 +632,7 @@ public class OrganizationController {
     })
     @ResponseStatus(HttpStatus.OK)
     @GetMapping
-    public List<OrganizationDetail> find(
+    public ResponseEntity<List<OrganizationDetail>> find(
             @ApiParam(
                     name="uid",
                     value = "Идентификатор сущности \"Организация\"",
@@ -233,23 +687,259 @@ public class OrganizationController {
                     value = "address",
                     required = false
             )
-                    List<String> address) throws CustomModelMapper.MappingException {
+                    List<String> address,
+            @ApiParam(
+                    name="q",
+                    value = "Подстрока для поиска в наименовании или адресе сущности \"Организация\"",
+                    example = "corp",
+                    required = false
+            )
+            @RequestParam(
+                    value = "q",
+                    required = false
+            )
+                    String q,
+            @ApiParam(
+                    name="fields",
+                    value = "Выбираемые свойства сущности \"Организация\" (uid выбирается всегда)",
+                    example = "name",
+                    required = false
+            )
+            @RequestParam(
+                    value = "fields",
+                    required = false
+            )
+                    List<String> fields,
+            @ApiParam(
+                    name="after",
+                    value = "Идентификатор последней организации предыдущей страницы",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "after",
+                    required = false
+            )
+                    Long after,
+            @ApiParam(
+                    name="limit",
+                    value = "Размер страницы (не больше максимального размера страницы)",
+                    example = "100",
+                    required = false
+            )
+            @RequestParam(
+                    value = "limit",
+                    required = false
+            )
+                    Integer limit,
+            HttpServletResponse response) throws CustomModelMapper.MappingException, IOException {
 
         log.info(
-                "Получили запрос:\nuid - {}\nname - {}\ninn - {}\nkpp - {}\naddress - {}",
+                "Получили запрос:\nuid - {}\nname - {}\ninn - {}\nkpp - {}\naddress - {}\nq - {}\nfields - {}\nafter - {}\nlimit - {}",
                 uid,
                 name,
                 inn,
                 kpp,
-                address
+                address,
+                q,
+                fields,
+                after,
+                limit
         );
 
-        return this.organizationService.find(
+        OrganizationFilter filter = toFilter(uid, name, inn, kpp, address, q, fields);
+
+        /*
+         * Большую страницу пишем в ответ потоком в этом же потоке запроса - тело уже записано, возвращаем null
+         */
+        if (this.organizationService.isStreamed(limit)) {
+            int pageSize = this.organizationService.getStreamPageSize(filter, limit);
+            response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+            this.organizationService.find(filter, after, pageSize, response.getOutputStream());
+
+            return null;
+        }
+
+        Slice<OrganizationDetail> organizations = this.organizationService.find(filter, after, limit);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (organizations.hasNext()) {
+            List<OrganizationDetail> content = organizations.getContent();
+            content.get(content.size() - 1)
+                    .getUid()
+                    .ifPresent(nextCursor -> headers.set(NEXT_CURSOR_HEADER, String.valueOf(nextCursor)));
+        }
+
+        return new ResponseEntity<>(organizations.getContent(), headers, HttpStatus.OK);
+    }
+
+    @ApiOperation(
+            value = "Выбрать организации потоком",
+            notes = "Метод отдает массив организаций потоком по мере чтения из БД (без " + NEXT_CURSOR_HEADER + ") - "
+                    + "следующую страницу клиент начинает с uid последней организации"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200,
+                    message = "Операция выполнена успешно",
+                    response = OrganizationDetail.class,
+                    responseContainer = "List"
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Операция не выполнена - проверьте корректность данных",
+                    response = ExceptionDetail.class
+            )
+    })
+    @GetMapping(
+            produces = STREAM_MEDIA_TYPE
+    )
+    public ResponseEntity<StreamingResponseBody> findStream(
+            @ApiParam(
+                    name="uid",
+                    value = "Идентификатор сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "uid",
+                    required = false
+            )
+                    List<Long> uid,
+            @ApiParam(
+                    name="name",
+                    value = "Наименование сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "name",
+                    required = false
+            )
+                    List<String> name,
+            @ApiParam(
+                    name="inn",
+                    value = "ИНН сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "inn",
+                    required = false
+            )
+                    List<String> inn,
+            @ApiParam(
+                    name="kpp",
+                    value = "КПП сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "kpp",
+                    required = false
+            )
+                    List<String> kpp,
+            @ApiParam(
+                    name="address",
+                    value = "Адрес сущности \"Организация\"",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "address",
+                    required = false
+            )
+                    List<String> address,
+            @ApiParam(
+                    name="q",
+                    value = "Подстрока для поиска в наименовании или адресе сущности \"Организация\"",
+                    example = "corp",
+                    required = false
+            )
+            @RequestParam(
+                    value = "q",
+                    required = false
+            )
+                    String q,
+            @ApiParam(
+                    name="fields",
+                    value = "Выбираемые свойства сущности \"Организация\" (uid выбирается всегда)",
+                    example = "name",
+                    required = false
+            )
+            @RequestParam(
+                    value = "fields",
+                    required = false
+            )
+                    List<String> fields,
+            @ApiParam(
+                    name="after",
+                    value = "Идентификатор последней организации предыдущей страницы",
+                    example = "1",
+                    required = false
+            )
+            @RequestParam(
+                    value = "after",
+                    required = false
+            )
+                    Long after,
+            @ApiParam(
+                    name="limit",
+                    value = "Размер страницы (не больше максимального размера страницы)",
+                    example = "100",
+                    required = false
+            )
+            @RequestParam(
+                    value = "limit",
+                    required = false
+            )
+                    Integer limit) {
+
+        log.info(
+                "Получили запрос на выборку потоком:\nuid - {}\nname - {}\ninn - {}\nkpp - {}\naddress - {}"
+                        + "\nq - {}\nfields - {}\nafter - {}\nlimit - {}",
                 uid,
                 name,
                 inn,
                 kpp,
-                address
+                address,
+                q,
+                fields,
+                after,
+                limit
         );
+
+        /*
+         * Проверяем запрос до тела ответа - после начала потока вместо 400 клиент получил бы обрезанный массив
+         */
+        OrganizationFilter filter = toFilter(uid, name, inn, kpp, address, q, fields);
+        int pageSize = this.organizationService.getStreamPageSize(filter, limit);
+        RoutingContext routingContext = RoutingContext.capture();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(destination -> {
+                    try (RoutingContext.Scope scope = routingContext.use()) {
+                        this.organizationService.find(filter, after, pageSize, destination);
+                    }
+                });
+    }
+
+    private static OrganizationFilter toFilter(List<Long> uid,
+                                               List<String> name,
+                                               List<String> inn,
+                                               List<String> kpp,
+                                               List<String> address,
+                                               String q,
+                                               List<String> fields) {
+        return OrganizationFilter.builder()
+                .uid(uid)
+                .name(name)
+                .inn(inn)
+                .kpp(kpp)
+                .address(address)
+                .search(q)
+                .fields(fields)
+                .build();
     }
 }
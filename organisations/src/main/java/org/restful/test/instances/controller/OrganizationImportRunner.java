@@ -0,0 +1,60 @@
+package org.restful.test.instances.controller;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.model.detail.OrganizationImportDetail;
+import org.restful.test.instances.service.OrganizationImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * The command line entry point of the organizations import from CSV.
+ * <p>
+ * It runs when the file is specified, e.g.
+ * {@code java -jar organisations.jar --organisations.import.file=registry.csv --spring.main.web-application-type=none},
+ * and without the web server the application exits after the import.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 20:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@ConditionalOnProperty(
+        name = "organisations.import.file"
+)
+@Component
+public class OrganizationImportRunner implements ApplicationRunner {
+
+    OrganizationImportService organizationImportService;
+
+    @NonFinal
+    @Value("${organisations.import.file}")
+    String file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Импортируем организации из файла - {}", this.file);
+
+        try (InputStream source = new BufferedInputStream(Files.newInputStream(Paths.get(this.file)))) {
+            OrganizationImportDetail importOrganizationsResponse = this.organizationImportService.importCsv(source);
+            log.info("Импортировали организации из файла - {}", importOrganizationsResponse);
+        }
+    }
+}
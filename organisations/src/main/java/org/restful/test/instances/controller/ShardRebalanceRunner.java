@@ -0,0 +1,44 @@
+package org.restful.test.instances.controller;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.repository.routing.ShardRebalancer;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * The command line entry point of the organizations rebalancing after the shards are added, e.g.
+ * {@code java -jar organisations.jar --organisations.datasource.shards.rebalance=true
+ * --spring.main.web-application-type=none}, and without the web server the application exits after it.
+ *
+ * @project restful-test-instances
+ * @created 21.10.2026 13:00
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@ConditionalOnProperty(
+        name = {"organisations.datasource.shards.enabled", "organisations.datasource.shards.rebalance"},
+        havingValue = "true"
+)
+@Component
+public class ShardRebalanceRunner implements ApplicationRunner {
+
+    ShardRebalancer shardRebalancer;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Организации по шардам до переноса - {}", this.shardRebalancer.count());
+        long moved = this.shardRebalancer.rebalance();
+        log.info("Перенесли организаций - {}, по шардам - {}", moved, this.shardRebalancer.count());
+    }
+}
@@ -0,0 +1,49 @@
+package org.restful.test.instances.model.detail;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 16:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@ApiModel(
+        value = "OrganizationBatchDetail",
+        description = "Результат пакетного создания сущностей \"Организация\""
+)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class OrganizationBatchDetail implements Serializable {
+
+    @ApiModelProperty(
+            position = 1,
+            notes = "Идентификаторы созданных организаций в порядке запроса (null - организация не создана)",
+            example = "[1, null, 2]"
+    )
+    @JsonProperty("uids")
+    List<Long> uids;
+
+    @ApiModelProperty(
+            position = 2,
+            notes = "Ошибки проверки организаций по их номеру в запросе",
+            example = "{\"1\": [\"Наименование организации должно быть задано\"]}"
+    )
+    @JsonProperty("errors")
+    Map<Integer, List<String>> errors;
+}
@@ -0,0 +1,39 @@
+package org.restful.test.instances.model.detail;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 19:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@ApiModel(
+        value = "OrganizationDeleteDetail",
+        description = "Результат удаления сущностей \"Организация\" по фильтру"
+)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class OrganizationDeleteDetail implements Serializable {
+
+    @ApiModelProperty(
+            position = 1,
+            notes = "Количество удаленных организаций",
+            example = "100"
+    )
+    @JsonProperty("count")
+    Integer count;
+}
@@ -0,0 +1,65 @@
+package org.restful.test.instances.model.detail;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @project restful-test-instances
+ * @created 18.10.2026 20:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@ApiModel(
+        value = "OrganizationImportDetail",
+        description = "Результат импорта сущностей \"Организация\" из CSV"
+)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class OrganizationImportDetail implements Serializable {
+
+    @ApiModelProperty(
+            position = 1,
+            notes = "Количество прочитанных строк CSV без заголовка",
+            example = "1000000"
+    )
+    @JsonProperty("rows")
+    Long rows;
+
+    @ApiModelProperty(
+            position = 2,
+            notes = "Количество созданных или замененных организаций",
+            example = "999990"
+    )
+    @JsonProperty("imported")
+    Integer imported;
+
+    @ApiModelProperty(
+            position = 3,
+            notes = "Количество строк, не прошедших проверку",
+            example = "10"
+    )
+    @JsonProperty("failed")
+    Long failed;
+
+    @ApiModelProperty(
+            position = 4,
+            notes = "Ошибки проверки первых строк по их номеру в CSV (не больше organisations.import.max-errors)",
+            example = "{\"7\": [\"Наименование организации должно быть задано\"]}"
+    )
+    @JsonProperty("errors")
+    Map<Long, List<String>> errors;
+}
@@ -2,6 +2,9 @@ package org.restful.test.instances.model.entity;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -37,10 +40,13 @@ public final class Employ {
             strategy = GenerationType.SEQUENCE,
             generator = "employ_pkey"
     )
-    @SequenceGenerator(
+    @GenericGenerator(
             name = "employ_pkey",
-            sequenceName = "employ_employ_uid_seq",
-            allocationSize = 1
+            strategy = "org.restful.test.instances.model.identifier.PluggableIdentifierGenerator",
+            parameters = {
+                    @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "employ_employ_uid_seq"),
+                    @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "1")
+            }
     )
     Long employUid;
 
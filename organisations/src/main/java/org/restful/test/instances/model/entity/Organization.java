@@ -2,6 +2,12 @@ package org.restful.test.instances.model.entity;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.restful.test.instances.configuration.CacheConfiguration;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -29,6 +35,11 @@ import java.io.Serializable;
 )
 @Entity(name = "Organization")
 @Table(name = "organization")
+@Cacheable
+@Cache(
+        usage = CacheConcurrencyStrategy.READ_WRITE,
+        region = CacheConfiguration.ORGANIZATION_REGION
+)
 public final class Organization implements Serializable {
 
     @Id
@@ -36,10 +47,13 @@ public final class Organization implements Serializable {
             strategy = GenerationType.SEQUENCE,
             generator = "organization_pkey"
     )
-    @SequenceGenerator(
+    @GenericGenerator(
             name = "organization_pkey",
-            sequenceName = "organization_uid_seq",
-            allocationSize = 1
+            strategy = "org.restful.test.instances.model.identifier.PluggableIdentifierGenerator",
+            parameters = {
+                    @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "organization_uid_seq"),
+                    @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "1")
+            }
     )
     @Column(
             name = "uid",
@@ -55,7 +69,7 @@ public final class Organization implements Serializable {
     @NotBlank(
             message = "Наименование организации должно быть задано"
     )
-    @Column(name = "name", nullable = false)
+    @Column(name = "name", nullable = false, unique = true)
     String name;
 
     @Size(
@@ -2,6 +2,9 @@ package org.restful.test.instances.model.entity;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.restful.test.instances.configuration.CacheConfiguration;
 
 import javax.persistence.*;
 
@@ -25,6 +28,11 @@ import javax.persistence.*;
 )
 @Entity(name = "Position")
 @Table(name = "position")
+@Cacheable
+@Cache(
+        usage = CacheConcurrencyStrategy.READ_WRITE,
+        region = CacheConfiguration.POSITION_REGION
+)
 public final class Position {
 
     @Id
@@ -0,0 +1,195 @@
+package org.restful.test.instances.model.filter;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The filter of the organizations selection.
+ * <p>
+ * Each filter is the list of the allowed values of the one property,
+ * the {@code null} or empty list means that the property is not filtered.
+ * The search is the substring which is searched in the name or in the address,
+ * it is trimmed once by the builder and the blank search means that the search is absent.
+ * The fields are the properties which have to be selected (the sparse fieldset),
+ * the {@code null} or empty list means that all properties are selected.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 14:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Builder(toBuilder = true)
+@Value
+public class OrganizationFilter {
+
+    /**
+     * The shape bit of the uid filter.
+     */
+    public static final int UID = 1;
+
+    /**
+     * The shape bit of the name filter.
+     */
+    public static final int NAME = 1 << 1;
+
+    /**
+     * The shape bit of the inn filter.
+     */
+    public static final int INN = 1 << 2;
+
+    /**
+     * The shape bit of the kpp filter.
+     */
+    public static final int KPP = 1 << 3;
+
+    /**
+     * The shape bit of the address filter.
+     */
+    public static final int ADDRESS = 1 << 4;
+
+    /**
+     * The shape bit of the search.
+     */
+    public static final int SEARCH = 1 << 5;
+
+    /**
+     * The count of the different filter shapes.
+     */
+    public static final int SHAPES_COUNT = 1 << 6;
+
+    /**
+     * The properties which can be selected, in the order of the columns.
+     */
+    public static final List<String> FIELDS = Collections.unmodifiableList(
+            Arrays.asList("uid", "name", "inn", "kpp", "address")
+    );
+
+    List<Long> uid;
+
+    List<String> name;
+
+    List<String> inn;
+
+    List<String> kpp;
+
+    List<String> address;
+
+    String search;
+
+    List<String> fields;
+
+    /**
+     * Gets shape - the bit mask of the filtered properties.
+     *
+     * @return the shape
+     */
+    public int getShape() {
+        int shape = 0;
+        if (isPresent(this.uid)) shape |= UID;
+        if (isPresent(this.name)) shape |= NAME;
+        if (isPresent(this.inn)) shape |= INN;
+        if (isPresent(this.kpp)) shape |= KPP;
+        if (isPresent(this.address)) shape |= ADDRESS;
+        if (isPresent(this.search)) shape |= SEARCH;
+
+        return shape;
+    }
+
+    /**
+     * Gets projection - the selected properties in the order of {@link #FIELDS}.
+     * <p>
+     * The uid is selected always, because it is the key of the organization and of the page.
+     *
+     * @return the projection
+     */
+    public List<String> getProjection() {
+        if (!isPresent(this.fields)) return FIELDS;
+
+        return FIELDS.stream()
+                .filter(field -> field.equals("uid") || this.fields.contains(field))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Is projected boolean - is only the part of the properties selected.
+     *
+     * @return the boolean
+     */
+    public boolean isProjected() {
+        return this.getProjection().size() < FIELDS.size();
+    }
+
+    /**
+     * Normalize the filter - the values lists are sorted and deduplicated, the empty lists are removed,
+     * the search is kept as is and the fields are replaced by the projection (removed if all are selected),
+     * so the filters selecting the same organizations are equal.
+     *
+     * @return the normalized filter
+     */
+    public OrganizationFilter normalize() {
+        return OrganizationFilter.builder()
+                .uid(normalize(this.uid))
+                .name(normalize(this.name))
+                .inn(normalize(this.inn))
+                .kpp(normalize(this.kpp))
+                .address(normalize(this.address))
+                .search(this.search)
+                .fields(this.isProjected() ? this.getProjection() : null)
+                .build();
+    }
+
+    /**
+     * Is present boolean.
+     *
+     * @param values the values
+     * @return the boolean
+     */
+    public static boolean isPresent(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    /**
+     * Is present boolean.
+     *
+     * @param value the value
+     * @return the boolean
+     */
+    public static boolean isPresent(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private static <T extends Comparable<? super T>> List<T> normalize(List<T> values) {
+        if (!isPresent(values)) return null;
+
+        return values.stream()
+                .distinct()
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The organization filter builder.
+     */
+    public static class OrganizationFilterBuilder {
+
+        /**
+         * Search organization filter builder - the search is trimmed, the blank search is absent.
+         *
+         * @param search the search
+         * @return the organization filter builder
+         */
+        public OrganizationFilterBuilder search(String search) {
+            String trimmed = search == null ? null : search.trim();
+            this.search = isPresent(trimmed) ? trimmed : null;
+
+            return this;
+        }
+    }
+}
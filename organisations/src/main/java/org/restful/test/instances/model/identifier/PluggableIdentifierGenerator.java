@@ -0,0 +1,95 @@
+package org.restful.test.instances.model.identifier;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The identifier generator which is switched by the settings between the database sequence
+ * and the in-memory {@link SnowflakeIdGenerator}.
+ * <p>
+ * The settings are taken from the Hibernate properties
+ * ({@code spring.jpa.properties.organisations.id.*}):
+ * <ul>
+ *     <li>{@value #STRATEGY_SETTING} - {@value #SEQUENCE_STRATEGY} (default) or {@value #SNOWFLAKE_STRATEGY};</li>
+ *     <li>{@value #NODE_SETTING} - the node id for the snowflake strategy, unique per application instance.</li>
+ * </ul>
+ * The sequence is configured by the usual {@link SequenceStyleGenerator} parameters in both cases,
+ * so the schema validation and the switching back to the sequence keep working.
+ * <p>
+ * Only the entities saved through Hibernate get their identifiers here - the JDBC batch insert, upsert
+ * and import of {@code OrganizationJdbcRepository} take the sequence value in SQL whatever the strategy is.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 17:55
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+public class PluggableIdentifierGenerator extends SequenceStyleGenerator {
+
+    /**
+     * The strategy setting.
+     */
+    public static final String STRATEGY_SETTING = "organisations.id.strategy";
+
+    /**
+     * The node setting.
+     */
+    public static final String NODE_SETTING = "organisations.id.node";
+
+    /**
+     * The sequence strategy.
+     */
+    public static final String SEQUENCE_STRATEGY = "sequence";
+
+    /**
+     * The snowflake strategy.
+     */
+    public static final String SNOWFLAKE_STRATEGY = "snowflake";
+
+    private SnowflakeIdGenerator snowflakeIdGenerator;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, params, serviceRegistry);
+
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        String strategy = getSetting(params, settings, STRATEGY_SETTING, SEQUENCE_STRATEGY);
+        if (SNOWFLAKE_STRATEGY.equalsIgnoreCase(strategy)) {
+            long node = Long.parseLong(getSetting(params, settings, NODE_SETTING, "0"));
+            this.snowflakeIdGenerator = new SnowflakeIdGenerator(node);
+        } else if (!SEQUENCE_STRATEGY.equalsIgnoreCase(strategy)) {
+            throw new MappingException(String.format("Неизвестная стратегия генерации идентификаторов - %s", strategy));
+        }
+
+        log.info(
+                "Настроили генерацию идентификаторов:\nпоследовательность - {}\nстратегия - {}",
+                this.getDatabaseStructure().getName(),
+                strategy
+        );
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (this.snowflakeIdGenerator == null) return super.generate(session, object);
+
+        return this.snowflakeIdGenerator.nextId();
+    }
+
+    private static String getSetting(Properties params, Map<?, ?> settings, String name, String defaultValue) {
+        Object value = params.getProperty(name);
+        if (value == null) value = settings.get(name);
+
+        return value == null || value.toString().trim().isEmpty() ? defaultValue : value.toString().trim();
+    }
+}
@@ -0,0 +1,146 @@
+package org.restful.test.instances.model.identifier;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * The generator of the time-ordered 64-bit identifiers (Snowflake).
+ * <p>
+ * The identifier is composed from (starting with the most significant bits):
+ * <ul>
+ *     <li>sign bit - always 0;</li>
+ *     <li>41 bits - milliseconds since {@link #EPOCH} (about 69 years);</li>
+ *     <li>10 bits - the node id, so up to 1024 nodes generate identifiers without coordination;</li>
+ *     <li>12 bits - the sequence within the millisecond (4096 identifiers per millisecond per node).</li>
+ * </ul>
+ * The identifiers of one generator are strictly increasing - if the clock goes back
+ * or the sequence is exhausted, the generator waits for the next millisecond.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 17:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public final class SnowflakeIdGenerator {
+
+    /**
+     * The epoch of the identifiers - 2021-01-01T00:00:00Z.
+     */
+    public static final long EPOCH = Instant.parse("2021-01-01T00:00:00Z").toEpochMilli();
+
+    /**
+     * The node id bits.
+     */
+    public static final int NODE_BITS = 10;
+
+    /**
+     * The sequence bits.
+     */
+    public static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The max node id.
+     */
+    public static final long MAX_NODE = (1L << NODE_BITS) - 1;
+
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    final long node;
+
+    final LongSupplier clock;
+
+    long lastTimestamp = -1L;
+
+    long sequence;
+
+    /**
+     * Instantiates a new Snowflake id generator.
+     *
+     * @param node the node
+     */
+    public SnowflakeIdGenerator(long node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    /**
+     * Instantiates a new Snowflake id generator.
+     *
+     * @param node  the node
+     * @param clock the clock (milliseconds since the unix epoch)
+     */
+    public SnowflakeIdGenerator(long node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException(String.format(
+                    "Идентификатор узла должен быть от 0 до %d - %d",
+                    MAX_NODE,
+                    node
+            ));
+        }
+
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /**
+     * Next id long.
+     *
+     * @return the long
+     */
+    public synchronized long nextId() {
+        long timestamp = this.clock.getAsLong();
+        if (timestamp < this.lastTimestamp) {
+            log.warn("Часы ушли назад на {} мс - ждем", this.lastTimestamp - timestamp);
+            timestamp = this.waitAfter(this.lastTimestamp - 1);
+        }
+
+        if (timestamp == this.lastTimestamp) {
+            this.sequence = (this.sequence + 1) & SEQUENCE_MASK;
+            if (this.sequence == 0) timestamp = this.waitAfter(this.lastTimestamp);
+        } else {
+            this.sequence = 0;
+        }
+        this.lastTimestamp = timestamp;
+
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS))
+                | (this.node << SEQUENCE_BITS)
+                | this.sequence;
+    }
+
+    /**
+     * Gets the timestamp (milliseconds since the unix epoch) of the identifier.
+     *
+     * @param id the id
+     * @return the timestamp
+     */
+    public static long getTimestamp(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * Gets the node of the identifier.
+     *
+     * @param id the id
+     * @return the node
+     */
+    public static long getNode(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE;
+    }
+
+    private long waitAfter(long timestamp) {
+        long current = this.clock.getAsLong();
+        while (current <= timestamp) {
+            Thread.onSpinWait();
+            current = this.clock.getAsLong();
+        }
+
+        return current;
+    }
+}
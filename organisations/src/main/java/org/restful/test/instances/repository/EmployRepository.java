@@ -4,12 +4,38 @@ import org.restful.test.instances.model.entity.Employ;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
+ * The repository of the employees.
+ * <p>
+ * The employ table may be partitioned by hash of {@code organization_uid}, so the selections
+ * carry the organization uid - PostgreSQL prunes them to the one partition of the organization.
+ *
  * @project restful-test-instances
  * @created 03.04.2021 09:19
  * <p>
  * @author Alexander A. Kropotin
  */
 public interface EmployRepository extends JpaRepository<Employ, Long>,
-        JpaSpecificationExecutor<Employ> {
+        JpaSpecificationExecutor<Employ>,
+        KeysetSpecificationExecutor<Employ> {
+
+    /**
+     * Find all employees of the organization ordered by uid.
+     *
+     * @param organizationUid the organization uid
+     * @return the employees
+     */
+    List<Employ> findAllByOrganizationUidOrderByEmployUid(Long organizationUid);
+
+    /**
+     * Find the employee of the organization.
+     *
+     * @param organizationUid the organization uid
+     * @param employUid       the employ uid
+     * @return the employee
+     */
+    Optional<Employ> findByOrganizationUidAndEmployUid(Long organizationUid, Long employUid);
 }
\ No newline at end of file
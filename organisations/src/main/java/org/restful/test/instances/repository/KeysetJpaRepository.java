@@ -0,0 +1,75 @@
+package org.restful.test.instances.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The base repository which implements {@link KeysetSpecificationExecutor} for all repositories.
+ *
+ * @param <T>  the type parameter
+ * @param <ID> the type parameter
+ * @project restful-test-instances
+ * @created 18.10.2026 15:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+public class KeysetJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements KeysetSpecificationExecutor<T> {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Instantiates a new Keyset jpa repository.
+     *
+     * @param entityInformation the entity information
+     * @param entityManager     the entity manager
+     */
+    public KeysetJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<T> findAll(@Nullable Specification<T> specification, Sort sort, int limit) {
+        return this.getQuery(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> findAll(@Nullable Specification<T> specification,
+                               Sort sort,
+                               int limit,
+                               List<String> attributes) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(this.getDomainClass());
+
+        query.multiselect(attributes.stream()
+                .<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+                .collect(Collectors.toList())
+        );
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) query.where(predicate);
+        }
+        if (sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return this.entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,48 @@
+package org.restful.test.instances.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+import javax.persistence.Tuple;
+import java.util.List;
+
+/**
+ * The specification executor for the keyset pagination.
+ * <p>
+ * The page is selected by the specification (which contains the condition on the key
+ * "greater than the last key of the previous page") with the sort by the key and the limit,
+ * so neither the offset nor the count query are used.
+ *
+ * @param <T> the type parameter
+ * @project restful-test-instances
+ * @created 18.10.2026 15:05
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+public interface KeysetSpecificationExecutor<T> {
+
+    /**
+     * Find all list.
+     *
+     * @param specification the specification
+     * @param sort          the sort
+     * @param limit         the limit
+     * @return the list
+     */
+    List<T> findAll(@Nullable Specification<T> specification, Sort sort, int limit);
+
+    /**
+     * Find all tuples with only the specified attributes.
+     * <p>
+     * The tuples are not the managed entities, so they are not registered in the persistence context.
+     * Every tuple element has the alias of its attribute.
+     *
+     * @param specification the specification
+     * @param sort          the sort
+     * @param limit         the limit
+     * @param attributes    the attributes
+     * @return the list
+     */
+    List<Tuple> findAll(@Nullable Specification<T> specification, Sort sort, int limit, List<String> attributes);
+}
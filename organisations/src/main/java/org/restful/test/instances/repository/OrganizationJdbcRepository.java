@@ -0,0 +1,844 @@
+package org.restful.test.instances.repository;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.service.specification.CustomSpecificationBuilder;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * The organizations repository on the plain JDBC.
+ * <p>
+ * The filter has only {@link OrganizationFilter#SHAPES_COUNT} shapes (which properties are filtered),
+ * so the parameterised SQL statement is built once per shape, the values lists are bound as
+ * the arrays ({@code = ANY(?)}), and the statement text does not depend on the values count -
+ * so the driver reuses the server-side prepared statements as well.
+ * <p>
+ * The pages are selected by the keyset ({@code uid > ? ORDER BY uid LIMIT ?}),
+ * so the page costs the same at any depth.
+ * <p>
+ * The writes bypass Hibernate, so the changed organizations are evicted from the second-level cache
+ * right away and once more after the transaction completion.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 14:25
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@Repository
+public class OrganizationJdbcRepository {
+
+    /**
+     * The selected columns.
+     */
+    static String SELECT_ORGANIZATION = "SELECT uid, name, inn, kpp, address FROM organization";
+
+    /**
+     * The selected columns of the projection.
+     */
+    static String SELECT_ORGANIZATION_PROJECTION = "SELECT %s FROM organization";
+
+    /**
+     * The insert statement, the uid is taken from the organization sequence by the database.
+     */
+    static String INSERT_ORGANIZATION = "INSERT INTO organization (uid, name, inn, kpp, address) "
+            + "VALUES (nextval('organization_uid_seq'), ?, ?, ?, ?)";
+
+    /**
+     * The update statement with the returned row on PostgreSQL.
+     */
+    static String UPDATE_ORGANIZATION_RETURNING =
+            "UPDATE organization SET %s WHERE uid = ? RETURNING uid, name, inn, kpp, address";
+
+    /**
+     * The update statement with the returned row on H2.
+     */
+    static String UPDATE_ORGANIZATION_FINAL_TABLE =
+            "SELECT uid, name, inn, kpp, address FROM FINAL TABLE (UPDATE organization SET %s WHERE uid = ?)";
+
+    /**
+     * The upsert statement by the organization name on PostgreSQL,
+     * the values are bound as the arrays, so one statement upserts any number of organizations.
+     * The inserted rows are told from the updated ones by {@code xmax = 0} - the updated row version
+     * has the xmax of the upserting transaction.
+     */
+    static String UPSERT_ORGANIZATIONS_ON_CONFLICT = "INSERT INTO organization (uid, name, inn, kpp, address) "
+            + "SELECT nextval('organization_uid_seq'), u.name, u.inn, u.kpp, u.address "
+            + "FROM unnest(CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[])) "
+            + "AS u(name, inn, kpp, address) "
+            + "ON CONFLICT (name) DO UPDATE SET inn = EXCLUDED.inn, kpp = EXCLUDED.kpp, address = EXCLUDED.address "
+            + "RETURNING uid, name, inn, kpp, address, (xmax = 0) AS inserted";
+
+    /**
+     * The upsert statement by the organization name on H2.
+     */
+    static String UPSERT_ORGANIZATION_MERGE = "SELECT uid, name, inn, kpp, address FROM FINAL TABLE ("
+            + "MERGE INTO organization o "
+            + "USING (VALUES (CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR))) "
+            + "AS u(name, inn, kpp, address) ON o.name = u.name "
+            + "WHEN MATCHED THEN UPDATE SET inn = u.inn, kpp = u.kpp, address = u.address "
+            + "WHEN NOT MATCHED THEN INSERT (uid, name, inn, kpp, address) "
+            + "VALUES (nextval('organization_uid_seq'), u.name, u.inn, u.kpp, u.address))";
+
+    /**
+     * The staging table of the import, it lives in the session of the import only.
+     */
+    static String CREATE_IMPORT_TABLE = "CREATE TEMPORARY TABLE organization_import "
+            + "(line bigint, name varchar, inn varchar, kpp varchar, address varchar)";
+
+    static String DROP_IMPORT_TABLE = "DROP TABLE IF EXISTS organization_import";
+
+    static String COPY_IMPORT = "COPY organization_import (line, name, inn, kpp, address) FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * The merge statement of the staging table - the last line of the same name wins.
+     */
+    static String MERGE_IMPORT = "INSERT INTO organization (uid, name, inn, kpp, address) "
+            + "SELECT nextval('organization_uid_seq'), i.name, i.inn, i.kpp, i.address "
+            + "FROM (SELECT DISTINCT ON (name) name, inn, kpp, address FROM organization_import "
+            + "ORDER BY name, line DESC) AS i "
+            + "ON CONFLICT (name) DO UPDATE SET inn = EXCLUDED.inn, kpp = EXCLUDED.kpp, address = EXCLUDED.address "
+            + "RETURNING uid, (xmax = 0) AS inserted";
+
+    /**
+     * The delete statement of the one organization.
+     */
+    static String DELETE_ORGANIZATION = "DELETE FROM organization WHERE uid = ?";
+
+    /**
+     * The select statement of the existing names.
+     */
+    static String SELECT_EXISTING_NAMES = "SELECT name FROM organization WHERE name = ANY(?)";
+
+    /**
+     * The select statement of all uids.
+     */
+    static String SELECT_UIDS = "SELECT uid FROM organization";
+
+    /**
+     * The count statement of all organizations.
+     */
+    static String COUNT_ORGANIZATIONS = "SELECT count(*) FROM organization";
+
+    /**
+     * The row mapper into the organization detail.
+     */
+    static RowMapper<OrganizationDetail> ORGANIZATION_DETAIL_ROW_MAPPER = new OrganizationDetailRowMapper();
+
+    JdbcTemplate jdbcTemplate;
+
+    EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Is the database PostgreSQL (otherwise - H2), determined on the first use.
+     */
+    @NonFinal
+    volatile Boolean isPostgreSql;
+
+    /**
+     * The select statements by the filter shape.
+     */
+    String[] findStatements;
+
+    /**
+     * The delete statements by the filter shape.
+     */
+    String[] deleteStatements;
+
+    /**
+     * The page conditions by the filter shape - without and with the page start key.
+     */
+    String[][] findPageConditions;
+
+    /**
+     * The page select statements by the filter shape - without and with the page start key.
+     */
+    String[][] findPageStatements;
+
+    /**
+     * Instantiates a new Organization jdbc repository.
+     *
+     * @param jdbcTemplate         the jdbc template
+     * @param entityManagerFactory the entity manager factory
+     */
+    public OrganizationJdbcRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.findStatements = new String[OrganizationFilter.SHAPES_COUNT];
+        this.deleteStatements = new String[OrganizationFilter.SHAPES_COUNT];
+        for (int shape = 0; shape < OrganizationFilter.SHAPES_COUNT; shape++) {
+            this.findStatements[shape] = SELECT_ORGANIZATION + createWhereClause(shape, false);
+            this.deleteStatements[shape] = "DELETE FROM organization" + createWhereClause(shape, false);
+        }
+
+        this.findPageConditions = new String[2][OrganizationFilter.SHAPES_COUNT];
+        this.findPageStatements = new String[2][OrganizationFilter.SHAPES_COUNT];
+        for (int shape = 0; shape < OrganizationFilter.SHAPES_COUNT; shape++) {
+            this.findPageConditions[0][shape] = createWhereClause(shape, false) + " ORDER BY uid LIMIT ?";
+            this.findPageConditions[1][shape] = createWhereClause(shape, true) + " ORDER BY uid LIMIT ?";
+            this.findPageStatements[0][shape] = SELECT_ORGANIZATION + this.findPageConditions[0][shape];
+            this.findPageStatements[1][shape] = SELECT_ORGANIZATION + this.findPageConditions[1][shape];
+        }
+    }
+
+    /**
+     * Find all organizations by the filter.
+     *
+     * @param filter the filter
+     * @return the list
+     */
+    public List<OrganizationDetail> findAll(OrganizationFilter filter) {
+        int shape = filter.getShape();
+        String statement = this.findStatements[shape];
+        log.debug("Выбираем организации по форме фильтра {} - {}", shape, statement);
+
+        return this.jdbcTemplate.query(
+                statement,
+                preparedStatement -> setFilterParameters(preparedStatement, filter, 1),
+                ORGANIZATION_DETAIL_ROW_MAPPER
+        );
+    }
+
+    /**
+     * Find the page of the organizations by the filter ordered by uid.
+     * <p>
+     * If the filter is projected, only the columns of the projection are selected.
+     *
+     * @param filter the filter
+     * @param after  the uid after which the page starts (if null - from the first organization)
+     * @param limit  the limit
+     * @return the list
+     */
+    public List<OrganizationDetail> findAll(OrganizationFilter filter, Long after, int limit) {
+        int shape = filter.getShape();
+        boolean isProjected = filter.isProjected();
+        String statement = isProjected
+                ? String.format(SELECT_ORGANIZATION_PROJECTION, String.join(", ", filter.getProjection()))
+                        + this.findPageConditions[after == null ? 0 : 1][shape]
+                : this.findPageStatements[after == null ? 0 : 1][shape];
+        log.debug("Выбираем страницу организаций по форме фильтра {} - {}", shape, statement);
+
+        return this.jdbcTemplate.query(
+                statement,
+                preparedStatement -> {
+                    int index = setFilterParameters(preparedStatement, filter, 1);
+                    if (after != null) preparedStatement.setLong(index++, after);
+                    preparedStatement.setInt(index, limit);
+                },
+                isProjected ? new OrganizationProjectionRowMapper(filter.getProjection()) : ORGANIZATION_DETAIL_ROW_MAPPER
+        );
+    }
+
+    /**
+     * Find the page of the organizations by the filter ordered by uid and pass them
+     * to the consumer one by one as they are fetched.
+     * <p>
+     * The rows are fetched by the chunks of the fetch size, so the page is never held in memory
+     * (on PostgreSQL the cursor works only in the transaction).
+     *
+     * @param filter    the filter
+     * @param after     the uid after which the page starts (if null - from the first organization)
+     * @param limit     the limit
+     * @param fetchSize the fetch size
+     * @param consumer  the consumer
+     */
+    public void findAll(OrganizationFilter filter,
+                        Long after,
+                        int limit,
+                        int fetchSize,
+                        Consumer<OrganizationDetail> consumer) {
+        int shape = filter.getShape();
+        boolean isProjected = filter.isProjected();
+        String statement = isProjected
+                ? String.format(SELECT_ORGANIZATION_PROJECTION, String.join(", ", filter.getProjection()))
+                        + this.findPageConditions[after == null ? 0 : 1][shape]
+                : this.findPageStatements[after == null ? 0 : 1][shape];
+        RowMapper<OrganizationDetail> rowMapper = isProjected
+                ? new OrganizationProjectionRowMapper(filter.getProjection())
+                : ORGANIZATION_DETAIL_ROW_MAPPER;
+        log.debug("Выбираем потоком страницу организаций по форме фильтра {} - {}", shape, statement);
+
+        this.jdbcTemplate.query(
+                statement,
+                preparedStatement -> {
+                    preparedStatement.setFetchSize(fetchSize);
+                    int index = setFilterParameters(preparedStatement, filter, 1);
+                    if (after != null) preparedStatement.setLong(index++, after);
+                    preparedStatement.setInt(index, limit);
+                },
+                (RowCallbackHandler) resultSet -> consumer.accept(rowMapper.mapRow(resultSet, resultSet.getRow()))
+        );
+    }
+
+    /**
+     * Update the organization by one statement and return the updated row.
+     * <p>
+     * Only the set properties of the patch are updated ({@code null} - not changed,
+     * empty optional - set to {@code null}), the uid is never updated.
+     * On PostgreSQL it is {@code UPDATE ... RETURNING}, on H2 - {@code SELECT ... FROM FINAL TABLE (UPDATE ...)}.
+     *
+     * @param uid   the uid
+     * @param patch the patch
+     * @return the updated organization or empty if there is no organization with the uid
+     */
+    public Optional<OrganizationDetail> update(Long uid, OrganizationDetail patch) {
+        List<String> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        addAssignment(columns, values, "name", patch.getName());
+        addAssignment(columns, values, "inn", patch.getInn());
+        addAssignment(columns, values, "kpp", patch.getKpp());
+        addAssignment(columns, values, "address", patch.getAddress());
+        values.add(uid);
+
+        String statement;
+        if (columns.isEmpty()) {
+            statement = SELECT_ORGANIZATION + " WHERE uid = ?";
+        } else {
+            String assignments = columns.stream()
+                    .map(column -> column + " = ?")
+                    .collect(Collectors.joining(", "));
+            statement = this.isPostgreSql()
+                    ? String.format(UPDATE_ORGANIZATION_RETURNING, assignments)
+                    : String.format(UPDATE_ORGANIZATION_FINAL_TABLE, assignments);
+        }
+        log.debug("Обновляем организацию {} - {}", uid, statement);
+
+        Optional<OrganizationDetail> updatedOrganization = this.jdbcTemplate.query(
+                statement,
+                values.toArray(),
+                ORGANIZATION_DETAIL_ROW_MAPPER
+        ).stream().findFirst();
+        if (!columns.isEmpty()) this.evictFromCache(cache -> cache.evict(Organization.class, uid));
+
+        return updatedOrganization;
+    }
+
+    /**
+     * Insert or update all organizations by the name with one statement per chunk.
+     * <p>
+     * The uid of the existing organization is kept, the other properties are replaced.
+     * On PostgreSQL it is {@code INSERT ... ON CONFLICT (name) DO UPDATE ... RETURNING},
+     * on H2 - {@code SELECT ... FROM FINAL TABLE (MERGE INTO ...)} per organization.
+     * The names have to be distinct, otherwise PostgreSQL refuses to update the same row twice.
+     * Only the uids of the inserted organizations go to the consumer, the updated ones existed before.
+     *
+     * @param organizations the organizations
+     * @param chunkSize     the chunk size
+     * @param insertedUids  the consumer of the uids of the inserted organizations
+     * @return the upserted organizations in any order
+     */
+    public List<OrganizationDetail> upsertAll(List<Organization> organizations,
+                                              int chunkSize,
+                                              LongConsumer insertedUids) {
+        log.debug("Вставляем или обновляем {} организаций пакетами по {}", organizations.size(), chunkSize);
+
+        List<OrganizationDetail> upsertedOrganizations = new ArrayList<>(organizations.size());
+        for (int from = 0; from < organizations.size(); from += chunkSize) {
+            List<Organization> chunk = organizations.subList(from, Math.min(from + chunkSize, organizations.size()));
+            if (this.isPostgreSql()) {
+                upsertedOrganizations.addAll(this.jdbcTemplate.query(
+                        UPSERT_ORGANIZATIONS_ON_CONFLICT,
+                        preparedStatement -> {
+                            setVarcharArrayParameter(preparedStatement, 1, chunk, Organization::getName);
+                            setVarcharArrayParameter(preparedStatement, 2, chunk, Organization::getInn);
+                            setVarcharArrayParameter(preparedStatement, 3, chunk, Organization::getKpp);
+                            setVarcharArrayParameter(preparedStatement, 4, chunk, Organization::getAddress);
+                        },
+                        (resultSet, rowNumber) -> {
+                            OrganizationDetail organization = ORGANIZATION_DETAIL_ROW_MAPPER.mapRow(
+                                    resultSet,
+                                    rowNumber
+                            );
+                            if (resultSet.getBoolean(6)) insertedUids.accept(resultSet.getLong(1));
+
+                            return organization;
+                        }
+                ));
+            } else {
+                /*
+                 * MERGE в H2 не говорит, вставлена строка или обновлена - сверяемся с уже занятыми наименованиями
+                 */
+                Set<String> existingNames = new HashSet<>(this.findExistingNames(chunk.stream()
+                        .map(Organization::getName)
+                        .collect(Collectors.toList())
+                ));
+                for (Organization organization : chunk) {
+                    List<OrganizationDetail> upsertedOrganization = this.jdbcTemplate.query(
+                            UPSERT_ORGANIZATION_MERGE,
+                            new Object[] {
+                                    organization.getName(),
+                                    organization.getInn(),
+                                    organization.getKpp(),
+                                    organization.getAddress()
+                            },
+                            ORGANIZATION_DETAIL_ROW_MAPPER
+                    );
+                    if (existingNames.add(organization.getName())) {
+                        upsertedOrganization.forEach(upserted -> insertedUids.accept(upserted.getUid().get()));
+                    }
+                    upsertedOrganizations.addAll(upsertedOrganization);
+                }
+            }
+            log.debug(
+                    "Вставили или обновили пакет организаций - {} из {}",
+                    upsertedOrganizations.size(),
+                    organizations.size()
+            );
+        }
+        List<Long> upsertedUids = upsertedOrganizations.stream()
+                .map(organization -> organization.getUid().orElse(null))
+                .collect(Collectors.toList());
+        this.evictFromCache(cache -> upsertedUids.forEach(uid -> cache.evict(Organization.class, uid)));
+
+        return upsertedOrganizations;
+    }
+
+    /**
+     * Import all organizations by {@code COPY} into the staging table and merge them by the name.
+     * <p>
+     * The organizations are consumed lazily and sent to the database by the chunks of the CSV rows,
+     * so neither the source nor the rows are held in memory. It has to be called in the transaction -
+     * under autocommit PgJDBC ignores the fetch size and buffers the whole merge result.
+     * The merge works as {@link #upsertAll(List, int, LongConsumer)} - the existing organizations are replaced.
+     * Only PostgreSQL supports it.
+     *
+     * @param organizations the organizations
+     * @param chunkSize     the rows count in one chunk
+     * @param insertedUids  the consumer of the uids of the inserted (not replaced) organizations
+     * @return the merged rows count
+     */
+    public int importAll(Iterator<Organization> organizations, int chunkSize, LongConsumer insertedUids) {
+        return this.jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            if (!this.isPostgreSql()) {
+                throw new IllegalStateException("Импорт организаций через COPY поддерживается только в PostgreSQL");
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(DROP_IMPORT_TABLE);
+                statement.execute(CREATE_IMPORT_TABLE);
+
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_IMPORT);
+                long line = 0;
+                try {
+                    StringBuilder chunk = new StringBuilder();
+                    while (organizations.hasNext()) {
+                        appendCsvRow(chunk, ++line, organizations.next());
+                        if (line % chunkSize == 0) {
+                            writeToCopy(copyIn, chunk);
+                            log.info("Скопировали во временную таблицу строк - {}", line);
+                        }
+                    }
+                    writeToCopy(copyIn, chunk);
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) copyIn.cancelCopy();
+                }
+                log.info("Скопировали во временную таблицу все строки - {}, объединяем с организациями", line);
+
+                int mergedCount = 0;
+                statement.setFetchSize(chunkSize);
+                try (ResultSet uids = statement.executeQuery(MERGE_IMPORT)) {
+                    while (uids.next()) {
+                        if (uids.getBoolean(2)) insertedUids.accept(uids.getLong(1));
+                        mergedCount++;
+                    }
+                }
+                statement.execute(DROP_IMPORT_TABLE);
+                log.info("Объединили с организациями строк - {}", mergedCount);
+                this.evictFromCache(cache -> cache.evict(Organization.class));
+
+                return mergedCount;
+            }
+        });
+    }
+
+    /**
+     * Delete the organization by uid without loading it.
+     *
+     * @param uid the uid
+     * @return the deleted rows count
+     */
+    public int delete(Long uid) {
+        log.debug("Удаляем организацию {} - {}", uid, DELETE_ORGANIZATION);
+
+        int deletedCount = this.jdbcTemplate.update(DELETE_ORGANIZATION, uid);
+        if (deletedCount > 0) this.evictFromCache(cache -> cache.evict(Organization.class, uid));
+
+        return deletedCount;
+    }
+
+    /**
+     * Delete all organizations by the filter with one statement.
+     * <p>
+     * The empty filter deletes all organizations, so the caller has to check the filter shape.
+     *
+     * @param filter the filter
+     * @return the deleted rows count
+     */
+    public int deleteAll(OrganizationFilter filter) {
+        int shape = filter.getShape();
+        String statement = this.deleteStatements[shape];
+        log.debug("Удаляем организации по форме фильтра {} - {}", shape, statement);
+
+        int deletedCount = this.jdbcTemplate.update(
+                statement,
+                preparedStatement -> setFilterParameters(preparedStatement, filter, 1)
+        );
+        if (deletedCount > 0) this.evictFromCache(cache -> cache.evict(Organization.class));
+
+        return deletedCount;
+    }
+
+    /**
+     * Insert all organizations by the JDBC batches of the chunk size.
+     *
+     * @param organizations the organizations
+     * @param chunkSize     the chunk size
+     * @return the generated uids in the order of the organizations
+     */
+    public List<Long> insertAll(List<Organization> organizations, int chunkSize) {
+        log.debug("Вставляем {} организаций пакетами по {}", organizations.size(), chunkSize);
+
+        return this.jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> uids = new ArrayList<>(organizations.size());
+            try (PreparedStatement preparedStatement = connection.prepareStatement(
+                    INSERT_ORGANIZATION,
+                    new String[] {"uid"}
+            )) {
+                for (int from = 0; from < organizations.size(); from += chunkSize) {
+                    List<Organization> chunk = organizations.subList(
+                            from,
+                            Math.min(from + chunkSize, organizations.size())
+                    );
+                    for (Organization organization : chunk) {
+                        preparedStatement.setString(1, organization.getName());
+                        preparedStatement.setString(2, organization.getInn());
+                        preparedStatement.setString(3, organization.getKpp());
+                        preparedStatement.setString(4, organization.getAddress());
+                        preparedStatement.addBatch();
+                    }
+                    preparedStatement.executeBatch();
+
+                    try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                        while (generatedKeys.next()) {
+                            uids.add(generatedKeys.getLong(1));
+                        }
+                    }
+                    log.debug("Вставили пакет организаций - {} из {}", uids.size(), organizations.size());
+                }
+            }
+
+            if (uids.size() != organizations.size()) {
+                throw new IllegalStateException(String.format(
+                        "Получили %d идентификаторов для %d организаций",
+                        uids.size(),
+                        organizations.size()
+                ));
+            }
+
+            return uids;
+        });
+    }
+
+    /**
+     * Count all organizations.
+     *
+     * @return the count
+     */
+    public long count() {
+        return this.jdbcTemplate.queryForObject(COUNT_ORGANIZATIONS, Long.class);
+    }
+
+    /**
+     * Find all uids by the chunks of the fetch size, so the uids are never held in memory.
+     * <p>
+     * The cursor works only in the transaction, so out of the transaction it is opened for the selection.
+     *
+     * @param fetchSize the fetch size
+     * @param consumer  the consumer
+     */
+    public void findAllUids(int fetchSize, LongConsumer consumer) {
+        this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean isAutoCommit = connection.getAutoCommit();
+            if (isAutoCommit) connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet uids = statement.executeQuery(SELECT_UIDS)) {
+                    while (uids.next()) {
+                        consumer.accept(uids.getLong(1));
+                    }
+                }
+            } finally {
+                if (isAutoCommit) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            }
+
+            return null;
+        });
+    }
+
+    /**
+     * Find the names which are already taken by the organizations.
+     *
+     * @param names the names
+     * @return the existing names
+     */
+    public List<String> findExistingNames(List<String> names) {
+        if (names.isEmpty()) return Collections.emptyList();
+
+        return this.jdbcTemplate.query(
+                SELECT_EXISTING_NAMES,
+                preparedStatement -> preparedStatement.setArray(
+                        1,
+                        preparedStatement.getConnection().createArrayOf("varchar", names.toArray())
+                ),
+                (resultSet, rowNumber) -> resultSet.getString(1)
+        );
+    }
+
+    /**
+     * Evict the organizations from the second-level cache now and after the transaction completion.
+     * <p>
+     * The second eviction is needed, because the concurrent transaction may put the old state
+     * into the cache between the write and the commit.
+     *
+     * @param eviction the eviction
+     */
+    private void evictFromCache(Consumer<Cache> eviction) {
+        Cache cache = this.entityManagerFactory.getCache();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+
+    /**
+     * Creates the where clause for the filter shape.
+     *
+     * @param shape          the shape
+     * @param isAfterPresent is the page start key condition needed
+     * @return the where clause
+     */
+    static String createWhereClause(int shape, boolean isAfterPresent) {
+        StringBuilder whereClause = new StringBuilder();
+        appendCondition(whereClause, shape, OrganizationFilter.UID, "uid");
+        appendCondition(whereClause, shape, OrganizationFilter.NAME, "name");
+        appendCondition(whereClause, shape, OrganizationFilter.INN, "inn");
+        appendCondition(whereClause, shape, OrganizationFilter.KPP, "kpp");
+        appendCondition(whereClause, shape, OrganizationFilter.ADDRESS, "address");
+        if ((shape & OrganizationFilter.SEARCH) != 0) {
+            whereClause.append(whereClause.length() == 0 ? " WHERE " : " AND ")
+                    .append("(lower(name) LIKE ? ESCAPE '\\' OR lower(address) LIKE ? ESCAPE '\\')");
+        }
+        if (isAfterPresent) whereClause.append(whereClause.length() == 0 ? " WHERE " : " AND ").append("uid > ?");
+
+        return whereClause.toString();
+    }
+
+    /**
+     * Binds the filter values in the same order as they are in the where clause.
+     *
+     * @param preparedStatement the prepared statement
+     * @param filter            the filter
+     * @param index             the index of the first parameter
+     * @return the index of the next parameter
+     * @throws SQLException the sql exception
+     */
+    static int setFilterParameters(PreparedStatement preparedStatement, OrganizationFilter filter, int index)
+            throws SQLException {
+        index = setArrayParameter(preparedStatement, index, "bigint", filter.getUid());
+        index = setArrayParameter(preparedStatement, index, "varchar", filter.getName());
+        index = setArrayParameter(preparedStatement, index, "varchar", filter.getInn());
+        index = setArrayParameter(preparedStatement, index, "varchar", filter.getKpp());
+        index = setArrayParameter(preparedStatement, index, "varchar", filter.getAddress());
+        if (OrganizationFilter.isPresent(filter.getSearch())) {
+            String pattern = CustomSpecificationBuilder.toContainsPattern(filter.getSearch());
+            preparedStatement.setString(index++, pattern);
+            preparedStatement.setString(index++, pattern);
+        }
+
+        return index;
+    }
+
+    /**
+     * Is the database PostgreSQL.
+     *
+     * @return the boolean
+     */
+    boolean isPostgreSql() {
+        if (this.isPostgreSql == null) {
+            this.isPostgreSql = this.jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())
+            );
+        }
+
+        return this.isPostgreSql;
+    }
+
+    private static void addAssignment(List<String> columns, List<Object> values, String column, Optional<?> value) {
+        if (value == null) return;
+
+        columns.add(column);
+        values.add(value.orElse(null));
+    }
+
+    private static void setVarcharArrayParameter(PreparedStatement preparedStatement,
+                                                 int index,
+                                                 List<Organization> organizations,
+                                                 Function<Organization, String> property) throws SQLException {
+        preparedStatement.setArray(
+                index,
+                preparedStatement.getConnection().createArrayOf(
+                        "varchar",
+                        organizations.stream().map(property).toArray()
+                )
+        );
+    }
+
+    private static void appendCsvRow(StringBuilder chunk, long line, Organization organization) {
+        chunk.append(line);
+        appendCsvValue(chunk, organization.getName());
+        appendCsvValue(chunk, organization.getInn());
+        appendCsvValue(chunk, organization.getKpp());
+        appendCsvValue(chunk, organization.getAddress());
+        chunk.append('\n');
+    }
+
+    /*
+     * В CSV формате COPY пустое значение без кавычек - NULL, поэтому непустые значения всегда в кавычках
+     */
+    private static void appendCsvValue(StringBuilder chunk, String value) {
+        chunk.append(',');
+        if (value == null) return;
+
+        chunk.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        if (chunk.length() == 0) return;
+
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    private static void appendCondition(StringBuilder whereClause, int shape, int shapeBit, String column) {
+        if ((shape & shapeBit) == 0) return;
+
+        whereClause.append(whereClause.length() == 0 ? " WHERE " : " AND ")
+                .append(column)
+                .append(" = ANY(?)");
+    }
+
+    private static int setArrayParameter(PreparedStatement preparedStatement,
+                                         int index,
+                                         String type,
+                                         List<?> values) throws SQLException {
+        if (!OrganizationFilter.isPresent(values)) return index;
+
+        preparedStatement.setArray(index, preparedStatement.getConnection().createArrayOf(type, values.toArray()));
+
+        return index + 1;
+    }
+
+    /**
+     * The row mapper which maps the organization row straight into the organization detail.
+     */
+    static class OrganizationDetailRowMapper implements RowMapper<OrganizationDetail> {
+
+        @Override
+        public OrganizationDetail mapRow(ResultSet resultSet, int rowNumber) throws SQLException {
+            return OrganizationDetail.builder()
+                    .uid(Optional.of(resultSet.getLong(1)))
+                    .name(Optional.ofNullable(resultSet.getString(2)))
+                    .inn(Optional.ofNullable(resultSet.getString(3)))
+                    .kpp(Optional.ofNullable(resultSet.getString(4)))
+                    .address(Optional.ofNullable(resultSet.getString(5)))
+                    .build();
+        }
+    }
+
+    /**
+     * The row mapper which maps the projection columns into the same organization detail properties,
+     * the other properties are left unset.
+     */
+    static class OrganizationProjectionRowMapper implements RowMapper<OrganizationDetail> {
+
+        final List<String> projection;
+
+        OrganizationProjectionRowMapper(List<String> projection) {
+            this.projection = projection;
+        }
+
+        @Override
+        public OrganizationDetail mapRow(ResultSet resultSet, int rowNumber) throws SQLException {
+            OrganizationDetail organizationDetail = new OrganizationDetail();
+            for (int i = 0; i < this.projection.size(); i++) {
+                switch (this.projection.get(i)) {
+                    case "uid":
+                        organizationDetail.setUid(Optional.of(resultSet.getLong(i + 1)));
+                        break;
+                    case "name":
+                        organizationDetail.setName(Optional.ofNullable(resultSet.getString(i + 1)));
+                        break;
+                    case "inn":
+                        organizationDetail.setInn(Optional.ofNullable(resultSet.getString(i + 1)));
+                        break;
+                    case "kpp":
+                        organizationDetail.setKpp(Optional.ofNullable(resultSet.getString(i + 1)));
+                        break;
+                    case "address":
+                        organizationDetail.setAddress(Optional.ofNullable(resultSet.getString(i + 1)));
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            return organizationDetail;
+        }
+    }
+}
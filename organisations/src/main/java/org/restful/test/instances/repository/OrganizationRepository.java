@@ -3,6 +3,14 @@ package org.restful.test.instances.repository;
 import org.restful.test.instances.model.entity.Organization;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * @project restful-test-instances
@@ -11,5 +19,27 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  * @author Alexander A. Kropotin
  */
 public interface OrganizationRepository extends JpaRepository<Organization, Long>,
-        JpaSpecificationExecutor<Organization> {
+        JpaSpecificationExecutor<Organization>,
+        KeysetSpecificationExecutor<Organization> {
+
+    /**
+     * The rows count fetched by the JDBC driver at once while streaming.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Stream all organizations ordered by uid.
+     * <p>
+     * The rows are fetched by the server-side cursor of {@link #STREAM_FETCH_SIZE} rows
+     * (on PostgreSQL it works only in the transaction), the entities are read-only,
+     * so the caller has to consume the stream in the transaction and detach the consumed entities.
+     *
+     * @return the stream
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("SELECT o FROM Organization o ORDER BY o.uid")
+    Stream<Organization> streamAll();
 }
\ No newline at end of file
@@ -4,6 +4,12 @@ import org.restful.test.instances.model.entity.Employ;
 import org.restful.test.instances.model.entity.Position;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * @project restful-test-instances
@@ -12,5 +18,16 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  * @author Alexander A. Kropotin
  */
 public interface PositionRepository extends JpaRepository<Position, Long>,
-        JpaSpecificationExecutor<Position> {
+        JpaSpecificationExecutor<Position>,
+        KeysetSpecificationExecutor<Position> {
+
+    /**
+     * Find all positions - the positions are the reference data, so the result is in the query cache
+     * (if the cache is enabled).
+     *
+     * @return the list
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Position> findAll();
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package org.restful.test.instances.repository.routing;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The filter of the read-your-writes consistency between the primary and the replicas.
+ * <p>
+ * The response of every modifying request (not {@code GET}, {@code HEAD} or {@code OPTIONS}) has the header
+ * {@value #HEADER} with the WAL position of the primary after the request, the modifying request itself reads
+ * only from the primary. The reading request with this header is served by the replicas which have replayed
+ * the position or by the primary, without the header - by any healthy replica.
+ * The client which has to read its own writes sends back the last token it has got.
+ *
+ * @project restful-test-instances
+ * @created 20.10.2026 11:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    /**
+     * The header of the consistency token.
+     */
+    public static final String HEADER = "X-Consistency-Token";
+
+    static Set<String> READING_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS"));
+
+    ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (READING_METHODS.contains(request.getMethod())) {
+            try (RoutingContext.Scope scope = this.requireToken(request.getHeader(HEADER))) {
+                filterChain.doFilter(request, response);
+            }
+
+            return;
+        }
+
+        /*
+         * Заголовок нужно поставить до тела ответа, а позицию WAL узнать после изменения - тело придерживаем
+         */
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try (RoutingContext.Scope scope = RoutingContext.requirePrimary()) {
+            filterChain.doFilter(request, cachingResponse);
+        }
+        try {
+            cachingResponse.setHeader(
+                    HEADER,
+                    ReplicaRoutingDataSource.formatLsn(this.replicaRoutingDataSource.getCurrentLsn())
+            );
+        } catch (SQLException e) {
+            log.warn("Не получилось узнать позицию WAL основной БД для ответа", e);
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    /*
+     * Неверный токен не дает понять, что клиент уже записал, - читаем из основной БД
+     */
+    private RoutingContext.Scope requireToken(String token) {
+        if (token == null || token.isEmpty()) return () -> {};
+
+        try {
+            return RoutingContext.requireLsn(ReplicaRoutingDataSource.parseLsn(token.trim()));
+        } catch (IllegalArgumentException e) {
+            log.debug("Неверный токен согласованности - {}", token);
+
+            return RoutingContext.requirePrimary();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package org.restful.test.instances.repository.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The data source which serves the read-only transactions from the PostgreSQL streaming replicas
+ * and everything else from the primary.
+ * <p>
+ * The transaction is read-only if {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()},
+ * so the data source has to be wrapped into {@code LazyConnectionDataSourceProxy} - the JPA transaction
+ * takes the connection before the flag is set. The replicas are taken by turns among the healthy ones
+ * which have replayed {@link RoutingContext#getRequiredLsn()}, if there is no such replica
+ * or {@link RoutingContext#isPrimaryRequired()}, the read-only transaction is served by the primary.
+ * <p>
+ * The replicas are checked in the background: the replica which does not answer, is not in the recovery
+ * (it has been promoted and takes the writes of its own) or is behind the primary more than the max lag
+ * in WAL bytes is ejected until the next successful check.
+ * The metrics are {@code datasource.routing.connections} by the target, {@code datasource.routing.fallbacks}
+ * of the read-only transactions served by the primary and {@code datasource.replicas.healthy}.
+ *
+ * @project restful-test-instances
+ * @created 20.10.2026 10:45
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    DataSource primary;
+
+    List<Replica> replicas = new ArrayList<>();
+
+    long maxLag;
+
+    AtomicInteger nextReplica = new AtomicInteger();
+
+    ScheduledExecutorService checker;
+
+    Counter primaryConnections;
+
+    Counter replicaConnections;
+
+    Counter fallbacks;
+
+    /**
+     * Instantiates a new Replica routing data source.
+     *
+     * @param primary       the primary
+     * @param replicas      the replicas by the names
+     * @param checkInterval the replicas check interval in milliseconds
+     * @param maxLag        the max lag of the healthy replica in WAL bytes
+     * @param meterRegistry the meter registry
+     */
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    long checkInterval,
+                                    long maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.maxLag = maxLag;
+
+        this.primaryConnections = Counter.builder("datasource.routing.connections")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("datasource.routing.connections")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("datasource.routing.fallbacks").register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaRoutingDataSource::getHealthyReplicasCount)
+                .register(meterRegistry);
+
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-checker");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.determineTarget().getConnection(username, password);
+    }
+
+    /**
+     * Get the current WAL position of the primary - the client which has it reads its own writes.
+     *
+     * @return the WAL position
+     * @throws SQLException the sql exception
+     */
+    public long getCurrentLsn() throws SQLException {
+        try (Connection connection = this.primary.getConnection()) {
+            return queryLsn(connection, isWalNamed(connection) ? "pg_current_wal_lsn()" : "pg_current_xlog_location()");
+        }
+    }
+
+    public int getHealthyReplicasCount() {
+        return (int) this.replicas.stream()
+                .filter(replica -> replica.isHealthy)
+                .count();
+    }
+
+    public List<Replica> getReplicas() {
+        return Collections.unmodifiableList(this.replicas);
+    }
+
+    /**
+     * Check the replicas now - eject the unavailable, promoted or lagging ones and return the recovered ones.
+     */
+    public void checkReplicas() {
+        long primaryLsn;
+        try {
+            primaryLsn = this.getCurrentLsn();
+        } catch (SQLException | RuntimeException e) {
+            /*
+             * Без позиции основной БД отставание не узнать - реплики проверяем только на доступность
+             */
+            log.warn("Не получилось узнать позицию WAL основной БД", e);
+            primaryLsn = 0;
+        }
+
+        for (Replica replica : this.replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                /*
+                 * Повышенная реплика помнит последнюю воспроизведенную позицию, но уже расходится с основной БД
+                 */
+                if (!isInRecovery(connection)) {
+                    replica.setHealthy(false, "не в режиме восстановления - повышена до основной БД");
+                    continue;
+                }
+
+                replica.replayLsn = queryLsn(
+                        connection,
+                        isWalNamed(connection) ? "pg_last_wal_replay_lsn()" : "pg_last_xlog_replay_location()"
+                );
+                long lag = primaryLsn - replica.replayLsn;
+                replica.setHealthy(primaryLsn == 0 || lag <= this.maxLag, lag + " байт отставания");
+            } catch (SQLException | RuntimeException e) {
+                replica.setHealthy(false, e.getMessage());
+            }
+        }
+    }
+
+    /*
+     * Сначала останавливаем проверку, потом закрываем пулы - проверка не должна открыть закрытый пул
+     */
+    @Override
+    public void close() throws Exception {
+        this.checker.shutdownNow();
+        this.checker.awaitTermination(1, TimeUnit.MINUTES);
+        for (Replica replica : this.replicas) {
+            if (replica.dataSource instanceof AutoCloseable) ((AutoCloseable) replica.dataSource).close();
+        }
+        if (this.primary instanceof AutoCloseable) ((AutoCloseable) this.primary).close();
+    }
+
+    /**
+     * Parse the text WAL position {@code XXXXXXXX/XXXXXXXX}.
+     *
+     * @param lsn the text WAL position
+     * @return the WAL position
+     */
+    public static long parseLsn(String lsn) {
+        int separator = lsn.indexOf('/');
+        if (separator <= 0) throw new IllegalArgumentException(String.format("Неверная позиция WAL - %s", lsn));
+
+        return Long.parseLong(lsn.substring(0, separator), 16) << 32
+                | Long.parseLong(lsn.substring(separator + 1), 16);
+    }
+
+    /**
+     * Format the WAL position as PostgreSQL does.
+     *
+     * @param lsn the WAL position
+     * @return the text WAL position
+     */
+    public static String formatLsn(long lsn) {
+        return String.format("%X/%X", lsn >>> 32, lsn & 0xFFFFFFFFL);
+    }
+
+    private DataSource determineTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || RoutingContext.isPrimaryRequired()) {
+            this.primaryConnections.increment();
+
+            return this.primary;
+        }
+
+        long requiredLsn = RoutingContext.getRequiredLsn();
+        int first = Math.floorMod(this.nextReplica.getAndIncrement(), Math.max(1, this.replicas.size()));
+        for (int i = 0; i < this.replicas.size(); i++) {
+            Replica replica = this.replicas.get((first + i) % this.replicas.size());
+            if (replica.isHealthy && replica.replayLsn >= requiredLsn) {
+                this.replicaConnections.increment();
+
+                return replica.dataSource;
+            }
+        }
+
+        log.debug("Нет реплики, которая воспроизвела позицию WAL {} - читаем из основной БД", formatLsn(requiredLsn));
+        this.fallbacks.increment();
+        this.primaryConnections.increment();
+
+        return this.primary;
+    }
+
+    /*
+     * В PostgreSQL 10 функции xlog переименованы в wal
+     */
+    private static boolean isWalNamed(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseMajorVersion() >= 10;
+    }
+
+    private static boolean isInRecovery(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet isInRecovery = statement.executeQuery("SELECT pg_is_in_recovery()")) {
+            isInRecovery.next();
+
+            return isInRecovery.getBoolean(1);
+        }
+    }
+
+    private static long queryLsn(Connection connection, String function) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet lsn = statement.executeQuery("SELECT " + function + "::text")) {
+            lsn.next();
+
+            String value = lsn.getString(1);
+            if (value == null) throw new SQLException(String.format("Позиция WAL не известна - %s", function));
+
+            return parseLsn(value);
+        }
+    }
+
+    /**
+     * The replica.
+     */
+    @FieldDefaults(
+            level = AccessLevel.PRIVATE,
+            makeFinal = true
+    )
+    public static class Replica {
+
+        String name;
+
+        DataSource dataSource;
+
+        @NonFinal
+        volatile boolean isHealthy;
+
+        @NonFinal
+        volatile long replayLsn;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public boolean isHealthy() {
+            return this.isHealthy;
+        }
+
+        public long getReplayLsn() {
+            return this.replayLsn;
+        }
+
+        private void setHealthy(boolean isHealthy, String reason) {
+            if (this.isHealthy == isHealthy) return;
+
+            this.isHealthy = isHealthy;
+            if (isHealthy) {
+                log.info("Вернули реплику {} - {}", this.name, reason);
+            } else {
+                log.warn("Исключили реплику {} - {}", this.name, reason);
+            }
+        }
+    }
+}
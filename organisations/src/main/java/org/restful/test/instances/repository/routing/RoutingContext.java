@@ -0,0 +1,129 @@
+package org.restful.test.instances.repository.routing;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The requirements of the current thread to the database which serves its read-only transactions.
+ * <p>
+ * By default the read-only transaction may be served by any healthy replica. The requirement of the WAL position
+ * (LSN) allows only the replicas which have replayed it - so the client reads its own writes, the requirement
+ * of the primary sends the read-only transactions to the primary too. The requirements are set by
+ * {@link Scope}, which restores the previous ones on close, the nested requirements are combined.
+ * The requirements belong to the thread - the body streamed by another thread after the request
+ * uses the ones {@link #capture() captured} by the request.
+ *
+ * @project restful-test-instances
+ * @created 20.10.2026 10:20
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public final class RoutingContext {
+
+    static RoutingContext ANY = new RoutingContext(false, 0);
+
+    static ThreadLocal<RoutingContext> CURRENT = ThreadLocal.withInitial(() -> ANY);
+
+    boolean isPrimaryRequired;
+
+    long requiredLsn;
+
+    /**
+     * Require the primary for the read-only transactions until the scope is closed.
+     *
+     * @return the scope
+     */
+    public static Scope requirePrimary() {
+        RoutingContext previous = CURRENT.get();
+
+        return set(new RoutingContext(true, previous.requiredLsn), previous);
+    }
+
+    /**
+     * Require the replicas which have replayed the WAL position until the scope is closed.
+     *
+     * @param lsn the WAL position
+     * @return the scope
+     */
+    public static Scope requireLsn(long lsn) {
+        RoutingContext previous = CURRENT.get();
+
+        return set(new RoutingContext(previous.isPrimaryRequired, Math.max(previous.requiredLsn, lsn)), previous);
+    }
+
+    /**
+     * Get the requirements of the current thread - to use them in the thread which serves the request later.
+     *
+     * @return the requirements
+     */
+    public static RoutingContext capture() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Require the captured requirements in the current thread until the scope is closed.
+     *
+     * @return the scope
+     */
+    public Scope use() {
+        RoutingContext previous = CURRENT.get();
+
+        return set(
+                new RoutingContext(
+                        previous.isPrimaryRequired || this.isPrimaryRequired,
+                        Math.max(previous.requiredLsn, this.requiredLsn)
+                ),
+                previous
+        );
+    }
+
+    public static boolean isPrimaryRequired() {
+        return CURRENT.get().isPrimaryRequired;
+    }
+
+    public static long getRequiredLsn() {
+        return CURRENT.get().requiredLsn;
+    }
+
+    /**
+     * Check whether not every replica may serve the read-only transactions of the current thread.
+     *
+     * @return is the current thread constrained
+     */
+    public static boolean isConstrained() {
+        RoutingContext current = CURRENT.get();
+
+        return current.isPrimaryRequired || current.requiredLsn > 0;
+    }
+
+    private static Scope set(RoutingContext current, RoutingContext previous) {
+        CURRENT.set(current);
+
+        return () -> {
+            if (previous == ANY) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * The scope of the requirements.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        /**
+         * Restore the previous requirements.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,49 @@
+package org.restful.test.instances.repository.routing;
+
+/**
+ * The shard of the current thread, which serves its connections.
+ * <p>
+ * The shard is set by {@link RoutingContext.Scope}, which restores the previous one on close.
+ * The connections taken out of any scope are served by the first shard.
+ *
+ * @project restful-test-instances
+ * @created 21.10.2026 10:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+public final class ShardContext {
+
+    static ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Serve the connections of the current thread by the shard until the scope is closed.
+     *
+     * @param shard the shard number
+     * @return the scope
+     */
+    public static RoutingContext.Scope use(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public static int getCurrentShard() {
+        Integer current = CURRENT.get();
+
+        return current == null ? 0 : current;
+    }
+
+    public static boolean isSet() {
+        return CURRENT.get() != null;
+    }
+}
@@ -0,0 +1,330 @@
+package org.restful.test.instances.repository.routing;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The tool which keeps the organizations in their shards after the shards count is changed.
+ * <p>
+ * The identifier sequences of every shard are stepped by the shards count from the shard number above
+ * the greatest identifier of all shards - {@link #alignSequences()} is called on start and does nothing
+ * while the sequences are aligned. The sequences are only moved forward and under the lock of the sequence,
+ * so the identifiers generated by the live inserts meanwhile are never generated again.
+ * {@link #rebalance()} moves every organization which is not in the shard {@code uid % shards count}
+ * into it together with its employees and their positions: the chunk is inserted
+ * into the target shard and only then deleted from the source one, so the failed move is repeated by the next
+ * call and the organization is never lost, but it may be seen twice while it is being moved.
+ * The organizations with the same name in the source and the target shards stop the move with the error -
+ * the service looks the name up in every shard, so it is not expected.
+ *
+ * @project restful-test-instances
+ * @created 21.10.2026 12:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class ShardRebalancer {
+
+    /**
+     * The max value of the identifier sequences - the bigger identifiers are generated by the application.
+     */
+    static long SEQUENCE_MAX_VALUE = 281474976710655L;
+
+    static String SELECT_MISPLACED_UIDS = "SELECT uid FROM organization WHERE uid > ? AND mod(uid, ?) <> ? "
+            + "ORDER BY uid LIMIT ?";
+
+    static String SELECT_ORGANIZATIONS = "SELECT uid, name, inn, kpp, address FROM organization WHERE uid = ANY(?)";
+
+    static String SELECT_EMPLOYS = "SELECT employ_uid, full_name, organization_uid, position_uid FROM employ "
+            + "WHERE organization_uid = ANY(?)";
+
+    static String SELECT_POSITIONS = "SELECT position_uid, name, code FROM position WHERE position_uid IN ("
+            + "SELECT position_uid FROM employ WHERE organization_uid = ANY(?))";
+
+    static String INSERT_POSITION = "INSERT INTO position (position_uid, name, code) VALUES (?, ?, ?) "
+            + "ON CONFLICT (position_uid) DO NOTHING";
+
+    static String INSERT_ORGANIZATION = "INSERT INTO organization (uid, name, inn, kpp, address) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (uid) DO NOTHING";
+
+    /*
+     * Без столбцов конфликта - первичный ключ секционированной таблицы сотрудников включает organization_uid
+     */
+    static String INSERT_EMPLOY = "INSERT INTO employ (employ_uid, full_name, organization_uid, position_uid) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    static String DELETE_EMPLOYS = "DELETE FROM employ WHERE organization_uid = ANY(?)";
+
+    static String DELETE_ORGANIZATIONS = "DELETE FROM organization WHERE uid = ANY(?)";
+
+    static String COUNT_ORGANIZATIONS = "SELECT count(*) FROM organization";
+
+    static String COUNT_MISPLACED_ORGANIZATIONS = "SELECT count(*) FROM organization WHERE mod(uid, ?) <> ?";
+
+    static String SELECT_SEQUENCE_INCREMENT = "SELECT CAST(increment AS bigint) FROM information_schema.sequences "
+            + "WHERE sequence_name = ?";
+
+    static String SELECT_MAX_IDENTIFIER = "SELECT GREATEST("
+            + "(SELECT max(%2$s) FROM %1$s WHERE %2$s <= " + SEQUENCE_MAX_VALUE + "), "
+            + "(SELECT last_value FROM %3$s))";
+
+    static String ALTER_SEQUENCE_INCREMENT = "ALTER SEQUENCE %s INCREMENT BY %d";
+
+    /*
+     * Следующее значение не меньше заданного и последнего выданного, с остатком от деления на шаг - номером шарда
+     */
+    static String SET_SEQUENCE_VALUE = "SELECT setval('%1$s', next_value "
+            + "+ mod(mod(? - next_value, ?) + ?, ?), false) "
+            + "FROM (SELECT GREATEST(?, last_value + 1) AS next_value FROM %1$s) AS current_sequence";
+
+    List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+
+    List<TransactionTemplate> transactionTemplates = new ArrayList<>();
+
+    int chunkSize;
+
+    /**
+     * Instantiates a new Shard rebalancer.
+     *
+     * @param shards    the shards in the order of their numbers
+     * @param chunkSize the count of the organizations moved in one transaction
+     */
+    public ShardRebalancer(List<DataSource> shards, int chunkSize) {
+        for (DataSource shard : shards) {
+            this.jdbcTemplates.add(new JdbcTemplate(shard));
+            this.transactionTemplates.add(new TransactionTemplate(new DataSourceTransactionManager(shard)));
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Count the organizations of every shard.
+     *
+     * @return the organizations count and the count of the organizations out of their shard by the shard numbers
+     */
+    public Map<Integer, Map<String, Long>> count() {
+        Map<Integer, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (int shard = 0; shard < this.jdbcTemplates.size(); shard++) {
+            Map<String, Long> shardCounts = new LinkedHashMap<>();
+            shardCounts.put("organizations", this.jdbcTemplates.get(shard).queryForObject(
+                    COUNT_ORGANIZATIONS,
+                    Long.class
+            ));
+            shardCounts.put("misplaced", this.jdbcTemplates.get(shard).queryForObject(
+                    COUNT_MISPLACED_ORGANIZATIONS,
+                    Long.class,
+                    this.jdbcTemplates.size(),
+                    shard
+            ));
+            counts.put(shard, shardCounts);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Move every organization which is out of its shard into its shard.
+     *
+     * @return the count of the moved organizations
+     */
+    public long rebalance() {
+        log.info("Переносим организации по шардам - {}", this.jdbcTemplates.size());
+
+        long moved = 0;
+        for (int source = 0; source < this.jdbcTemplates.size(); source++) {
+            long after = 0;
+            List<Long> uids;
+            while (!(uids = this.jdbcTemplates.get(source).queryForList(
+                    SELECT_MISPLACED_UIDS,
+                    Long.class,
+                    after,
+                    this.jdbcTemplates.size(),
+                    source,
+                    this.chunkSize
+            )).isEmpty()) {
+                this.move(source, uids);
+                moved += uids.size();
+                after = uids.get(uids.size() - 1);
+                log.info("Перенесли организаций из шарда {} - {}", source, moved);
+            }
+        }
+        this.alignSequences();
+        log.info("Перенесли организаций - {}", moved);
+
+        return moved;
+    }
+
+    /**
+     * Step the identifier sequences of every shard by the shards count, if any of them is not stepped so.
+     */
+    public void alignSequences() {
+        this.alignSequence("organization_uid_seq", "organization", "uid");
+        this.alignSequence("employ_employ_uid_seq", "employ", "employ_uid");
+    }
+
+    private void move(int source, List<Long> uids) {
+        JdbcTemplate sourceTemplate = this.jdbcTemplates.get(source);
+        List<Map<String, Object>> organizations = this.queryByUids(sourceTemplate, SELECT_ORGANIZATIONS, uids);
+        List<Map<String, Object>> employs = this.queryByUids(sourceTemplate, SELECT_EMPLOYS, uids);
+        List<Map<String, Object>> positions = this.queryByUids(sourceTemplate, SELECT_POSITIONS, uids);
+
+        Map<Integer, List<Map<String, Object>>> organizationsByShard = new LinkedHashMap<>();
+        for (Map<String, Object> organization : organizations) {
+            organizationsByShard.computeIfAbsent(this.shardOf(organization.get("uid")), shard -> new ArrayList<>())
+                    .add(organization);
+        }
+        Map<Integer, List<Map<String, Object>>> employsByShard = new LinkedHashMap<>();
+        for (Map<String, Object> employ : employs) {
+            employsByShard.computeIfAbsent(this.shardOf(employ.get("organization_uid")), shard -> new ArrayList<>())
+                    .add(employ);
+        }
+
+        /*
+         * Сначала вставляем в целевой шард, потом удаляем из исходного - прерванный перенос повторяется без потерь
+         */
+        organizationsByShard.forEach((target, targetOrganizations) -> this.transactionTemplates.get(target)
+                .execute(status -> {
+                    JdbcTemplate targetTemplate = this.jdbcTemplates.get(target);
+                    this.insertAll(targetTemplate, INSERT_POSITION, positions, "position_uid", "name", "code");
+                    this.insertAll(
+                            targetTemplate,
+                            INSERT_ORGANIZATION,
+                            targetOrganizations,
+                            "uid",
+                            "name",
+                            "inn",
+                            "kpp",
+                            "address"
+                    );
+                    this.insertAll(
+                            targetTemplate,
+                            INSERT_EMPLOY,
+                            employsByShard.getOrDefault(target, new ArrayList<>()),
+                            "employ_uid",
+                            "full_name",
+                            "organization_uid",
+                            "position_uid"
+                    );
+
+                    return null;
+                }));
+        this.transactionTemplates.get(source).execute(status -> {
+            this.updateByUids(sourceTemplate, DELETE_EMPLOYS, uids);
+            this.updateByUids(sourceTemplate, DELETE_ORGANIZATIONS, uids);
+
+            return null;
+        });
+    }
+
+    /*
+     * Продолжаем выше наибольшего идентификатора всех шардов, в том числе уже выданного последовательностью
+     */
+    private void alignSequence(String sequence, String table, String column) {
+        int shardsCount = this.jdbcTemplates.size();
+        boolean isAligned = true;
+        long maxIdentifier = 0;
+        for (int shard = 0; shard < shardsCount; shard++) {
+            JdbcTemplate shardTemplate = this.jdbcTemplates.get(shard);
+            Long increment = shardTemplate.queryForObject(SELECT_SEQUENCE_INCREMENT, Long.class, sequence);
+            Long lastValue = shardTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+            isAligned &= increment != null
+                    && increment == shardsCount
+                    && lastValue != null
+                    && Math.floorMod(lastValue, (long) shardsCount) == shard;
+
+            Long shardMaxIdentifier = shardTemplate.queryForObject(
+                    String.format(SELECT_MAX_IDENTIFIER, table, column, sequence),
+                    Long.class
+            );
+            if (shardMaxIdentifier != null) maxIdentifier = Math.max(maxIdentifier, shardMaxIdentifier);
+        }
+        if (isAligned) return;
+
+        for (int shard = 0; shard < shardsCount; shard++) {
+            JdbcTemplate shardTemplate = this.jdbcTemplates.get(shard);
+            long minStart = maxIdentifier + 1;
+            long target = shard;
+            /*
+             * С PostgreSQL 10 ALTER SEQUENCE блокирует nextval до конца транзакции - значение не уйдет назад
+             */
+            Long start = this.transactionTemplates.get(shard).execute(status -> {
+                shardTemplate.execute(String.format(ALTER_SEQUENCE_INCREMENT, sequence, shardsCount));
+
+                return shardTemplate.queryForObject(
+                        String.format(SET_SEQUENCE_VALUE, sequence),
+                        Long.class,
+                        target,
+                        shardsCount,
+                        shardsCount,
+                        shardsCount,
+                        minStart
+                );
+            });
+            log.info(
+                    "Последовательность {} шарда {} продолжается с {} с шагом {}",
+                    sequence,
+                    shard,
+                    start,
+                    shardsCount
+            );
+        }
+    }
+
+    private int shardOf(Object uid) {
+        return (int) Math.floorMod(((Number) uid).longValue(), (long) this.jdbcTemplates.size());
+    }
+
+    private List<Map<String, Object>> queryByUids(JdbcTemplate jdbcTemplate, String sql, List<Long> uids) {
+        return jdbcTemplate.query(
+                sql,
+                preparedStatement -> preparedStatement.setArray(
+                        1,
+                        createArray(preparedStatement.getConnection(), uids)
+                ),
+                new ColumnMapRowMapper()
+        );
+    }
+
+    private void updateByUids(JdbcTemplate jdbcTemplate, String sql, List<Long> uids) {
+        jdbcTemplate.update(
+                sql,
+                preparedStatement -> preparedStatement.setArray(1, createArray(preparedStatement.getConnection(), uids))
+        );
+    }
+
+    private void insertAll(JdbcTemplate jdbcTemplate, String sql, List<Map<String, Object>> rows, String... columns) {
+        if (rows.isEmpty()) return;
+
+        List<Object[]> arguments = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = row.get(columns[i]);
+            }
+            arguments.add(values);
+        }
+        jdbcTemplate.batchUpdate(sql, arguments);
+    }
+
+    private static Array createArray(Connection connection, List<Long> uids) throws SQLException {
+        return connection.createArrayOf("bigint", uids.toArray());
+    }
+}
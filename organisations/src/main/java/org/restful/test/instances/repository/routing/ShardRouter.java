@@ -0,0 +1,245 @@
+package org.restful.test.instances.repository.routing;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * The router of the organizations and their employees between the shards.
+ * <p>
+ * The organization lives in the shard {@code uid % shards count}: the identifier sequences of the shard
+ * are stepped by the shards count from the shard number, so the uid generated in the shard routes back into it.
+ * This is the only placement of the existing organization. The name hash only picks the shard which allocates
+ * the uid of the new organization, so the concurrent creations of one new name meet in one unique index;
+ * the organization of an existing name is looked up in every shard, because after the shards count
+ * changes it stays in the shard of its uid. The selections which are not bound to one uid are fanned out
+ * to every shard in parallel, each shard in its own thread and so in its own transaction.
+ * <p>
+ * Without {@code organisations.datasource.shards.enabled} there is the one shard, and everything
+ * runs in the calling thread.
+ *
+ * @project restful-test-instances
+ * @created 21.10.2026 10:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@Component
+public class ShardRouter implements AutoCloseable {
+
+    int shardsCount;
+
+    List<String> urls;
+
+    ExecutorService executor;
+
+    /**
+     * Instantiates a new Shard router.
+     *
+     * @param isEnabled is sharding enabled
+     * @param urls      the shard urls
+     */
+    public ShardRouter(@Value("${organisations.datasource.shards.enabled:false}") boolean isEnabled,
+                       @Value("${organisations.datasource.shards.urls:}") String[] urls) {
+        this.shardsCount = isEnabled ? countUrls(urls) : 1;
+        this.urls = isEnabled ? trimUrls(urls) : Collections.emptyList();
+        if (this.shardsCount == 1) {
+            this.executor = null;
+
+            return;
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        log.info("Организации распределены по шардам - {}", this.shardsCount);
+    }
+
+    public int getShardsCount() {
+        return this.shardsCount;
+    }
+
+    /**
+     * Get the shard urls in the order of the shards.
+     *
+     * @return the shard urls, empty without sharding
+     */
+    public List<String> getUrls() {
+        return this.urls;
+    }
+
+    /**
+     * Get the shard of the organization.
+     *
+     * @param uid the organization uid
+     * @return the shard number
+     */
+    public int shardOf(long uid) {
+        return (int) Math.floorMod(uid, (long) this.shardsCount);
+    }
+
+    /**
+     * Get the shard which allocates the uid of the new organization.
+     * The organization of an existing name must be looked up in every shard instead.
+     *
+     * @param name the organization name
+     * @return the shard number
+     */
+    public int shardOfNew(String name) {
+        return Math.floorMod(Objects.hashCode(name), this.shardsCount);
+    }
+
+    /**
+     * Group the keys by their shards.
+     *
+     * @param <K>     the key type
+     * @param keys    the keys
+     * @param shardOf the shard of the key
+     * @return the keys by the shard numbers
+     */
+    public <K> Map<Integer, List<K>> groupByShard(Collection<K> keys, ToIntFunction<K> shardOf) {
+        if (this.shardsCount == 1) return Collections.singletonMap(0, new ArrayList<>(keys));
+
+        Map<Integer, List<K>> keysByShard = new LinkedHashMap<>();
+        for (K key : keys) {
+            keysByShard.computeIfAbsent(shardOf.applyAsInt(key), shard -> new ArrayList<>()).add(key);
+        }
+
+        return keysByShard;
+    }
+
+    /**
+     * Call the callback in the shard in the current thread.
+     *
+     * @param <T>      the result type
+     * @param <E>      the exception type
+     * @param shard    the shard number
+     * @param callback the callback
+     * @return the result
+     * @throws E the exception of the callback
+     */
+    public <T, E extends Exception> T inShard(int shard, ShardCallback<T, E> callback) throws E {
+        try (RoutingContext.Scope scope = ShardContext.use(shard)) {
+            return callback.doInShard(shard);
+        }
+    }
+
+    /**
+     * Call the callback in every shard in parallel and wait for all of them.
+     *
+     * @param <T>      the result type
+     * @param <E>      the exception type
+     * @param callback the callback
+     * @return the results in the order of the shards
+     * @throws E the first exception of the callback
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> List<T> fanOut(ShardCallback<T, E> callback) throws E {
+        if (this.shardsCount == 1) return Collections.singletonList(this.inShard(0, callback));
+
+        List<CompletableFuture<T>> results = new ArrayList<>(this.shardsCount);
+        for (int shard = 0; shard < this.shardsCount; shard++) {
+            int target = shard;
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return this.inShard(target, callback);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, this.executor));
+        }
+
+        /*
+         * Ждем все шарды, даже если один уже упал, - иначе его ошибка опередит чужие транзакции
+         */
+        List<T> values = new ArrayList<>(this.shardsCount);
+        Throwable failure = null;
+        for (CompletableFuture<T> result : results) {
+            try {
+                values.add(result.join());
+            } catch (CompletionException e) {
+                if (failure == null) failure = e.getCause() == null ? e : e.getCause();
+            }
+        }
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw (E) failure;
+
+        return values;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (this.executor == null) return;
+
+        this.executor.shutdown();
+        this.executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static List<String> trimUrls(String[] urls) {
+        List<String> trimmedUrls = new ArrayList<>();
+        for (String url : urls) {
+            if (!url.trim().isEmpty()) trimmedUrls.add(url.trim());
+        }
+
+        return Collections.unmodifiableList(trimmedUrls);
+    }
+
+    private static int countUrls(String[] urls) {
+        int count = 0;
+        for (String url : urls) {
+            if (!url.trim().isEmpty()) count++;
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Адреса шардов не заданы - organisations.datasource.shards.urls");
+        }
+
+        return count;
+    }
+
+    /**
+     * The callback in the shard.
+     *
+     * @param <T> the result type
+     * @param <E> the exception type
+     */
+    @FunctionalInterface
+    public interface ShardCallback<T, E extends Exception> {
+
+        /**
+         * Do in the shard.
+         *
+         * @param shard the shard number
+         * @return the result
+         * @throws E the exception
+         */
+        T doInShard(int shard) throws E;
+    }
+}
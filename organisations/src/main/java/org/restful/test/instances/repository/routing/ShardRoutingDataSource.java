@@ -0,0 +1,89 @@
+package org.restful.test.instances.repository.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The data source which serves the connections from the shard of {@link ShardContext}.
+ * <p>
+ * The shard has to be known before the first statement of the transaction, so the data source has to be wrapped
+ * into {@code LazyConnectionDataSourceProxy} - the JPA transaction takes the connection on begin.
+ * The connections are counted in {@code datasource.shards.connections} by the shard.
+ *
+ * @project restful-test-instances
+ * @created 21.10.2026 10:20
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class ShardRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    List<DataSource> shards;
+
+    List<Counter> connections = new ArrayList<>();
+
+    /**
+     * Instantiates a new Shard routing data source.
+     *
+     * @param shards        the shards in the order of their numbers
+     * @param meterRegistry the meter registry
+     */
+    public ShardRoutingDataSource(List<DataSource> shards, MeterRegistry meterRegistry) {
+        if (shards.isEmpty()) throw new IllegalArgumentException("Должен быть задан хотя бы один шард");
+
+        this.shards = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards.size(); shard++) {
+            this.connections.add(Counter.builder("datasource.shards.connections")
+                    .tag("shard", String.valueOf(shard))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.determineTarget().getConnection(username, password);
+    }
+
+    public List<DataSource> getShards() {
+        return Collections.unmodifiableList(this.shards);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : this.shards) {
+            if (shard instanceof AutoCloseable) ((AutoCloseable) shard).close();
+        }
+    }
+
+    private DataSource determineTarget() {
+        int shard = ShardContext.getCurrentShard();
+        if (shard >= this.shards.size()) {
+            throw new IllegalStateException(String.format(
+                    "Шарда %d нет, всего шардов - %d",
+                    shard,
+                    this.shards.size()
+            ));
+        }
+        this.connections.get(shard).increment();
+
+        return this.shards.get(shard);
+    }
+}
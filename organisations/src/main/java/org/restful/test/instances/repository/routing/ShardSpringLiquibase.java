@@ -0,0 +1,47 @@
+package org.restful.test.instances.repository.routing;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The migration of every shard by the same change log - the shards have the same schema.
+ * <p>
+ * It is the {@link SpringLiquibase} itself, so Spring Boot does not migrate the routing data source once more
+ * and the entity manager factory waits for the migration of all shards.
+ *
+ * @project restful-test-instances
+ * @created 21.10.2026 11:40
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class ShardSpringLiquibase extends SpringLiquibase {
+
+    List<DataSource> shards;
+
+    /**
+     * Instantiates a new Shard spring liquibase.
+     *
+     * @param shards the shards in the order of their numbers
+     */
+    public ShardSpringLiquibase(List<DataSource> shards) {
+        this.shards = new ArrayList<>(shards);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        for (DataSource shard : this.shards) {
+            this.setDataSource(shard);
+            super.afterPropertiesSet();
+        }
+    }
+}
@@ -7,9 +7,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.restful.test.instances.model.detail.EmployDetail;
 import org.restful.test.instances.model.entity.Employ;
 import org.restful.test.instances.repository.EmployRepository;
+import org.restful.test.instances.repository.routing.ShardRouter;
 import org.restful.test.instances.service.mapping.CustomModelMapper;
-import org.restful.test.instances.service.mapping.SimpleModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.List;
 
 import static org.hibernate.validator.internal.util.Contracts.*;
 
@@ -32,6 +36,10 @@ public class EmployService {
 
     CustomModelMapper modelMapper;
 
+    ShardRouter shardRouter;
+
+    TransactionTemplate readOnlyTransactionTemplate;
+
     public EmployDetail create(EmployDetail createEmployRequest) throws CustomModelMapper.MappingException {
         log.info("Получили запрос на создание сотрудника - {}", createEmployRequest);
 
@@ -39,7 +47,14 @@ public class EmployService {
         Employ employ = this.modelMapper.map(createEmployRequest, new Employ());
         log.info("Создали сущность сотрудника - {}", employ);
 
-        employ = this.employRepository.save(employ);
+        /*
+         * Сотрудник живет в шарде своей организации - внешний ключ проверяется в пределах одной БД
+         */
+        Employ unsavedEmploy = employ;
+        employ = this.shardRouter.inShard(
+                this.shardOf(employ.getOrganizationUid()),
+                shard -> this.employRepository.save(unsavedEmploy)
+        );
         assertNotNull(employ.getEmployUid(), "Не получилось сохранить сотрудника организации");
 
         EmployDetail createEmoployResponse = this.modelMapper.map(employ, new EmployDetail());
@@ -47,4 +62,51 @@ public class EmployService {
 
         return createEmoployResponse;
     }
+
+    public List<EmployDetail> find(Long organizationUid) throws CustomModelMapper.MappingException {
+        log.info("Получили запрос на выборку сотрудников организации - {}", organizationUid);
+
+        assertNotNull(organizationUid, "Идентификатор организации не может быть null");
+        List<Employ> employs = this.shardRouter.inShard(
+                this.shardOf(organizationUid),
+                shard -> this.readOnlyTransactionTemplate.execute(
+                        status -> this.employRepository.findAllByOrganizationUidOrderByEmployUid(organizationUid)
+                )
+        );
+
+        List<EmployDetail> findEmploysResponse = this.modelMapper.map(employs, EmployDetail.class);
+        log.info("Возвращаем ответ - {}", findEmploysResponse);
+
+        return findEmploysResponse;
+    }
+
+    public EmployDetail find(Long organizationUid, Long employUid) throws CustomModelMapper.MappingException {
+        log.info("Получили запрос на выборку сотрудника {} организации - {}", employUid, organizationUid);
+
+        assertNotNull(organizationUid, "Идентификатор организации не может быть null");
+        assertNotNull(employUid, "Идентификатор сотрудника не может быть null");
+        Employ employ = this.shardRouter.inShard(
+                this.shardOf(organizationUid),
+                shard -> this.readOnlyTransactionTemplate.execute(
+                        status -> this.employRepository.findByOrganizationUidAndEmployUid(organizationUid, employUid)
+                )
+        ).orElseThrow(() -> new EntityNotFoundException(String.format(
+                "Сотрудника с таким идентификатором - %d в организации %d не существует",
+                employUid,
+                organizationUid
+        )));
+
+        EmployDetail findEmployResponse = this.modelMapper.map(employ, new EmployDetail());
+        log.info("Возвращаем ответ - {}", findEmployResponse);
+
+        return findEmployResponse;
+    }
+
+    /*
+     * Сотрудник живет в шарде своей организации, а в шарде - в секции своей организации:
+     * выборки всегда идут по идентификатору организации
+     */
+    private int shardOf(Long organizationUid) {
+        return organizationUid == null ? 0 : this.shardRouter.shardOf(organizationUid);
+    }
 }
@@ -0,0 +1,147 @@
+package org.restful.test.instances.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.restful.test.instances.service.mapping.CustomModelMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The service of the organizations export.
+ * <p>
+ * The organizations are read by {@link OrganizationRepository#streamAll()} and written
+ * to the destination one by one as they are fetched, every consumed entity is detached,
+ * so the export of any size takes the constant memory.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 21:20
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@Service
+public class OrganizationExportService {
+
+    static int FLUSH_SIZE = Integer.parseInt(OrganizationRepository.STREAM_FETCH_SIZE);
+
+    static ObjectWriter CSV_WRITER = new CsvMapper()
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+            .writerFor(Organization.class)
+            .with(CsvSchema.builder()
+                    .addColumn("uid")
+                    .addColumn("name")
+                    .addColumn("inn")
+                    .addColumn("kpp")
+                    .addColumn("address")
+                    .build()
+                    .withHeader()
+            );
+
+    OrganizationRepository organizationRepository;
+
+    CustomModelMapper organizationModelMapper;
+
+    ObjectMapper objectMapper;
+
+    EntityManager entityManager;
+
+    ShardRouter shardRouter;
+
+    /**
+     * The export format.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+
+        NDJSON("application/x-ndjson"),
+
+        CSV("text/csv");
+
+        final String mediaType;
+
+        /**
+         * Gets the format by its name in any case.
+         *
+         * @param name the name
+         * @return the format
+         */
+        public static Format of(String name) {
+            return Arrays.stream(values())
+                    .filter(format -> format.name().equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(String.format(
+                            "Неизвестный формат выгрузки - %s, доступные форматы - %s",
+                            name,
+                            Arrays.toString(values())
+                    )));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream destination)
+            throws IOException, CustomModelMapper.MappingException {
+        log.info("Выгружаем организации в формате - {}", format);
+        assertTrue(
+                this.shardRouter.getShardsCount() == 1,
+                "Выгрузка доступна только с одним шардом - выбирайте организации по страницам"
+        );
+
+        long count = 0;
+        try (Stream<Organization> organizations = this.organizationRepository.streamAll();
+             SequenceWriter csvWriter = format == Format.CSV ? CSV_WRITER.writeValues(destination) : null) {
+            Iterator<Organization> iterator = organizations.iterator();
+            while (iterator.hasNext()) {
+                Organization organization = iterator.next();
+                if (csvWriter != null) {
+                    csvWriter.write(organization);
+                } else {
+                    destination.write(this.objectMapper.writeValueAsBytes(
+                            this.organizationModelMapper.map(organization, new OrganizationDetail())
+                    ));
+                    destination.write('\n');
+                }
+                this.entityManager.detach(organization);
+
+                /*
+                 * Первую строку отдаем сразу, дальше - по строкам одной выборки курсора
+                 */
+                if (++count == 1 || count % FLUSH_SIZE == 0) {
+                    if (csvWriter != null) csvWriter.flush();
+                    destination.flush();
+                    log.debug("Выгрузили организаций - {}", count);
+                }
+            }
+            if (csvWriter != null) csvWriter.flush();
+        }
+        destination.flush();
+        log.info("Выгрузили все организации - {}", count);
+    }
+}
@@ -0,0 +1,206 @@
+package org.restful.test.instances.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.model.detail.OrganizationImportDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.restful.test.instances.service.cache.OrganizationResultCache;
+import org.restful.test.instances.service.cache.OrganizationUidFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The service of the organizations import from CSV.
+ * <p>
+ * The CSV is read row by row, the rows are checked as the organizations
+ * and the valid ones are streamed straight into {@code COPY} of
+ * {@link OrganizationJdbcRepository#importAll(Iterator, int, java.util.function.LongConsumer)}, so the import
+ * of any size takes the constant memory. The import runs in one transaction - under autocommit PgJDBC would
+ * ignore the fetch size and buffer the whole merge result. The uids of the inserted organizations go
+ * to {@link OrganizationUidFilter}. The progress of the running import is exposed by the gauges
+ * {@code organizations.import.rows} and {@code organizations.import.failed}.
+ * The CSV has the header, the columns are
+ * {@code name, inn, kpp, address}, the empty value is {@code null}.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 20:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@Service
+public class OrganizationImportService {
+
+    static ObjectReader CSV_READER = new CsvMapper()
+            .readerFor(new TypeReference<Map<String, String>>() {})
+            .with(CsvSchema.emptySchema().withHeader());
+
+    OrganizationJdbcRepository organizationJdbcRepository;
+
+    Validator validator;
+
+    OrganizationResultCache organizationResultCache;
+
+    OrganizationUidFilter organizationUidFilter;
+
+    ShardRouter shardRouter;
+
+    TransactionTemplate transactionTemplate;
+
+    /*
+     * Прогресс текущего (или последнего) импорта - прочитанные строки и не прошедшие проверку
+     */
+    AtomicLong readRows = new AtomicLong();
+
+    AtomicLong failedRows = new AtomicLong();
+
+    /*
+     * Количество строк в одном куске COPY и через сколько строк пишем прогресс
+     */
+    @NonFinal
+    @Value("${organisations.import.chunk-size:10000}")
+    int chunkSize;
+
+    /*
+     * Сколько ошибок строк возвращаем в ответе - остальные только считаем
+     */
+    @NonFinal
+    @Value("${organisations.import.max-errors:100}")
+    int maxErrors;
+
+    /**
+     * Instantiates a new Organization import service.
+     *
+     * @param organizationJdbcRepository the organization jdbc repository
+     * @param validator                  the validator
+     * @param organizationResultCache    the organization result cache
+     * @param organizationUidFilter      the organization uid filter
+     * @param shardRouter                the shard router
+     * @param transactionTemplate        the transaction template
+     * @param meterRegistry              the meter registry
+     */
+    public OrganizationImportService(OrganizationJdbcRepository organizationJdbcRepository,
+                                     Validator validator,
+                                     OrganizationResultCache organizationResultCache,
+                                     OrganizationUidFilter organizationUidFilter,
+                                     ShardRouter shardRouter,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.organizationJdbcRepository = organizationJdbcRepository;
+        this.validator = validator;
+        this.organizationResultCache = organizationResultCache;
+        this.organizationUidFilter = organizationUidFilter;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("organizations.import.rows", this.readRows, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("organizations.import.failed", this.failedRows, AtomicLong::get).register(meterRegistry);
+    }
+
+    public OrganizationImportDetail importCsv(InputStream source) throws IOException {
+        assertNotNull(source, "Источник CSV не может быть null");
+        assertTrue(
+                this.shardRouter.getShardsCount() == 1,
+                "Импорт доступен только с одним шардом - создайте организации пакетным запросом"
+        );
+        log.info("Получили запрос на импорт организаций из CSV");
+
+        OrganizationImportDetail importOrganizationsResponse = OrganizationImportDetail.builder()
+                .rows(0L)
+                .failed(0L)
+                .errors(new TreeMap<>())
+                .build();
+        this.readRows.set(0);
+        this.failedRows.set(0);
+        try (MappingIterator<Map<String, String>> rows = CSV_READER.readValues(source)) {
+            Iterator<Organization> organizations = StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED),
+                    false
+            )
+                    .map(row -> this.toOrganization(row, importOrganizationsResponse))
+                    .filter(Objects::nonNull)
+                    .iterator();
+
+            importOrganizationsResponse.setImported(this.transactionTemplate.execute(
+                    status -> this.organizationJdbcRepository.importAll(
+                            organizations,
+                            this.chunkSize,
+                            this.organizationUidFilter::add
+                    )
+            ));
+        }
+        if (importOrganizationsResponse.getImported() > 0) this.organizationResultCache.invalidate();
+        log.info(
+                "Возвращаем ответ - прочитано строк {}, импортировано {}, ошибок {}",
+                importOrganizationsResponse.getRows(),
+                importOrganizationsResponse.getImported(),
+                importOrganizationsResponse.getFailed()
+        );
+
+        return importOrganizationsResponse;
+    }
+
+    private Organization toOrganization(Map<String, String> row, OrganizationImportDetail importOrganizationsResponse) {
+        long line = importOrganizationsResponse.getRows() + 1;
+        importOrganizationsResponse.setRows(line);
+        this.readRows.set(line);
+        if (line % this.chunkSize == 0) {
+            log.info("Прочитали строк - {}, ошибок - {}", line, importOrganizationsResponse.getFailed());
+        }
+
+        Organization organization = Organization.builder()
+                .name(toValue(row.get("name")))
+                .inn(toValue(row.get("inn")))
+                .kpp(toValue(row.get("kpp")))
+                .address(toValue(row.get("address")))
+                .build();
+        Set<ConstraintViolation<Organization>> violations = this.validator.validate(organization);
+        if (violations.isEmpty()) return organization;
+
+        importOrganizationsResponse.setFailed(importOrganizationsResponse.getFailed() + 1);
+        this.failedRows.set(importOrganizationsResponse.getFailed());
+        if (importOrganizationsResponse.getErrors().size() < this.maxErrors) {
+            importOrganizationsResponse.getErrors().put(
+                    line,
+                    violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.toList())
+            );
+        }
+        log.debug("Строка {} не прошла проверку - {}", line, violations);
+
+        return null;
+    }
+
+    private static String toValue(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -1,21 +1,56 @@
 package org.restful.test.instances.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.model.detail.OrganizationBatchDetail;
+import org.restful.test.instances.model.detail.OrganizationDeleteDetail;
 import org.restful.test.instances.model.detail.OrganizationDetail;
 import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
 import org.restful.test.instances.repository.OrganizationRepository;
+import org.restful.test.instances.repository.routing.RoutingContext;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.restful.test.instances.service.cache.OrganizationResultCache;
+import org.restful.test.instances.service.cache.OrganizationUidFilter;
+import org.restful.test.instances.service.concurrent.MicroBatcher;
+import org.restful.test.instances.service.concurrent.SingleFlight;
 import org.restful.test.instances.service.mapping.CustomModelMapper;
-import org.restful.test.instances.service.mapping.SimpleModelMapper;
 import org.restful.test.instances.service.specification.CustomSpecificationBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Collections;
-import java.util.List;
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.Tuple;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
 
 
 /**
@@ -33,9 +68,112 @@ import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 @Service
 public class OrganizationService {
 
+    static Comparator<OrganizationDetail> BY_UID = Comparator.comparing(
+            (OrganizationDetail organization) -> organization.getUid().orElse(Long.MAX_VALUE)
+    );
+
     OrganizationRepository organizationRepository;
 
-    SimpleModelMapper organizationModelMapper;
+    OrganizationJdbcRepository organizationJdbcRepository;
+
+    CustomModelMapper organizationModelMapper;
+
+    Validator validator;
+
+    ObjectMapper objectMapper;
+
+    OrganizationResultCache organizationResultCache;
+
+    OrganizationUidFilter organizationUidFilter;
+
+    SingleFlight<OrganizationResultCache.Key, Slice<OrganizationDetail>> organizationFindFlight;
+
+    MicroBatcher<Long, OrganizationDetail> organizationByUidBatcher;
+
+    MicroBatcher<String, OrganizationDetail> organizationByNameBatcher;
+
+    ShardRouter shardRouter;
+
+    TransactionTemplate transactionTemplate;
+
+    TransactionTemplate readOnlyTransactionTemplate;
+
+    /*
+     * Максимальное количество организаций в одном пакетном запросе
+     */
+    @NonFinal
+    @Value("${organisations.batch.max-size:10000}")
+    int maxBatchSize;
+
+    /*
+     * Количество организаций в одном JDBC пакете вставки
+     */
+    @NonFinal
+    @Value("${organisations.batch.chunk-size:500}")
+    int batchChunkSize;
+
+    /*
+     * Выбирать организации заранее подготовленными SQL запросами через JDBC
+     */
+    @NonFinal
+    @Value("${organisations.find.precompiled:false}")
+    boolean isPrecompiledFindEnabled;
+
+    /*
+     * Обновлять организацию одним запросом UPDATE ... RETURNING через JDBC
+     */
+    @NonFinal
+    @Value("${organisations.update.returning:false}")
+    boolean isReturningUpdateEnabled;
+
+    /*
+     * Удалять организацию одним запросом DELETE ... WHERE uid = ? через JDBC
+     */
+    @NonFinal
+    @Value("${organisations.delete.direct:false}")
+    boolean isDirectDeleteEnabled;
+
+    /*
+     * Максимальный размер страницы выборки организаций
+     */
+    @NonFinal
+    @Value("${organisations.find.max-page-size:1000}")
+    int maxPageSize;
+
+    /*
+     * Кешировать страницы выборки организаций до следующего изменения таблицы
+     */
+    @NonFinal
+    @Value("${organisations.find.cache.enabled:false}")
+    boolean isFindCacheEnabled;
+
+    /*
+     * Одинаковые одновременные выборки организаций выполнять одним запросом к БД
+     */
+    @NonFinal
+    @Value("${organisations.find.coalesce.enabled:false}")
+    boolean isFindCoalesceEnabled;
+
+    /*
+     * С какого размера страницы отдаем выборку организаций потоком (0 - только по заголовку Accept)
+     */
+    @NonFinal
+    @Value("${organisations.find.stream.threshold:0}")
+    int streamThreshold;
+
+    /*
+     * Сколько строк курсора выбираем за раз при выборке потоком и через сколько отправляем их клиенту
+     */
+    @NonFinal
+    @Value("${organisations.find.stream.fetch-size:100}")
+    int streamFetchSize;
+
+    /*
+     * Минимальная длина подстроки поиска - по более коротким триграммный индекс не работает
+     */
+    @NonFinal
+    @Value("${organisations.find.search.min-length:3}")
+    int minSearchLength;
 
     public OrganizationDetail create(OrganizationDetail createOrganizationRequest)
             throws CustomModelMapper.MappingException {
@@ -45,8 +183,16 @@ public class OrganizationService {
         Organization organization = this.organizationModelMapper.map(createOrganizationRequest, new Organization());
         log.info("Создали сущность организации - {}", organization);
 
-        organization = this.organizationRepository.save(organization);
+        Organization unsavedOrganization = organization;
+        int shard = this.shardRouter.shardOfNew(organization.getName());
+        this.assertNameIsFree(organization.getName(), shard);
+        organization = this.shardRouter.inShard(
+                shard,
+                target -> this.organizationRepository.save(unsavedOrganization)
+        );
         assertNotNull(organization.getUid(), "Не получилось сохранить организацию");
+        this.organizationUidFilter.add(organization.getUid());
+        this.organizationResultCache.invalidate();
 
         OrganizationDetail createOrganizationResponse = this.organizationModelMapper.map(
                 organization,
@@ -57,6 +203,279 @@ public class OrganizationService {
         return createOrganizationResponse;
     }
 
+    public OrganizationBatchDetail createAll(List<OrganizationDetail> createOrganizationRequests)
+            throws CustomModelMapper.MappingException {
+        assertNotNull(createOrganizationRequests, "Организации не могут быть null");
+        log.info("Получили запрос на пакетное создание сущностей - {}", createOrganizationRequests.size());
+
+        assertTrue(
+                createOrganizationRequests.size() <= this.maxBatchSize,
+                String.format(
+                        "В одном запросе можно создать не больше %d организаций - %d",
+                        this.maxBatchSize,
+                        createOrganizationRequests.size()
+                )
+        );
+
+        Map<Integer, List<String>> errors = new TreeMap<>();
+        Map<String, Integer> indexesByName = new HashMap<>();
+        List<Organization> organizations = this.validateAll(createOrganizationRequests, errors, indexesByName);
+
+        for (String name : this.findShardsOfNames(indexesByName.keySet()).keySet()) {
+            int index = indexesByName.get(name);
+            errors.put(index, Collections.singletonList(String.format(
+                    "Организация с таким наименованием уже существует - %s",
+                    name
+            )));
+            organizations.set(index, null);
+        }
+        log.info("Проверили организации, не прошли проверку - {}", errors.size());
+
+        List<Organization> validOrganizations = organizations.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<Integer, List<Organization>> organizationsByShard = this.groupByShard(
+                validOrganizations,
+                Collections.emptyMap()
+        );
+        Map<String, Long> uidsByName = new HashMap<>();
+        for (Map<String, Long> shardUidsByName : this.shardRouter.fanOut(shard -> this.insertShard(
+                organizationsByShard.getOrDefault(shard, Collections.emptyList())
+        ))) {
+            uidsByName.putAll(shardUidsByName);
+        }
+        this.organizationResultCache.invalidate();
+
+        List<Long> createdUids = new ArrayList<>(organizations.size());
+        for (Organization organization : organizations) {
+            createdUids.add(organization == null ? null : uidsByName.get(organization.getName()));
+        }
+        this.organizationUidFilter.addAll(createdUids);
+
+        OrganizationBatchDetail createOrganizationsResponse = OrganizationBatchDetail.builder()
+                .uids(createdUids)
+                .errors(errors)
+                .build();
+        log.info("Возвращаем ответ - создано {}, ошибок {}", validOrganizations.size(), errors.size());
+
+        return createOrganizationsResponse;
+    }
+
+    public OrganizationDetail upsert(String name, OrganizationDetail upsertOrganizationRequest)
+            throws CustomModelMapper.MappingException {
+        log.info(
+                "Получили запрос на создание или обновление сущности - {}\n с наименованием - {}",
+                upsertOrganizationRequest,
+                name
+        );
+
+        assertNotNull(upsertOrganizationRequest, "Организация не может быть null");
+        Organization organization = this.organizationModelMapper.map(upsertOrganizationRequest, new Organization());
+        organization.setUid(null);
+        organization.setName(name);
+        Set<ConstraintViolation<Organization>> violations = this.validator.validate(organization);
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+
+        OrganizationDetail upsertOrganizationResponse = this.shardRouter.inShard(
+                this.shardOfName(name, this.findShardsOfUpsertedNames(Collections.singletonList(name))),
+                shard -> this.organizationJdbcRepository.upsertAll(
+                        Collections.singletonList(organization),
+                        1,
+                        this.organizationUidFilter::add
+                )
+        )
+                .get(0);
+        this.organizationResultCache.invalidate();
+        log.info("Возвращаем ответ - {}", upsertOrganizationResponse);
+
+        return upsertOrganizationResponse;
+    }
+
+    public OrganizationBatchDetail upsertAll(List<OrganizationDetail> upsertOrganizationRequests)
+            throws CustomModelMapper.MappingException {
+        assertNotNull(upsertOrganizationRequests, "Организации не могут быть null");
+        log.info(
+                "Получили запрос на пакетное создание или обновление сущностей - {}",
+                upsertOrganizationRequests.size()
+        );
+
+        assertTrue(
+                upsertOrganizationRequests.size() <= this.maxBatchSize,
+                String.format(
+                        "В одном запросе можно создать или обновить не больше %d организаций - %d",
+                        this.maxBatchSize,
+                        upsertOrganizationRequests.size()
+                )
+        );
+
+        Map<Integer, List<String>> errors = new TreeMap<>();
+        List<Organization> organizations = this.validateAll(upsertOrganizationRequests, errors, new HashMap<>());
+        log.info("Проверили организации, не прошли проверку - {}", errors.size());
+
+        List<Organization> validOrganizations = organizations.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<Integer, List<Organization>> organizationsByShard = this.groupByShard(
+                validOrganizations,
+                this.findShardsOfUpsertedNames(validOrganizations.stream()
+                        .map(Organization::getName)
+                        .collect(Collectors.toList())
+                )
+        );
+        Map<String, Long> uidsByName = new HashMap<>();
+        for (List<OrganizationDetail> shardOrganizations : this.shardRouter.fanOut(shard -> this.upsertShard(
+                organizationsByShard.getOrDefault(shard, Collections.emptyList())
+        ))) {
+            for (OrganizationDetail organization : shardOrganizations) {
+                uidsByName.put(organization.getName().orElse(null), organization.getUid().orElse(null));
+            }
+        }
+        this.organizationResultCache.invalidate();
+
+        List<Long> upsertedUids = new ArrayList<>(organizations.size());
+        for (Organization organization : organizations) {
+            upsertedUids.add(organization == null ? null : uidsByName.get(organization.getName()));
+        }
+
+        OrganizationBatchDetail upsertOrganizationsResponse = OrganizationBatchDetail.builder()
+                .uids(upsertedUids)
+                .errors(errors)
+                .build();
+        log.info(
+                "Возвращаем ответ - создано или обновлено {}, ошибок {}",
+                validOrganizations.size(),
+                errors.size()
+        );
+
+        return upsertOrganizationsResponse;
+    }
+
+    private Map<Integer, List<Organization>> groupByShard(List<Organization> organizations,
+                                                         Map<String, Integer> shardsByName) {
+        return this.shardRouter.groupByShard(
+                organizations,
+                organization -> this.shardOfName(organization.getName(), shardsByName)
+        );
+    }
+
+    /*
+     * Существующая организация живет в шарде своего uid, новая - получает uid в шарде своего наименования
+     */
+    private int shardOfName(String name, Map<String, Integer> shardsByName) {
+        Integer shard = shardsByName.get(name);
+
+        return shard == null ? this.shardRouter.shardOfNew(name) : shard;
+    }
+
+    /*
+     * После изменения количества шардов организации остаются в шардах своих uid, а не своих наименований, -
+     * наименование ищем во всех шардах
+     */
+    private Map<String, Integer> findShardsOfNames(Collection<String> names) {
+        Map<String, Integer> shardsByName = new HashMap<>();
+        if (names.isEmpty()) return shardsByName;
+
+        List<String> namesList = new ArrayList<>(names);
+        List<List<String>> existingNames = this.shardRouter.fanOut(
+                shard -> this.organizationJdbcRepository.findExistingNames(namesList)
+        );
+        for (int shard = 0; shard < existingNames.size(); shard++) {
+            for (String name : existingNames.get(shard)) {
+                shardsByName.put(name, shard);
+            }
+        }
+
+        return shardsByName;
+    }
+
+    /*
+     * В единственном шарде наименование найдет сам upsert
+     */
+    private Map<String, Integer> findShardsOfUpsertedNames(Collection<String> names) {
+        return this.shardRouter.getShardsCount() == 1 ? Collections.emptyMap() : this.findShardsOfNames(names);
+    }
+
+    /*
+     * В своем шарде наименование стережет уникальный индекс, в остальных шардах проверяем его сами
+     */
+    private void assertNameIsFree(String name, int shard) {
+        if (this.shardRouter.getShardsCount() == 1 || name == null) return;
+
+        Integer existingShard = this.findShardsOfNames(Collections.singletonList(name)).get(name);
+        if (existingShard != null && existingShard != shard) {
+            throw new DataIntegrityViolationException(String.format(
+                    "Организация с таким наименованием уже существует в шарде %d - %s",
+                    existingShard,
+                    name
+            ));
+        }
+    }
+
+    /*
+     * Каждый шард вставляет свои организации в своей транзакции - пакет атомарен только в пределах шарда
+     */
+    private Map<String, Long> insertShard(List<Organization> organizations) {
+        if (organizations.isEmpty()) return Collections.emptyMap();
+
+        Iterator<Long> uids = this.transactionTemplate.execute(status -> this.organizationJdbcRepository.insertAll(
+                organizations,
+                this.batchChunkSize
+        ))
+                .iterator();
+        Map<String, Long> uidsByName = new HashMap<>();
+        for (Organization organization : organizations) {
+            uidsByName.put(organization.getName(), uids.next());
+        }
+
+        return uidsByName;
+    }
+
+    private List<OrganizationDetail> upsertShard(List<Organization> organizations) {
+        if (organizations.isEmpty()) return Collections.emptyList();
+
+        return this.transactionTemplate.execute(status -> this.organizationJdbcRepository.upsertAll(
+                organizations,
+                this.batchChunkSize,
+                this.organizationUidFilter::add
+        ));
+    }
+
+    /*
+     * Проверяем каждую организацию отдельно - ошибки одной не мешают сохранить остальные
+     */
+    private List<Organization> validateAll(List<OrganizationDetail> organizationRequests,
+                                           Map<Integer, List<String>> errors,
+                                           Map<String, Integer> indexesByName)
+            throws CustomModelMapper.MappingException {
+        List<Organization> organizations = new ArrayList<>(organizationRequests.size());
+        for (int i = 0; i < organizationRequests.size(); i++) {
+            OrganizationDetail organizationRequest = organizationRequests.get(i);
+            if (organizationRequest == null) {
+                errors.put(i, Collections.singletonList("Организация не может быть null"));
+                organizations.add(null);
+                continue;
+            }
+
+            Organization organization = this.organizationModelMapper.map(organizationRequest, new Organization());
+            organization.setUid(null);
+            List<String> messages = this.validator.validate(organization).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (messages.isEmpty() && indexesByName.putIfAbsent(organization.getName(), i) != null) {
+                messages = Collections.singletonList(String.format(
+                        "Наименование организации повторяется в запросе - %s",
+                        organization.getName()
+                ));
+            }
+
+            if (!messages.isEmpty()) errors.put(i, messages);
+            organizations.add(messages.isEmpty() ? organization : null);
+        }
+
+        return organizations;
+    }
+
     public OrganizationDetail update(Long uidOrganization, OrganizationDetail updateOrganizationRequest)
             throws CustomModelMapper.MappingException {
         log.info(
@@ -64,15 +483,31 @@ public class OrganizationService {
                 updateOrganizationRequest,
                 uidOrganization);
 
-        Organization organization = this.organizationRepository.findById(uidOrganization).orElse(null);
-        assertNotNull(
-                organization,
-                String.format("Организации с таким идентификатором - {} не существует", uidOrganization)
+        if (updateOrganizationRequest != null && updateOrganizationRequest.getName() != null) {
+            this.assertNameIsFree(updateOrganizationRequest.getName().orElse(null), this.shardOf(uidOrganization));
+        }
+
+        return this.shardRouter.inShard(
+                this.shardOf(uidOrganization),
+                shard -> this.inTransaction(
+                        this.transactionTemplate,
+                        () -> this.isReturningUpdateEnabled
+                                ? this.updateReturning(uidOrganization, updateOrganizationRequest)
+                                : this.updateEntity(uidOrganization, updateOrganizationRequest)
+                )
         );
+    }
+
+    private OrganizationDetail updateEntity(Long uidOrganization, OrganizationDetail updateOrganizationRequest)
+            throws CustomModelMapper.MappingException {
+        this.assertMightExist(uidOrganization);
+        Organization organization = this.organizationRepository.findById(uidOrganization)
+                .orElseThrow(() -> notFound(uidOrganization));
         log.info("Получили сущность организации - {}", organization);
 
         organization = this.organizationModelMapper.map(updateOrganizationRequest, organization);
         organizationRepository.save(organization);
+        this.organizationResultCache.invalidate();
 
         OrganizationDetail updateOrganizationResponse = this.organizationModelMapper.map(
                 organization,
@@ -83,17 +518,76 @@ public class OrganizationService {
         return updateOrganizationResponse;
     }
 
+    private OrganizationDetail updateReturning(Long uidOrganization, OrganizationDetail updateOrganizationRequest) {
+        assertNotNull(uidOrganization, "Идентификатор организации не может быть null");
+        assertNotNull(updateOrganizationRequest, "Организация не может быть null");
+
+        /*
+         * Сущность не загружается, поэтому проверяем только изменяемые свойства - так же, как их проверил бы save
+         */
+        Set<ConstraintViolation<?>> violations = new HashSet<>();
+        this.validateProperty(violations, "name", updateOrganizationRequest.getName());
+        this.validateProperty(violations, "inn", updateOrganizationRequest.getInn());
+        this.validateProperty(violations, "kpp", updateOrganizationRequest.getKpp());
+        this.validateProperty(violations, "address", updateOrganizationRequest.getAddress());
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+        this.assertMightExist(uidOrganization);
+
+        OrganizationDetail updateOrganizationResponse = this.organizationJdbcRepository
+                .update(uidOrganization, updateOrganizationRequest)
+                .orElseThrow(() -> notFound(uidOrganization));
+        this.organizationResultCache.invalidate();
+        log.info("Возвращаем ответ - {}", updateOrganizationResponse);
+
+        return updateOrganizationResponse;
+    }
+
+    private void validateProperty(Set<ConstraintViolation<?>> violations, String property, Optional<?> value) {
+        if (value == null) return;
+
+        violations.addAll(this.validator.validateValue(Organization.class, property, value.orElse(null)));
+    }
+
     public OrganizationDetail delete(Long uidOrganization) throws CustomModelMapper.MappingException {
         log.info("Получили запрос на удаление сущности с идентификатором - {}", uidOrganization);
 
-        Organization organization = this.organizationRepository.findById(uidOrganization).orElse(null);
-        assertNotNull(
-                organization,
-                String.format("Организации с таким идентификатором - {} не существует", uidOrganization)
+        return this.shardRouter.inShard(
+                this.shardOf(uidOrganization),
+                shard -> this.inTransaction(
+                        this.transactionTemplate,
+                        () -> this.isDirectDeleteEnabled
+                                ? this.deleteDirect(uidOrganization)
+                                : this.deleteEntity(uidOrganization)
+                )
         );
+    }
+
+    private OrganizationDetail deleteEntity(Long uidOrganization) {
+        this.assertMightExist(uidOrganization);
+        Organization organization = this.organizationRepository.findById(uidOrganization)
+                .orElseThrow(() -> notFound(uidOrganization));
         log.info("Получили сущность организации - {}", organization);
 
         organizationRepository.delete(organization);
+        this.organizationUidFilter.remove(uidOrganization);
+        this.organizationResultCache.invalidate();
+
+        OrganizationDetail deleteOrganizationResponse = new OrganizationDetail();
+        log.info("Возвращаем ответ - {}", deleteOrganizationResponse);
+
+        return deleteOrganizationResponse;
+    }
+
+    private OrganizationDetail deleteDirect(Long uidOrganization) {
+        assertNotNull(uidOrganization, "Идентификатор организации не может быть null");
+        this.assertMightExist(uidOrganization);
+
+        int deletedCount = this.organizationJdbcRepository.delete(uidOrganization);
+        log.info("Удалили организаций - {}", deletedCount);
+        if (deletedCount == 0) throw notFound(uidOrganization);
+
+        this.organizationUidFilter.remove(uidOrganization);
+        this.organizationResultCache.invalidate();
 
         OrganizationDetail deleteOrganizationResponse = new OrganizationDetail();
         log.info("Возвращаем ответ - {}", deleteOrganizationResponse);
@@ -101,39 +595,388 @@ public class OrganizationService {
         return deleteOrganizationResponse;
     }
 
-    public List<OrganizationDetail> find(List<Long> uid,
-                                   List<String> name,
-                                   List<String> inn,
-                                   List<String> kpp,
-                                   List<String> address) throws CustomModelMapper.MappingException {
+    public OrganizationDeleteDetail deleteAll(OrganizationFilter filter) {
+        log.info("Получили запрос на удаление сущностей по фильтру - {}", filter);
+
+        assertNotNull(filter, "Фильтр организаций не может быть null");
+        assertTrue(
+                filter.getShape() != 0,
+                "Фильтр удаления организаций должен быть задан - удалить все организации нельзя"
+        );
+        this.validateSearch(filter.getSearch());
+
+        int deletedCount = this.shardRouter.fanOut(shard -> this.transactionTemplate.execute(
+                status -> this.organizationJdbcRepository.deleteAll(filter)
+        ))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (deletedCount > 0) this.organizationResultCache.invalidate();
+
+        OrganizationDeleteDetail deleteOrganizationsResponse = OrganizationDeleteDetail.builder()
+                .count(deletedCount)
+                .build();
+        log.info("Возвращаем ответ - {}", deleteOrganizationsResponse);
+
+        return deleteOrganizationsResponse;
+    }
+
+    public OrganizationDetail find(Long uidOrganization) {
+        log.info("Получили запрос на выборку сущности с идентификатором - {}", uidOrganization);
+
+        assertNotNull(uidOrganization, "Идентификатор организации не может быть null");
+        this.assertMightExist(uidOrganization);
+
+        OrganizationDetail findOrganizationResponse = RoutingContext.isConstrained()
+                ? this.findOne(OrganizationFilter.builder().uid(Collections.singletonList(uidOrganization)).build())
+                : join(this.organizationByUidBatcher.load(uidOrganization));
+        if (findOrganizationResponse == null) throw notFound(uidOrganization);
+        log.info("Возвращаем ответ - {}", findOrganizationResponse);
+
+        return findOrganizationResponse;
+    }
+
+    public OrganizationDetail findByName(String name) {
+        log.info("Получили запрос на выборку сущности с наименованием - {}", name);
+
+        assertNotNull(name, "Наименование организации не может быть null");
+        OrganizationDetail findOrganizationResponse = RoutingContext.isConstrained()
+                ? this.findOne(OrganizationFilter.builder().name(Collections.singletonList(name)).build())
+                : join(this.organizationByNameBatcher.load(name));
+        if (findOrganizationResponse == null) {
+            throw new EntityNotFoundException(String.format(
+                    "Организации с таким наименованием - %s не существует",
+                    name
+            ));
+        }
+        log.info("Возвращаем ответ - {}", findOrganizationResponse);
+
+        return findOrganizationResponse;
+    }
+
+    /*
+     * Пакет выбирается в другом потоке без требований этого к репликам - такие выборки выполняем сами
+     */
+    private OrganizationDetail findOne(OrganizationFilter filter) {
+        return this.shardRouter.fanOut(shard -> this.readOnlyTransactionTemplate.execute(
+                status -> this.organizationJdbcRepository.findAll(filter)
+        ))
+                .stream()
+                .flatMap(List::stream)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /*
+     * Без идентификатора организации нет и шарда - ошибку null покажет сама операция
+     */
+    private int shardOf(Long uidOrganization) {
+        return uidOrganization == null ? 0 : this.shardRouter.shardOf(uidOrganization);
+    }
+
+    /*
+     * Организации, которой нет в фильтре идентификаторов, нет и в базе - в базу не ходим
+     */
+    private void assertMightExist(Long uidOrganization) {
+        if (!this.organizationUidFilter.mightExist(uidOrganization)) throw notFound(uidOrganization);
+    }
+
+    private static EntityNotFoundException notFound(Long uidOrganization) {
+        return new EntityNotFoundException(String.format(
+                "Организации с таким идентификатором - %d не существует",
+                uidOrganization
+        ));
+    }
+
+    /*
+     * Ошибку пакетной выборки пробрасываем как есть, без обертки CompletionException
+     */
+    private static <V> V join(CompletableFuture<V> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+
+            throw e;
+        }
+    }
+
+    public Slice<OrganizationDetail> find(OrganizationFilter filter, Long after, Integer limit)
+            throws CustomModelMapper.MappingException {
+        log.info(
+                "Получили запрос на выборку страницы сущностей:\nfilter - {}\nafter - {}\nlimit - {}",
+                filter,
+                after,
+                limit
+        );
+
+        this.validateFilter(filter);
+        int pageSize = this.getPageSize(limit);
+        if (!this.isFindCacheEnabled && !this.isFindCoalesceEnabled) return this.findPage(filter, after, pageSize);
+
+        /*
+         * Клиент, который должен прочитать свою запись, не может взять ни страницу из кеша, ни чужую выборку
+         */
+        if (RoutingContext.isConstrained()) return this.findPage(filter, after, pageSize);
+
+        /*
+         * Ключ создаем до выборки - страница, выбранная одновременно с изменением, попадет под старую версию,
+         * и запрос после изменения не присоединится к выборке, начатой до него
+         */
+        OrganizationResultCache.Key key = this.organizationResultCache.createKey(filter, after, pageSize);
+        if (!this.isFindCoalesceEnabled) return this.findCachedPage(key, filter, after, pageSize);
+
+        return this.organizationFindFlight.execute(key, () -> this.findCachedPage(key, filter, after, pageSize));
+    }
+
+    /*
+     * Внутри общей выборки кеш проверяем еще раз - предыдущая выборка могла положить страницу, пока ждали
+     */
+    private Slice<OrganizationDetail> findCachedPage(OrganizationResultCache.Key key,
+                                                     OrganizationFilter filter,
+                                                     Long after,
+                                                     int pageSize) throws CustomModelMapper.MappingException {
+        Slice<OrganizationDetail> findOrganizationResponse = this.isFindCacheEnabled
+                ? this.organizationResultCache.get(key)
+                : null;
+        if (findOrganizationResponse != null) {
+            log.info("Возвращаем ответ из кеша - {} организаций", findOrganizationResponse.getNumberOfElements());
+
+            return findOrganizationResponse;
+        }
+
+        if (!this.isFindCacheEnabled) return this.findPage(filter, after, pageSize);
+
+        /*
+         * Страницу из кеша получат все клиенты - выбираем ее из основной БД, реплика могла еще не получить изменение
+         */
+        try (RoutingContext.Scope scope = RoutingContext.requirePrimary()) {
+            findOrganizationResponse = this.findPage(filter, after, pageSize);
+        }
+        this.organizationResultCache.put(key, findOrganizationResponse);
+
+        return findOrganizationResponse;
+    }
+
+    /*
+     * Транзакцию открываем только на саму выборку - страница из кеша или общей выборки не занимает соединение
+     */
+    private Slice<OrganizationDetail> findPage(OrganizationFilter filter, Long after, int pageSize)
+            throws CustomModelMapper.MappingException {
+        List<Slice<OrganizationDetail>> pages = this.shardRouter.fanOut(shard -> this.inTransaction(
+                this.readOnlyTransactionTemplate,
+                () -> this.selectPage(filter, after, pageSize)
+        ));
+        if (pages.size() == 1) return pages.get(0);
+
+        /*
+         * Каждый шард отдал начало своей страницы по uid - общая страница это начало их слияния
+         */
+        List<OrganizationDetail> organizations = new ArrayList<>();
+        boolean hasNext = false;
+        for (Slice<OrganizationDetail> page : pages) {
+            organizations.addAll(page.getContent());
+            hasNext |= page.hasNext();
+        }
+        organizations.sort(BY_UID);
+        hasNext |= organizations.size() > pageSize;
+        Slice<OrganizationDetail> findOrganizationResponse = new SliceImpl<>(
+                organizations.size() > pageSize ? organizations.subList(0, pageSize) : organizations,
+                PageRequest.of(0, pageSize, Sort.by("uid")),
+                hasNext
+        );
         log.info(
-                "Получили запрос на выборку сущностей:\nuid - {}\nname - {}\ninn - {}\nkpp - {}\naddress - {}",
-                uid,
-                name,
-                inn,
-                kpp,
-                address
-                );
-
-        List<Organization> organizations = this.organizationRepository.findAll(
-                CustomSpecificationBuilder.getInstance()
-                        .withIn("uid", uid)
-                        .withIn("name", name)
-                        .withIn("inn", inn)
-                        .withIn("kpp", kpp)
-                        .withIn("address", address)
-                        .build()
-        );
-        log.info("Получили организации - {}", organizations);
-
-        if (organizations == null) return Collections.emptyList();
-
-        List<OrganizationDetail> findOrganizationResponse = this.organizationModelMapper.map(
+                "Объединили страницы шардов - {} организаций, есть следующая страница - {}",
+                findOrganizationResponse.getNumberOfElements(),
+                hasNext
+        );
+
+        return findOrganizationResponse;
+    }
+
+    /*
+     * Транзакцию открываем программно - шард должен быть выбран до нее, а ошибка отображения ее откатывает
+     */
+    private <T> T inTransaction(TransactionTemplate definition,
+                                SingleFlight.Loader<T, CustomModelMapper.MappingException> loader)
+            throws CustomModelMapper.MappingException {
+        PlatformTransactionManager transactionManager = definition.getTransactionManager();
+        TransactionStatus transaction = transactionManager.getTransaction(definition);
+        T result;
+        try {
+            result = loader.load();
+        } catch (RuntimeException | Error | CustomModelMapper.MappingException e) {
+            transactionManager.rollback(transaction);
+            throw e;
+        }
+        transactionManager.commit(transaction);
+
+        return result;
+    }
+
+    private Slice<OrganizationDetail> selectPage(OrganizationFilter filter, Long after, int pageSize)
+            throws CustomModelMapper.MappingException {
+        /*
+         * Выбираем на одну организацию больше страницы - так узнаем, есть ли следующая страница без count запроса
+         */
+        boolean hasNext;
+        List<OrganizationDetail> organizations;
+        if (this.isPrecompiledFindEnabled) {
+            organizations = this.organizationJdbcRepository.findAll(filter, after, pageSize + 1);
+            hasNext = organizations.size() > pageSize;
+            if (hasNext) organizations = organizations.subList(0, pageSize);
+        } else if (filter.isProjected()) {
+            List<Tuple> tuples = this.organizationRepository.findAll(
+                    this.createSpecification(filter, after),
+                    Sort.by("uid"),
+                    pageSize + 1,
+                    filter.getProjection()
+            );
+            log.info("Получили проекции организаций - {}", tuples.size());
+
+            hasNext = tuples.size() > pageSize;
+            organizations = (hasNext ? tuples.subList(0, pageSize) : tuples).stream()
+                    .map(tuple -> toOrganizationDetail(tuple, filter.getProjection()))
+                    .collect(Collectors.toList());
+        } else {
+            List<Organization> entities = this.organizationRepository.findAll(
+                    this.createSpecification(filter, after),
+                    Sort.by("uid"),
+                    pageSize + 1
+            );
+            log.info("Получили организации - {}", entities.size());
+
+            hasNext = entities.size() > pageSize;
+            organizations = this.organizationModelMapper.map(
+                    hasNext ? entities.subList(0, pageSize) : entities,
+                    OrganizationDetail.class
+            );
+        }
+
+        Slice<OrganizationDetail> findOrganizationResponse = new SliceImpl<>(
                 organizations,
-                OrganizationDetail.class
+                PageRequest.of(0, pageSize, Sort.by("uid")),
+                hasNext
+        );
+        log.info(
+                "Возвращаем ответ - {} организаций, есть следующая страница - {}",
+                findOrganizationResponse.getNumberOfElements(),
+                hasNext
         );
-        log.info("Возвращаем ответ - {}", findOrganizationResponse);
 
         return findOrganizationResponse;
     }
+
+    /*
+     * Курсор открыт в одном шарде - выборку нескольких шардов отдаем объединенной страницей
+     */
+    public boolean isStreamed(Integer limit) {
+        return this.shardRouter.getShardsCount() == 1
+                && this.streamThreshold > 0
+                && this.getPageSize(limit) > this.streamThreshold;
+    }
+
+    /*
+     * Проверяем выборку до ответа - после начала потока статус ответа уже не изменить
+     */
+    public int getStreamPageSize(OrganizationFilter filter, Integer limit) {
+        this.validateFilter(filter);
+        assertTrue(
+                this.shardRouter.getShardsCount() == 1,
+                "Выборка потоком доступна только с одним шардом - запросите страницу без потока"
+        );
+
+        return this.getPageSize(limit);
+    }
+
+    /*
+     * Организации пишутся в массив JSON по мере чтения курсора - страница целиком в памяти не собирается,
+     * фильтр и размер страницы уже проверены getStreamPageSize
+     */
+    @Transactional(readOnly = true)
+    public void find(OrganizationFilter filter, Long after, int pageSize, OutputStream destination)
+            throws IOException {
+        log.info(
+                "Получили запрос на выборку страницы сущностей потоком:\nfilter - {}\nafter - {}\npageSize - {}",
+                filter,
+                after,
+                pageSize
+        );
+
+        AtomicInteger count = new AtomicInteger();
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(destination)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            this.organizationJdbcRepository.findAll(filter, after, pageSize, this.streamFetchSize, organization -> {
+                try {
+                    generator.writeObject(organization);
+                    if (count.incrementAndGet() == 1 || count.get() % this.streamFetchSize == 0) generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Отдали потоком организаций - {}", count.get());
+    }
+
+    private void validateFilter(OrganizationFilter filter) {
+        assertNotNull(filter, "Фильтр организаций не может быть null");
+        assertTrue(
+                !OrganizationFilter.isPresent(filter.getFields())
+                        || OrganizationFilter.FIELDS.containsAll(filter.getFields()),
+                String.format(
+                        "Неизвестные свойства организации - %s, доступные свойства - %s",
+                        filter.getFields(),
+                        OrganizationFilter.FIELDS
+                )
+        );
+        this.validateSearch(filter.getSearch());
+    }
+
+    private Specification<Organization> createSpecification(OrganizationFilter filter, Long after) {
+        return CustomSpecificationBuilder.getInstance()
+                .withIn("uid", filter.getUid())
+                .withIn("name", filter.getName())
+                .withIn("inn", filter.getInn())
+                .withIn("kpp", filter.getKpp())
+                .withIn("address", filter.getAddress())
+                .withSearch(filter.getSearch(), "name", "address")
+                .withAfter("uid", after)
+                .build();
+    }
+
+    /*
+     * Невыбранные свойства остаются null и не попадают в ответ, выбранные пустые - Optional.empty()
+     */
+    private static OrganizationDetail toOrganizationDetail(Tuple tuple, List<String> projection) {
+        return OrganizationDetail.builder()
+                .uid(Optional.ofNullable(tuple.get("uid", Long.class)))
+                .name(projection.contains("name") ? Optional.ofNullable(tuple.get("name", String.class)) : null)
+                .inn(projection.contains("inn") ? Optional.ofNullable(tuple.get("inn", String.class)) : null)
+                .kpp(projection.contains("kpp") ? Optional.ofNullable(tuple.get("kpp", String.class)) : null)
+                .address(projection.contains("address")
+                        ? Optional.ofNullable(tuple.get("address", String.class))
+                        : null
+                )
+                .build();
+    }
+
+    private void validateSearch(String search) {
+        assertTrue(
+                search == null || search.length() >= this.minSearchLength,
+                String.format("Подстрока поиска должна быть не короче %d символов - %s", this.minSearchLength, search)
+        );
+    }
+
+    private int getPageSize(Integer limit) {
+        if (limit == null) return this.maxPageSize;
+
+        assertTrue(limit > 0, String.format("Размер страницы должен быть больше 0 - %d", limit));
+
+        return Math.min(limit, this.maxPageSize);
+    }
 }
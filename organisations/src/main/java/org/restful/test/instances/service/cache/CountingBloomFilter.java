@@ -0,0 +1,175 @@
+package org.restful.test.instances.service.cache;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The counting Bloom filter of the long keys.
+ * <p>
+ * Each key increments the 4-bit counters at {@code k} positions, so unlike the plain Bloom filter
+ * the key can be removed. If the filter answers that the key is absent, it is absent for sure,
+ * if it answers that the key may be present - it is present with the false positive probability.
+ * The saturated counter (15) is never decremented any more - it keeps the key present, but never loses it.
+ * <p>
+ * The counters are packed by 16 into the longs and changed by CAS, so the filter is thread-safe without locks.
+ *
+ * @project restful-test-instances
+ * @created 19.10.2026 17:20
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class CountingBloomFilter {
+
+    static int COUNTER_BITS = 4;
+
+    static int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+
+    static long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    AtomicLongArray words;
+
+    int countersCount;
+
+    int hashesCount;
+
+    long capacity;
+
+    AtomicLong count = new AtomicLong();
+
+    /**
+     * Instantiates a new Counting bloom filter.
+     *
+     * @param capacity                 the expected max count of the keys
+     * @param falsePositiveProbability the false positive probability at the expected count
+     */
+    public CountingBloomFilter(long capacity, double falsePositiveProbability) {
+        this.capacity = Math.max(1, capacity);
+
+        /*
+         * Оптимальные m = -n * ln(p) / ln(2)^2 и k = m / n * ln(2)
+         */
+        long countersCount = (long) Math.ceil(
+                -this.capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))
+        );
+        this.countersCount = (int) Math.max(
+                COUNTERS_PER_WORD,
+                Math.min(countersCount, Integer.MAX_VALUE - COUNTERS_PER_WORD)
+        );
+        this.hashesCount = Math.max(1, (int) Math.round((double) this.countersCount / this.capacity * Math.log(2)));
+        this.words = new AtomicLongArray((this.countersCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        for (int i = 0; i < this.hashesCount; i++) {
+            this.increment(this.getIndex(hash, i));
+        }
+        this.count.incrementAndGet();
+    }
+
+    /**
+     * Remove the key, it has to be added before - otherwise the other keys may be lost.
+     *
+     * @param key the key
+     */
+    public void remove(long key) {
+        long hash = mix(key);
+        for (int i = 0; i < this.hashesCount; i++) {
+            this.decrement(this.getIndex(hash, i));
+        }
+        this.count.decrementAndGet();
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        for (int i = 0; i < this.hashesCount; i++) {
+            if (this.getCounter(this.getIndex(hash, i)) == 0) return false;
+        }
+
+        return true;
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public long getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Get the size of the counters in bytes.
+     *
+     * @return the memory size
+     */
+    public long getMemorySize() {
+        return (long) this.words.length() * Long.BYTES;
+    }
+
+    /**
+     * Get the current false positive probability - {@code (1 - e^(-k * n / m))^k}.
+     *
+     * @return the false positive probability
+     */
+    public double getFalsePositiveProbability() {
+        double emptyProbability = Math.exp(-(double) this.hashesCount * this.getCount() / this.countersCount);
+
+        return Math.pow(1 - emptyProbability, this.hashesCount);
+    }
+
+    /*
+     * Позиции считаем двойным хешированием - h1 + i * h2 дает k независимых на практике хешей
+     */
+    private int getIndex(long hash, int i) {
+        int combinedHash = (int) hash + i * (int) (hash >>> 32);
+
+        return Math.floorMod(combinedHash, this.countersCount);
+    }
+
+    private int getCounter(int index) {
+        return (int) ((this.words.get(index / COUNTERS_PER_WORD) >>> getShift(index)) & COUNTER_MASK);
+    }
+
+    private void increment(int index) {
+        int shift = getShift(index);
+        long word;
+        do {
+            word = this.words.get(index / COUNTERS_PER_WORD);
+            if (((word >>> shift) & COUNTER_MASK) == COUNTER_MASK) return;
+        } while (!this.words.compareAndSet(index / COUNTERS_PER_WORD, word, word + (1L << shift)));
+    }
+
+    private void decrement(int index) {
+        int shift = getShift(index);
+        long word;
+        do {
+            word = this.words.get(index / COUNTERS_PER_WORD);
+            long counter = (word >>> shift) & COUNTER_MASK;
+            if (counter == 0 || counter == COUNTER_MASK) return;
+        } while (!this.words.compareAndSet(index / COUNTERS_PER_WORD, word, word - (1L << shift)));
+    }
+
+    private static int getShift(int index) {
+        return (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    /*
+     * Финализатор MurmurHash3 - последовательные идентификаторы расходятся по всем битам
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+
+        return key;
+    }
+}
@@ -0,0 +1,277 @@
+package org.restful.test.instances.service.cache;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The listener of the organizations changes made by any instance of the application.
+ * <p>
+ * The triggers of the organization table send the notifications by {@code pg_notify} after the commit:
+ * the uid of the updated or deleted organization, {@link #INSERTED} with the comma separated uids
+ * of the inserted organizations and {@link #ALL_CHANGED} on the truncate. The listener keeps the dedicated
+ * {@code LISTEN} connection out of the pool to every shard, each in its own thread, evicts the changed
+ * organizations from the second-level cache and invalidates {@link OrganizationResultCache}. The inserted uids
+ * are added to {@link OrganizationUidFilter}, it is rebuilt only on the truncate, on the empty insert payload
+ * of the old trigger and after the reconnect.
+ * If the connection is lost or the handling fails, it reconnects with the exponential backoff
+ * and evicts and rebuilds everything, because the notifications sent meanwhile are lost.
+ *
+ * @project restful-test-instances
+ * @created 19.10.2026 11:05
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@ConditionalOnProperty(
+        name = "organisations.cache.listen.enabled",
+        havingValue = "true"
+)
+@Component
+public class OrganizationChangeListener {
+
+    /**
+     * The channel of the organizations changes.
+     */
+    public static final String CHANNEL = "organization_changes";
+
+    /**
+     * The payload of the change of all organizations.
+     */
+    public static final String ALL_CHANGED = "*";
+
+    /**
+     * The prefix of the payload with the uids of the inserted organizations.
+     */
+    public static final String INSERTED = "+";
+
+    static int POLL_TIMEOUT = 1000;
+
+    DataSourceProperties dataSourceProperties;
+
+    EntityManagerFactory entityManagerFactory;
+
+    OrganizationResultCache organizationResultCache;
+
+    OrganizationUidFilter organizationUidFilter;
+
+    List<Thread> listeners = new ArrayList<>();
+
+    /*
+     * Первая и максимальная пауза перед повторным подключением в миллисекундах
+     */
+    @NonFinal
+    @Value("${organisations.cache.listen.backoff-initial:1000}")
+    long initialBackoff;
+
+    @NonFinal
+    @Value("${organisations.cache.listen.backoff-max:60000}")
+    long maxBackoff;
+
+    @NonFinal
+    volatile boolean isRunning;
+
+    /**
+     * Instantiates a new Organization change listener.
+     *
+     * @param dataSourceProperties    the data source properties
+     * @param entityManagerFactory    the entity manager factory
+     * @param organizationResultCache the organization result cache
+     * @param organizationUidFilter   the organization uid filter
+     * @param shardRouter             the shard router
+     */
+    public OrganizationChangeListener(DataSourceProperties dataSourceProperties,
+                                      EntityManagerFactory entityManagerFactory,
+                                      OrganizationResultCache organizationResultCache,
+                                      OrganizationUidFilter organizationUidFilter,
+                                      ShardRouter shardRouter) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.organizationResultCache = organizationResultCache;
+        this.organizationUidFilter = organizationUidFilter;
+
+        /*
+         * Триггеры шарда уведомляют только подключенных к нему - слушаем каждый шард
+         */
+        List<String> urls = shardRouter.getUrls().isEmpty()
+                ? Collections.singletonList(dataSourceProperties.determineUrl())
+                : shardRouter.getUrls();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            String url = urls.get(shard);
+            Thread listener = new Thread(
+                    () -> this.run(url),
+                    urls.size() == 1 ? "organization-change-listener" : "organization-change-listener-" + shard
+            );
+            listener.setDaemon(true);
+            this.listeners.add(listener);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        this.isRunning = true;
+        this.listeners.forEach(Thread::start);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        this.isRunning = false;
+        this.listeners.forEach(Thread::interrupt);
+        for (Thread listener : this.listeners) {
+            listener.join(POLL_TIMEOUT * 2);
+        }
+    }
+
+    private void run(String url) {
+        long backoff = this.initialBackoff;
+        while (this.isRunning) {
+            try (Connection connection = this.connect(url)) {
+                backoff = this.initialBackoff;
+                this.listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (!this.isRunning) break;
+
+                log.warn(
+                        "Потеряли соединение с {} или не обработали уведомления об изменении организаций, "
+                                + "повтор через {} мс",
+                        url,
+                        backoff,
+                        e
+                );
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, this.maxBackoff);
+            }
+        }
+        log.info("Остановили прослушивание изменений организаций");
+    }
+
+    /**
+     * Handle the notifications payloads received together.
+     *
+     * @param payloads the payloads
+     */
+    public void onChanges(String... payloads) {
+        boolean isResynced = false;
+        List<Long> insertedUids = new ArrayList<>();
+        for (String payload : payloads) {
+            this.onChange(payload);
+            if (payload != null && payload.startsWith(INSERTED)) {
+                isResynced |= !this.parseInserted(payload, insertedUids);
+            } else {
+                isResynced |= payload == null || payload.isEmpty() || ALL_CHANGED.equals(payload);
+            }
+        }
+
+        /*
+         * Идентификаторы вставленных организаций неизвестны только при очистке и после потери уведомлений
+         */
+        if (isResynced) {
+            this.organizationUidFilter.rebuild();
+        } else if (!insertedUids.isEmpty()) {
+            this.organizationUidFilter.addNotified(insertedUids);
+        }
+    }
+
+    /**
+     * Handle the notification payload.
+     *
+     * @param payload the payload
+     */
+    public void onChange(String payload) {
+        log.debug("Получили уведомление об изменении организаций - '{}'", payload);
+
+        if (ALL_CHANGED.equals(payload)) {
+            this.entityManagerFactory.getCache().evict(Organization.class);
+        } else if (payload != null && !payload.isEmpty() && !payload.startsWith(INSERTED)) {
+            try {
+                this.entityManagerFactory.getCache().evict(Organization.class, Long.valueOf(payload));
+            } catch (NumberFormatException e) {
+                log.warn("Неизвестное уведомление об изменении организаций - '{}'", payload);
+                this.entityManagerFactory.getCache().evict(Organization.class);
+            }
+        }
+        this.organizationResultCache.invalidate();
+    }
+
+    /*
+     * Вставка не делает устаревшей ни одну закешированную организацию - только добавляет идентификаторы
+     */
+    private boolean parseInserted(String payload, List<Long> insertedUids) {
+        try {
+            for (String uid : payload.substring(INSERTED.length()).split(",")) {
+                insertedUids.add(Long.valueOf(uid));
+            }
+
+            return true;
+        } catch (NumberFormatException e) {
+            log.warn("Неизвестное уведомление о вставке организаций - '{}'", payload);
+
+            return false;
+        }
+    }
+
+    private Connection connect(String url) throws SQLException {
+        Properties properties = new Properties();
+        if (this.dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", this.dataSourceProperties.determineUsername());
+        }
+        if (this.dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", this.dataSourceProperties.determinePassword());
+        }
+
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        log.info("Слушаем изменения организаций в канале {}", CHANNEL);
+
+        /*
+         * Пока соединения не было, уведомления терялись - сбрасываем кеши целиком
+         */
+        this.onChanges(ALL_CHANGED);
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (this.isRunning) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT);
+            if (notifications == null) continue;
+
+            this.onChanges(Arrays.stream(notifications)
+                    .map(PGNotification::getParameter)
+                    .toArray(String[]::new));
+        }
+    }
+}
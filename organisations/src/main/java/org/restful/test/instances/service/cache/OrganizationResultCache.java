@@ -0,0 +1,130 @@
+package org.restful.test.instances.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The in-process cache of the organizations selection pages.
+ * <p>
+ * The key is the normalized filter, the page start key, the page size and the organizations table version.
+ * Every write into the table increments the version, so the pages selected before it are never returned again
+ * and are evicted by the size-bounded W-TinyLFU policy of Caffeine.
+ * The version is incremented on the write and once more after the transaction completion -
+ * otherwise the concurrent selection may cache the not yet committed state under the new version.
+ *
+ * @project restful-test-instances
+ * @created 19.10.2026 09:20
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@Component
+public class OrganizationResultCache {
+
+    /**
+     * The cache name in the metrics.
+     */
+    public static final String CACHE_NAME = "organizations-find";
+
+    AtomicLong version = new AtomicLong();
+
+    Cache<Key, Slice<OrganizationDetail>> pages;
+
+    /**
+     * Instantiates a new Organization result cache.
+     *
+     * @param maxSize       the maximum pages count
+     * @param meterRegistry the meter registry
+     */
+    public OrganizationResultCache(@Value("${organisations.find.cache.max-size:1000}") long maxSize,
+                                   MeterRegistry meterRegistry) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.pages, CACHE_NAME);
+    }
+
+    /**
+     * Create the key of the page by the current table version.
+     * <p>
+     * The key has to be created before the selection, so the page selected concurrently with the write
+     * is put under the outdated version.
+     *
+     * @param filter   the filter
+     * @param after    the page start key
+     * @param pageSize the page size
+     * @return the key
+     */
+    public Key createKey(OrganizationFilter filter, Long after, int pageSize) {
+        return new Key(this.version.get(), filter.normalize(), after, pageSize);
+    }
+
+    /**
+     * Get the page.
+     *
+     * @param key the key
+     * @return the page or null if it is not cached
+     */
+    public Slice<OrganizationDetail> get(Key key) {
+        return this.pages.getIfPresent(key);
+    }
+
+    /**
+     * Put the page.
+     *
+     * @param key  the key
+     * @param page the page
+     */
+    public void put(Key key, Slice<OrganizationDetail> page) {
+        this.pages.put(key, page);
+    }
+
+    /**
+     * Invalidate all pages by the increment of the table version now and after the transaction completion.
+     */
+    public void invalidate() {
+        log.debug("Организации изменены, версия таблицы - {}", this.version.incrementAndGet());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    log.debug("Транзакция завершена, версия таблицы - {}", version.incrementAndGet());
+                }
+            });
+        }
+    }
+
+    /**
+     * The key of the page.
+     */
+    @lombok.Value
+    public static class Key {
+
+        long version;
+
+        OrganizationFilter filter;
+
+        Long after;
+
+        int pageSize;
+    }
+}
@@ -0,0 +1,317 @@
+package org.restful.test.instances.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * The negative cache of the organizations uids - answers without the database that the organization does not exist.
+ * <p>
+ * The uids are in {@link CountingBloomFilter}, which is built from the organization table on the start
+ * (with the double headroom over the current count) and then follows the creates and the deletes of this instance.
+ * Only the uids of the really inserted organizations are added - the counters of the filter are never released
+ * by the updates, so adding the existing uid again would only saturate them.
+ * The uids of every instance come from the insert notifications of {@link OrganizationChangeListener},
+ * and the uids created by this instance wait in the set of the not yet notified uids - so each uid is counted
+ * in the filter once. Without the notifications the filter would not know the uids created by the other instances,
+ * so the application does not start with the filter enabled and {@code organisations.cache.listen.enabled} off.
+ * While the filter is being built, every uid may exist, and the uids created meanwhile go to both filters.
+ * The uid is added right after the insert (before the commit) and removed only after the commit of the delete,
+ * so the filter may be wrong only to the safe side - answer that the deleted organization may exist.
+ * <p>
+ * The metrics are {@code organizations.uid.filter.*} - the current false positive probability, the memory size,
+ * the uids count and the count of the lookups answered without the database.
+ *
+ * @project restful-test-instances
+ * @created 19.10.2026 17:50
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@Component
+public class OrganizationUidFilter {
+
+    OrganizationJdbcRepository organizationJdbcRepository;
+
+    ShardRouter shardRouter;
+
+    Counter rejectedLookups;
+
+    /*
+     * Фильтр отрицательных выборок включен, ожидаемое количество организаций и вероятность ложного ответа "есть"
+     */
+    @NonFinal
+    @Value("${organisations.find.uid-filter.enabled:false}")
+    boolean isEnabled;
+
+    @NonFinal
+    @Value("${organisations.find.uid-filter.capacity:1000000}")
+    long capacity;
+
+    @NonFinal
+    @Value("${organisations.find.uid-filter.false-positive-probability:0.01}")
+    double falsePositiveProbability;
+
+    @NonFinal
+    @Value("${organisations.find.uid-filter.fetch-size:10000}")
+    int fetchSize;
+
+    /*
+     * Созданные идентификаторы приходят в фильтр уведомлениями о вставке, а не сразу - без уведомлений не стартуем
+     */
+    @NonFinal
+    @Value("${organisations.cache.listen.enabled:false}")
+    boolean isListened;
+
+    @NonFinal
+    volatile CountingBloomFilter filter;
+
+    @NonFinal
+    volatile CountingBloomFilter building;
+
+    Set<Long> uncommittedUids = ConcurrentHashMap.newKeySet();
+
+    Set<Long> unnotifiedUids = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Instantiates a new Organization uid filter.
+     *
+     * @param organizationJdbcRepository the organization jdbc repository
+     * @param shardRouter                the shard router
+     * @param meterRegistry              the meter registry
+     */
+    public OrganizationUidFilter(OrganizationJdbcRepository organizationJdbcRepository,
+                                 ShardRouter shardRouter,
+                                 MeterRegistry meterRegistry) {
+        this.organizationJdbcRepository = organizationJdbcRepository;
+        this.shardRouter = shardRouter;
+        this.rejectedLookups = Counter.builder("organizations.uid.filter.rejected").register(meterRegistry);
+        this.registerGauge(
+                meterRegistry,
+                "false.positive.probability",
+                CountingBloomFilter::getFalsePositiveProbability
+        );
+        this.registerGauge(meterRegistry, "memory", CountingBloomFilter::getMemorySize);
+        this.registerGauge(meterRegistry, "size", CountingBloomFilter::getCount);
+    }
+
+    /*
+     * Без уведомлений фильтр знает только идентификаторы этого экземпляра и отвечал бы 404 по чужим организациям
+     */
+    @PostConstruct
+    public void start() {
+        if (!this.isEnabled) return;
+
+        if (!this.isListened) {
+            throw new IllegalStateException(
+                    "Фильтр идентификаторов организаций требует уведомлений об изменениях - включите "
+                            + "organisations.cache.listen.enabled или выключите organisations.find.uid-filter.enabled"
+            );
+        }
+        this.rebuild();
+    }
+
+    /**
+     * Build the filter from all uids of the organization table of every shard -
+     * on the start and on the resync, when the notifications may have been lost.
+     */
+    public synchronized void rebuild() {
+        if (!this.isEnabled) return;
+
+        long count = this.shardRouter.fanOut(shard -> this.organizationJdbcRepository.count())
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        CountingBloomFilter filter = new CountingBloomFilter(
+                Math.max(this.capacity, count * 2),
+                this.falsePositiveProbability
+        );
+
+        /*
+         * Сначала новый фильтр начинает получать идентификаторы из уведомлений, и только потом читаем таблицу -
+         * идентификатор попадет в фильтр хотя бы одним из двух путей, а лишний раз добавленный только не уйдет
+         * из фильтра при удалении. Зафиксированные неуведомленные идентификаторы прочитаем из таблицы, уведомления
+         * о них могли потеряться, незафиксированные ждут уведомления
+         */
+        List<Long> committedUids = new ArrayList<>(this.unnotifiedUids);
+        committedUids.removeAll(this.uncommittedUids);
+        this.building = filter;
+        this.filter = null;
+        try {
+            this.shardRouter.fanOut(shard -> {
+                this.organizationJdbcRepository.findAllUids(this.fetchSize, filter::add);
+
+                return null;
+            });
+            this.filter = filter;
+        } finally {
+            this.building = null;
+        }
+        this.unnotifiedUids.removeAll(committedUids);
+        log.info(
+                "Построили фильтр идентификаторов организаций - {} из {}, размер - {} байт",
+                filter.getCount(),
+                filter.getCapacity(),
+                filter.getMemorySize()
+        );
+    }
+
+    /**
+     * Check whether the organization may exist, if not - it does not exist for sure.
+     *
+     * @param uid the uid
+     * @return is the organization may exist
+     */
+    public boolean mightExist(Long uid) {
+        CountingBloomFilter filter = this.filter;
+        if (!this.isEnabled || filter == null || uid == null || filter.mightContain(uid)) return true;
+        if (this.unnotifiedUids.contains(uid)) return true;
+
+        this.rejectedLookups.increment();
+        log.debug("Организации с идентификатором {} нет по фильтру", uid);
+
+        return false;
+    }
+
+    /**
+     * Add the uid of the inserted organization, in the transaction - before its commit.
+     *
+     * @param uid the uid
+     */
+    public void add(Long uid) {
+        if (!this.isEnabled || uid == null) return;
+
+        this.trackUncommitted(Collections.singleton(uid));
+        this.addInserted(uid);
+    }
+
+    /**
+     * Add the uids of the inserted organizations, in the transaction - before its commit.
+     *
+     * @param uids the uids
+     */
+    public void addAll(Collection<Long> uids) {
+        if (!this.isEnabled) return;
+
+        List<Long> addedUids = uids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        this.trackUncommitted(addedUids);
+        addedUids.forEach(this::addInserted);
+    }
+
+    /**
+     * Add the uids of the inserted organizations from the insert notification of any instance.
+     *
+     * @param uids the uids
+     */
+    public void addNotified(Collection<Long> uids) {
+        if (!this.isEnabled) return;
+
+        for (Long uid : uids) {
+            this.addToFilters(uid);
+            this.unnotifiedUids.remove(uid);
+        }
+    }
+
+    /**
+     * Remove the uid after the transaction commit - until the commit the organization still exists.
+     * The filter being built is not changed - it may have not read the uid yet.
+     *
+     * @param uid the uid
+     */
+    public void remove(Long uid) {
+        CountingBloomFilter filter = this.filter;
+        if (filter == null || uid == null) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            filter.remove(uid);
+
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                filter.remove(uid);
+            }
+        });
+    }
+
+    /*
+     * До фиксации транзакции созданных идентификаторов еще не видно в таблице - помним их для rebuild
+     */
+    private void trackUncommitted(Collection<Long> uids) {
+        if (uids.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        this.uncommittedUids.addAll(uids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                uncommittedUids.removeAll(uids);
+                if (status != STATUS_COMMITTED) unnotifiedUids.removeAll(uids);
+            }
+        });
+    }
+
+    /*
+     * Идентификатор попадет в фильтр из уведомления о вставке - до него только помним его
+     */
+    private void addInserted(Long uid) {
+        this.unnotifiedUids.add(uid);
+    }
+
+    private void addToFilters(Long uid) {
+        /*
+         * Строящийся фильтр читаем до текущего - rebuild публикует их в обратном порядке
+         */
+        CountingBloomFilter building = this.building;
+        CountingBloomFilter filter = this.filter;
+        if (building != null) building.add(uid);
+        if (filter == null || filter == building) return;
+
+        filter.add(uid);
+        if (filter.getCount() == filter.getCapacity() + 1) {
+            log.warn(
+                    "В фильтре идентификаторов организаций больше {} идентификаторов, ложных ответов будет больше {}",
+                    filter.getCapacity(),
+                    this.falsePositiveProbability
+            );
+        }
+    }
+
+    private void registerGauge(MeterRegistry meterRegistry,
+                               String name,
+                               ToDoubleFunction<CountingBloomFilter> value) {
+        Gauge.builder(
+                "organizations.uid.filter." + name,
+                this,
+                uidFilter -> uidFilter.filter == null ? Double.NaN : value.applyAsDouble(uidFilter.filter)
+        )
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,161 @@
+package org.restful.test.instances.service.concurrent;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The batching of the single lookups into one lookup of many keys (as DataLoader does).
+ * <p>
+ * The lookups which come within the window after the first one, but not more than the maximum batch size,
+ * are collected and loaded by one call of the batch loader with the distinct keys,
+ * then the future of each lookup is completed with the value of its key ({@code null} if it is absent)
+ * or with the exception of the batch loader. The full batch is loaded right away without waiting for the window.
+ * <p>
+ * The batches are loaded in the own thread pool, the sizes of the batches are in {@code micro.batch.size}.
+ *
+ * @param <K> the key type, has to implement equals and hashCode
+ * @param <V> the value type
+ * @project restful-test-instances
+ * @created 19.10.2026 15:10
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    String name;
+
+    long window;
+
+    int maxBatchSize;
+
+    Function<List<K>, Map<K, V>> batchLoader;
+
+    ScheduledThreadPoolExecutor executor;
+
+    DistributionSummary batchSizes;
+
+    Object lock = new Object();
+
+    @NonFinal
+    Map<K, List<CompletableFuture<V>>> pending = new LinkedHashMap<>();
+
+    @NonFinal
+    int pendingCount;
+
+    /**
+     * Instantiates a new Micro batcher.
+     *
+     * @param name          the name in the metrics and in the threads names
+     * @param window        the window in microseconds
+     * @param maxBatchSize  the max batch size
+     * @param parallelism   the max count of the batches loaded at the same time
+     * @param batchLoader   the batch loader, returns the values by the keys
+     * @param meterRegistry the meter registry
+     */
+    public MicroBatcher(String name,
+                        long window,
+                        int maxBatchSize,
+                        int parallelism,
+                        Function<List<K>, Map<K, V>> batchLoader,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchLoader = batchLoader;
+
+        AtomicInteger threadsCount = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, name + "-batch-" + threadsCount.getAndIncrement());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.batchSizes = DistributionSummary.builder("micro.batch.size")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Add the lookup of the key into the current batch.
+     *
+     * @param key the key
+     * @return the future of the value, {@code null} value if the key is absent
+     */
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> value = new CompletableFuture<>();
+        synchronized (this.lock) {
+            this.pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(value);
+            this.pendingCount++;
+            if (this.pendingCount >= this.maxBatchSize) {
+                this.executor.execute(this.takeBatch());
+            } else if (this.pendingCount == 1) {
+                this.executor.schedule(this::loadPendingBatch, this.window, TimeUnit.MICROSECONDS);
+            }
+        }
+
+        return value;
+    }
+
+    /*
+     * Собранный пакет выбираем сразу - после остановки пула новые пакеты в нем уже не запустить
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        this.loadPendingBatch();
+    }
+
+    /*
+     * Окно первой выборки могло закончиться после того, как пакет уже забрали по размеру - тогда здесь следующий
+     */
+    private void loadPendingBatch() {
+        Runnable batch;
+        synchronized (this.lock) {
+            if (this.pendingCount == 0) return;
+
+            batch = this.takeBatch();
+        }
+        batch.run();
+    }
+
+    private Runnable takeBatch() {
+        Map<K, List<CompletableFuture<V>>> batch = this.pending;
+        this.pending = new LinkedHashMap<>();
+        this.pendingCount = 0;
+
+        return () -> this.loadBatch(batch);
+    }
+
+    private void loadBatch(Map<K, List<CompletableFuture<V>>> batch) {
+        List<K> keys = new ArrayList<>(batch.keySet());
+        this.batchSizes.record(keys.size());
+        log.debug("Выбираем пакет {} - {} ключей", this.name, keys.size());
+
+        try {
+            Map<K, V> values = this.batchLoader.apply(keys);
+            batch.forEach((key, futures) -> futures.forEach(future -> future.complete(values.get(key))));
+        } catch (RuntimeException | Error e) {
+            log.warn("Не получилось выбрать пакет {} - {} ключей", this.name, keys.size(), e);
+            batch.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.restful.test.instances.service.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The coalescing of the concurrent calls with the equal keys.
+ * <p>
+ * The first caller of the key (the leader) loads the value, the callers which come while it is loading
+ * wait for the same {@link CompletableFuture} and get the same value or the same exception,
+ * so the equal concurrent queries take one database connection instead of one per caller.
+ * The flight ends when the value is loaded - the next caller of the key loads it again.
+ * <p>
+ * The calls are counted in {@code single.flight.calls} by the result - {@code led} or {@code coalesced},
+ * the current flights are in {@code single.flight.active}.
+ *
+ * @param <K> the key type, has to implement equals and hashCode
+ * @param <V> the value type
+ * @project restful-test-instances
+ * @created 19.10.2026 13:30
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+public class SingleFlight<K, V> {
+
+    String name;
+
+    Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    Counter ledCalls;
+
+    Counter coalescedCalls;
+
+    /**
+     * Instantiates a new Single flight.
+     *
+     * @param name          the name in the metrics
+     * @param meterRegistry the meter registry
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.ledCalls = Counter.builder("single.flight.calls")
+                .tag("name", name)
+                .tag("result", "led")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("single.flight.calls")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("single.flight.active", this.flights, Map::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the value or wait for the value loaded by the concurrent call with the equal key.
+     *
+     * @param <E>    the exception type of the loader
+     * @param key    the key
+     * @param loader the loader
+     * @return the value
+     * @throws E the exception of the loader
+     */
+    public <E extends Exception> V execute(K key, Loader<V, E> loader) throws E {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> concurrentFlight = this.flights.putIfAbsent(key, flight);
+        if (concurrentFlight != null) {
+            this.coalescedCalls.increment();
+            log.debug("Присоединились к выполняющемуся запросу {} - {}", this.name, key);
+
+            return join(concurrentFlight);
+        }
+
+        this.ledCalls.increment();
+        try {
+            V value = loader.load();
+            flight.complete(value);
+
+            return value;
+        } catch (Exception | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.flights.remove(key, flight);
+        }
+    }
+
+    /*
+     * Исключение загрузки пробрасываем как есть - ключи равны, значит, и загрузка была та же
+     */
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Exception> V join(CompletableFuture<V> flight) throws E {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+
+            throw (E) e.getCause();
+        }
+    }
+
+    /**
+     * The loader of the value.
+     *
+     * @param <V> the value type
+     * @param <E> the exception type
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+
+        /**
+         * Load the value.
+         *
+         * @return the value
+         * @throws E the exception
+         */
+        V load() throws E;
+    }
+}
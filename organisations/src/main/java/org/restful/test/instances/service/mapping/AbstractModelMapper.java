@@ -0,0 +1,193 @@
+package org.restful.test.instances.service.mapping;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The base model mapper which maps collections in bulk.
+ * <p>
+ * The result list is always pre-sized. When the collection size reaches the threshold,
+ * the collection is split into the chunks which are mapped in the bounded {@link ForkJoinPool},
+ * every chunk writes into its own slots of the result, so the order of the sources is kept.
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 12:20
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public abstract class AbstractModelMapper implements CustomModelMapper {
+
+    /**
+     * The chunks count per the pool thread.
+     */
+    static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The collection size from which it is mapped in parallel.
+     */
+    int bulkMappingThreshold = Integer.MAX_VALUE;
+
+    /**
+     * The pool for the parallel mapping (if not set - always maps serially).
+     */
+    ForkJoinPool bulkMappingPool;
+
+    /**
+     * Sets bulk mapping threshold.
+     *
+     * @param bulkMappingThreshold the bulk mapping threshold
+     */
+    @Autowired
+    public void setBulkMappingThreshold(@Value("${organisations.mapping.bulk.threshold:10000}")
+                                                int bulkMappingThreshold) {
+        this.bulkMappingThreshold = bulkMappingThreshold;
+    }
+
+    /**
+     * Sets bulk mapping pool.
+     *
+     * @param bulkMappingPool the bulk mapping pool
+     */
+    @Autowired(required = false)
+    public void setBulkMappingPool(@Qualifier("bulkMappingPool") ForkJoinPool bulkMappingPool) {
+        this.bulkMappingPool = bulkMappingPool;
+    }
+
+    /**
+     * Map list.
+     *
+     * @param sources              the sources
+     * @param destinationTypeClass the destination type class
+     * @return the list
+     * @throws MappingException the mapping exception
+     */
+    @Override
+    public <T, R> List<T> map(Collection<R> sources, Class<T> destinationTypeClass) throws MappingException {
+        if (sources == null) return Collections.emptyList();
+        if (destinationTypeClass == null) {
+            throw new MappingException(new IllegalArgumentException("Не задан тип результата копирования"));
+        }
+
+        if (this.bulkMappingPool == null || sources.size() < this.bulkMappingThreshold) {
+            return this.mapSerially(sources, destinationTypeClass);
+        }
+
+        return this.mapInParallel(sources, destinationTypeClass);
+    }
+
+    private <T, R> List<T> mapSerially(Collection<R> sources, Class<T> destinationTypeClass)
+            throws MappingException {
+        List<T> destinations = new ArrayList<>(sources.size());
+        for (R source : sources) {
+            destinations.add(this.map(source, destinationTypeClass));
+        }
+
+        return destinations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, R> List<T> mapInParallel(Collection<R> sources, Class<T> destinationTypeClass)
+            throws MappingException {
+        List<R> sourcesList = sources instanceof List && sources instanceof RandomAccess
+                ? (List<R>) sources
+                : new ArrayList<>(sources);
+        Object[] destinations = new Object[sourcesList.size()];
+        int chunkSize = Math.max(
+                1,
+                sourcesList.size() / (this.bulkMappingPool.getParallelism() * CHUNKS_PER_THREAD)
+        );
+        log.debug("Копируем {} сущностей параллельно частями по {}", sourcesList.size(), chunkSize);
+
+        try {
+            this.bulkMappingPool.invoke(new MappingTask<>(
+                    sourcesList,
+                    destinations,
+                    destinationTypeClass,
+                    0,
+                    sourcesList.size(),
+                    chunkSize
+            ));
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof MappingException)) {
+                cause = cause.getCause();
+            }
+
+            if (cause != null) throw (MappingException) cause;
+            throw e;
+        }
+
+        /*
+         * Результат должен быть изменяемым, как и у последовательного копирования
+         */
+        return new ArrayList<>((List<T>) Arrays.asList(destinations));
+    }
+
+    /**
+     * The task which maps the range of the sources into the same range of the destinations.
+     *
+     * @param <T> the type parameter
+     * @param <R> the type parameter
+     */
+    private final class MappingTask<T, R> extends RecursiveAction {
+
+        final List<R> sources;
+
+        final Object[] destinations;
+
+        final Class<T> destinationTypeClass;
+
+        final int from;
+
+        final int to;
+
+        final int chunkSize;
+
+        MappingTask(List<R> sources,
+                    Object[] destinations,
+                    Class<T> destinationTypeClass,
+                    int from,
+                    int to,
+                    int chunkSize) {
+            this.sources = sources;
+            this.destinations = destinations;
+            this.destinationTypeClass = destinationTypeClass;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.chunkSize) {
+                try {
+                    for (int i = this.from; i < this.to; i++) {
+                        this.destinations[i] = map(this.sources.get(i), this.destinationTypeClass);
+                    }
+                } catch (MappingException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(
+                    new MappingTask<>(this.sources, this.destinations, this.destinationTypeClass, this.from, middle, this.chunkSize),
+                    new MappingTask<>(this.sources, this.destinations, this.destinationTypeClass, middle, this.to, this.chunkSize)
+            );
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package org.restful.test.instances.service.mapping;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.restful.test.instances.model.detail.EmployDetail;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.entity.Employ;
+import org.restful.test.instances.model.entity.Organization;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The model mapper which copies properties through the generated accessors.
+ * <p>
+ * For each pair (source type, destination type) it builds once a copy plan -
+ * the list of the getter/setter lambdas generated by {@link LambdaMetafactory},
+ * and then reuses it for every mapping, so the mapping costs about the same
+ * as the hand-written getters/setters calls.
+ * <p>
+ * The properties are matched by name and follow the same rules as {@link SimpleModelMapper}:
+ * <ul>
+ *     <li>{@code null} optional in the source - the destination property is not changed;</li>
+ *     <li>empty optional in the source - the destination property is set to {@code null};</li>
+ *     <li>plain value into optional - the value is wrapped by {@link Optional#ofNullable(Object)}.</li>
+ * </ul>
+ *
+ * @project restful-test-instances
+ * @created 18.10.2026 10:12
+ * <p>
+ * @author Alexander A. Kropotin
+ */
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE,
+        makeFinal = true
+)
+@ConditionalOnProperty(
+        name = "organisations.mapping.mapper",
+        havingValue = "accessor"
+)
+@Service
+public class AccessorModelMapper extends AbstractModelMapper {
+
+    static MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * The copy plans by the pair of the source and destination types.
+     */
+    Map<CopyPlanKey, CopyPlan> copyPlans = new ConcurrentHashMap<>();
+
+    /**
+     * The constructors of the destination types.
+     */
+    Map<Class<?>, Supplier<?>> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * The key of the copy plan.
+     */
+    @Value
+    static class CopyPlanKey {
+
+        Class<?> sourceType;
+
+        Class<?> destinationType;
+    }
+
+    /**
+     * The copier of the one property.
+     */
+    @FunctionalInterface
+    interface PropertyCopier {
+
+        void copy(Object source, Object destination);
+    }
+
+    /**
+     * The copy plan - all property copiers for the pair of types.
+     */
+    @Value
+    static class CopyPlan {
+
+        PropertyCopier[] copiers;
+
+        void copy(Object source, Object destination) {
+            for (PropertyCopier copier : this.copiers) {
+                copier.copy(source, destination);
+            }
+        }
+    }
+
+    /**
+     * Builds the copy plans for the application models at startup.
+     *
+     * @throws MappingException the mapping exception
+     */
+    @PostConstruct
+    public void init() throws MappingException {
+        this.getCopyPlan(OrganizationDetail.class, Organization.class);
+        this.getCopyPlan(Organization.class, OrganizationDetail.class);
+        this.getCopyPlan(EmployDetail.class, Employ.class);
+        this.getCopyPlan(Employ.class, EmployDetail.class);
+        this.getConstructor(Organization.class);
+        this.getConstructor(OrganizationDetail.class);
+        this.getConstructor(Employ.class);
+        this.getConstructor(EmployDetail.class);
+        log.info("Построили планы копирования - {}", this.copyPlans.keySet());
+    }
+
+    /**
+     * Map t.
+     *
+     * @param source      the source
+     * @param destination the destination
+     * @return the t
+     * @throws MappingException the mapping exception
+     */
+    @Override
+    public <T, R> T map(R source, T destination) throws MappingException {
+        if (source == null || destination == null) return null;
+
+        this.getCopyPlan(source.getClass(), destination.getClass()).copy(source, destination);
+
+        return destination;
+    }
+
+    /**
+     * Map t.
+     *
+     * @param source               the source
+     * @param destinationTypeClass the destination type class
+     * @return the t
+     * @throws MappingException the mapping exception
+     */
+    @Override
+    public <T, R> T map(R source, Class<T> destinationTypeClass) throws MappingException {
+        if (destinationTypeClass == null) return null;
+
+        return this.map(source, this.getConstructor(destinationTypeClass).get());
+    }
+
+    private CopyPlan getCopyPlan(Class<?> sourceType, Class<?> destinationType) throws MappingException {
+        CopyPlanKey key = new CopyPlanKey(sourceType, destinationType);
+        CopyPlan copyPlan = this.copyPlans.get(key);
+        if (copyPlan != null) return copyPlan;
+
+        copyPlan = createCopyPlan(sourceType, destinationType);
+        CopyPlan existingCopyPlan = this.copyPlans.putIfAbsent(key, copyPlan);
+
+        return existingCopyPlan == null ? copyPlan : existingCopyPlan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Supplier<T> getConstructor(Class<T> type) throws MappingException {
+        Supplier<?> constructor = this.constructors.get(type);
+        if (constructor != null) return (Supplier<T>) constructor;
+
+        try {
+            MethodHandle handle = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle,
+                    MethodType.methodType(type)
+            );
+            constructor = (Supplier<?>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new MappingException(new IllegalStateException(
+                    String.format("Не получилось создать конструктор для %s - %s", type.getName(), e.getMessage()),
+                    e
+            ));
+        }
+        this.constructors.putIfAbsent(type, constructor);
+
+        return (Supplier<T>) this.constructors.get(type);
+    }
+
+    private static CopyPlan createCopyPlan(Class<?> sourceType, Class<?> destinationType) throws MappingException {
+        try {
+            Map<String, Method> getters = new HashMap<>();
+            for (PropertyDescriptor property : Introspector.getBeanInfo(sourceType, Object.class)
+                    .getPropertyDescriptors()) {
+                if (property.getReadMethod() != null) getters.put(property.getName(), property.getReadMethod());
+            }
+
+            List<PropertyCopier> copiers = new ArrayList<>();
+            for (PropertyDescriptor property : Introspector.getBeanInfo(destinationType, Object.class)
+                    .getPropertyDescriptors()) {
+                Method getter = getters.get(property.getName());
+                Method setter = property.getWriteMethod();
+                if (getter == null || setter == null) continue;
+
+                PropertyCopier copier = createPropertyCopier(getter, setter);
+                if (copier != null) copiers.add(copier);
+            }
+            log.debug(
+                    "Построили план копирования:\nисточник - {}\nрезультат - {}\nсвойств - {}",
+                    sourceType.getName(),
+                    destinationType.getName(),
+                    copiers.size()
+            );
+
+            return new CopyPlan(copiers.toArray(new PropertyCopier[0]));
+        } catch (Throwable e) {
+            throw new MappingException(new IllegalStateException(
+                    String.format(
+                            "Не получилось построить план копирования из %s в %s - %s",
+                            sourceType.getName(),
+                            destinationType.getName(),
+                            e.getMessage()
+                    ),
+                    e
+            ));
+        }
+    }
+
+    private static PropertyCopier createPropertyCopier(Method getter, Method setter) throws Throwable {
+        boolean isSourceOptional = getter.getReturnType() == Optional.class;
+        boolean isDestinationOptional = setter.getParameterTypes()[0] == Optional.class;
+        boolean isDestinationPrimitive = setter.getParameterTypes()[0].isPrimitive();
+        Class<?> sourceValueType = isSourceOptional
+                ? getOptionalValueType(getter.getGenericReturnType())
+                : wrap(getter.getReturnType());
+        Class<?> destinationValueType = isDestinationOptional
+                ? getOptionalValueType(setter.getGenericParameterTypes()[0])
+                : wrap(setter.getParameterTypes()[0]);
+
+        if (!destinationValueType.isAssignableFrom(sourceValueType)) {
+            log.debug("Пропустили свойство с несовместимыми типами - {}", getter.getName());
+
+            return null;
+        }
+
+        Function<Object, Object> get = createGetter(getter);
+        BiConsumer<Object, Object> set = createSetter(setter);
+
+        if (isSourceOptional && isDestinationOptional) {
+            return (source, destination) -> {
+                Object value = get.apply(source);
+                if (value != null) set.accept(destination, value);
+            };
+        } else if (isSourceOptional) {
+            return (source, destination) -> {
+                Optional<?> value = (Optional<?>) get.apply(source);
+                if (value == null) return;
+                if (value.isPresent() || !isDestinationPrimitive) set.accept(destination, value.orElse(null));
+            };
+        } else if (isDestinationOptional) {
+            return (source, destination) -> set.accept(destination, Optional.ofNullable(get.apply(source)));
+        }
+
+        return (source, destination) -> {
+            Object value = get.apply(source);
+            if (value != null || !isDestinationPrimitive) set.accept(destination, value);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Method getter) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(
+                LOOKUP,
+                "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                LOOKUP.unreflect(getter),
+                MethodType.methodType(wrap(getter.getReturnType()), getter.getDeclaringClass())
+        );
+
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Method setter) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(
+                LOOKUP,
+                "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                LOOKUP.unreflect(setter),
+                MethodType.methodType(void.class, setter.getDeclaringClass(), wrap(setter.getParameterTypes()[0]))
+        );
+
+        return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    private static Class<?> getOptionalValueType(Type optionalType) {
+        if (!(optionalType instanceof ParameterizedType)) return Object.class;
+
+        Type valueType = ((ParameterizedType) optionalType).getActualTypeArguments()[0];
+        if (valueType instanceof Class) return (Class<?>) valueType;
+        if (valueType instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) valueType).getRawType();
+
+        return Object.class;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
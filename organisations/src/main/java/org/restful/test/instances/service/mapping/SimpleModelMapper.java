@@ -6,13 +6,9 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * @project restful-test-instances
  * @created 02.09.2020 18:50
@@ -25,8 +21,13 @@ import java.util.List;
         level = AccessLevel.PRIVATE,
         makeFinal = true
 )
+@ConditionalOnProperty(
+        name = "organisations.mapping.mapper",
+        havingValue = "simple",
+        matchIfMissing = true
+)
 @Service
-public class SimpleModelMapper implements CustomModelMapper {
+public class SimpleModelMapper extends AbstractModelMapper {
 
     ObjectMapper objectMapper;
 
@@ -66,28 +67,4 @@ public class SimpleModelMapper implements CustomModelMapper {
             throw new MappingException(e);
         }
     }
-
-    /**
-     * Map list.
-     *
-     * @param sources              the sources
-     * @param destinationTypeClass the destination type class
-     * @return the list
-     * @throws MappingException the mapping exception
-     */
-    @Override
-    public <T, R> List<T> map(Collection<R> sources, Class<T> destinationTypeClass) throws MappingException {
-        if (sources == null) return Collections.emptyList();
-
-        try {
-            return new ArrayList<>(){{
-                for (R source : sources) {
-                    T destination = destinationTypeClass.newInstance();
-                    add(map(source, destination));
-                }
-            }};
-        } catch (InstantiationException | IllegalAccessException | NullPointerException e) {
-            throw new MappingException(e);
-        }
-    }
 }
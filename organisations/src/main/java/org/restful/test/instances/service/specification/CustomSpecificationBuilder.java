@@ -13,8 +13,11 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * The type Custom specification builder.
@@ -32,6 +35,11 @@ import java.util.List;
 @Service
 public class CustomSpecificationBuilder<ENTITY extends Object> {
 
+    /**
+     * The escape character of the like pattern.
+     */
+    public static final char LIKE_ESCAPE = '\\';
+
     /**
      * Gets instance.
      *
@@ -52,9 +60,9 @@ public class CustomSpecificationBuilder<ENTITY extends Object> {
     class CustomCriteria {
 
         /**
-         * The operand (entity field)
+         * The operands (entity fields), the only one except for the search
          */
-        String key;
+        List<String> keys;
 
         /**
          * The operation
@@ -65,6 +73,15 @@ public class CustomSpecificationBuilder<ENTITY extends Object> {
          * The value of operand
          */
         Object value;
+
+        /**
+         * Gets the operand of the single operand operation.
+         *
+         * @return the key
+         */
+        public String getKey() {
+            return keys.get(0);
+        }
     }
 
     /**
@@ -118,6 +135,19 @@ public class CustomSpecificationBuilder<ENTITY extends Object> {
                             detail.get(criteria.getKey()), criteria.getValue()
                     );
                 }
+            } else if (criteria.getOperation().equalsIgnoreCase("after")) {
+
+                return builder.greaterThan(
+                        detail.<Comparable> get(criteria.getKey()), (Comparable) criteria.getValue()
+                );
+            } else if (criteria.getOperation().equalsIgnoreCase("search")) {
+
+                String pattern = toContainsPattern(criteria.getValue().toString());
+                Predicate[] predicates = criteria.getKeys().stream()
+                        .map(key -> builder.like(builder.lower(detail.<String>get(key)), pattern, LIKE_ESCAPE))
+                        .toArray(Predicate[]::new);
+
+                return builder.or(predicates);
             } else if (criteria.getOperation().equalsIgnoreCase("in")) {
 
                 return builder.in(
@@ -148,7 +178,9 @@ public class CustomSpecificationBuilder<ENTITY extends Object> {
      * @return the custom specification builder
      */
     public CustomSpecificationBuilder with(String key, String operation, Object value) {
-        customSpecifications.add(new CustomSpecification(new CustomCriteria(key, operation, value)));
+        customSpecifications.add(new CustomSpecification(new CustomCriteria(
+                Collections.singletonList(key), operation, value
+        )));
 
         return this;
     }
@@ -221,6 +253,51 @@ public class CustomSpecificationBuilder<ENTITY extends Object> {
         return this.withNotNull(key, "<", value);
     }
 
+    /**
+     * With after custom specification builder - strictly greater than the value
+     * (the start of the keyset page).
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the custom specification builder
+     */
+    public CustomSpecificationBuilder withAfter(String key, Object value) {
+        return this.withNotNull(key, "after", value);
+    }
+
+    /**
+     * With search custom specification builder - the case insensitive substring search
+     * of the value in any of the keys ({@code lower(key) LIKE '%value%'}).
+     *
+     * @param value the value
+     * @param keys  the keys
+     * @return the custom specification builder
+     */
+    public CustomSpecificationBuilder withSearch(String value, String... keys) {
+        if (value == null) return this;
+
+        customSpecifications.add(new CustomSpecification(new CustomCriteria(Arrays.asList(keys), "search", value)));
+
+        return this;
+    }
+
+    /**
+     * Converts the value into the case insensitive like pattern of the substring,
+     * the like wildcards in the value are escaped by {@link #LIKE_ESCAPE}.
+     *
+     * @param value the value
+     * @return the pattern
+     */
+    public static String toContainsPattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+        for (char character : value.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (character == '%' || character == '_' || character == LIKE_ESCAPE) pattern.append(LIKE_ESCAPE);
+            pattern.append(character);
+        }
+
+        return pattern.append('%').toString();
+    }
+
     /**
      * Build specification.
      *
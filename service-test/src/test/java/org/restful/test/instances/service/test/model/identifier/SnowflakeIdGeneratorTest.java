@@ -0,0 +1,121 @@
+package org.restful.test.instances.service.test.model.identifier;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.model.identifier.SnowflakeIdGenerator;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The type Snowflake id generator test.
+ *
+ * @author Alexander A. Kropotin
+ * @project restful -test-instances
+ * @created 18.10.2026 18:20 <p>
+ */
+@Category(UnitTest.class)
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class SnowflakeIdGeneratorTest {
+
+    /**
+     * Next id positive when sequence is exhausted then ids are increasing.
+     */
+    @Test
+    public void nextId_positive_whenSequenceIsExhausted_thenIdsAreIncreasing() {
+        AtomicLong clock = new AtomicLong();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, () -> {
+            /*
+             * Часы идут на миллисекунду за каждые 5000 обращений - последовательность успевает закончиться
+             */
+            return clock.getAndIncrement() / 5000 + SnowflakeIdGenerator.EPOCH + 1000;
+        });
+
+        long previousId = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previousId, String.format("Идентификатор %d не больше предыдущего %d", id, previousId));
+            assertTrue(SnowflakeIdGenerator.getNode(id) == 5, "Идентификатор узла потерялся");
+            previousId = id;
+        }
+        log.info("Последний идентификатор - {}", previousId);
+    }
+
+    /**
+     * Next id positive when clock goes back then ids are increasing.
+     */
+    @Test
+    public void nextId_positive_whenClockGoesBack_thenIdsAreIncreasing() {
+        long[] timestamps = {
+                SnowflakeIdGenerator.EPOCH + 10,
+                SnowflakeIdGenerator.EPOCH + 5,
+                SnowflakeIdGenerator.EPOCH + 8,
+                SnowflakeIdGenerator.EPOCH + 11
+        };
+        AtomicLong tick = new AtomicLong();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(
+                1,
+                () -> timestamps[(int) Math.min(tick.getAndIncrement(), timestamps.length - 1)]
+        );
+
+        long firstId = generator.nextId();
+        long secondId = generator.nextId();
+        log.info("Получили идентификаторы - {}, {}", firstId, secondId);
+
+        assertTrue(secondId > firstId, "Идентификатор после перевода часов назад не больше предыдущего");
+        assertTrue(
+                SnowflakeIdGenerator.getTimestamp(secondId) >= SnowflakeIdGenerator.getTimestamp(firstId),
+                "Время идентификатора ушло назад"
+        );
+    }
+
+    /**
+     * Next id positive when called concurrently then ids are unique.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void nextId_positive_whenCalledConcurrently_thenIdsAreUnique() throws InterruptedException {
+        int threads = 4;
+        int idsPerThread = 50_000;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < idsPerThread; j++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        log.info("Получили {} идентификаторов", ids.size());
+
+        assertTrue(ids.size() == threads * idsPerThread, "Идентификаторы повторяются");
+    }
+
+    /**
+     * Constructor negative when node is out of range then failure throws exception.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_negative_whenNodeIsOutOfRange_thenFailureThrowsException() {
+        new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE + 1);
+    }
+}
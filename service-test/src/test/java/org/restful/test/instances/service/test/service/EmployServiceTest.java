@@ -21,8 +21,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityNotFoundException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -93,4 +98,50 @@ public class EmployServiceTest {
         assertNotNull(createEmployResponse, "Что-то не так: сущность не сохранилась");
         assertTrue(createEmployResponse.getEmployUid().isPresent(), "Что-то не так: идентификатор пустой");
     }
+
+    @Test
+    public void find_positive_whenOrganizationHasEmploys_thenSelectedByOrganizationUid()
+            throws CustomModelMapper.MappingException {
+        when(employRepository.findAllByOrganizationUidOrderByEmployUid(1L))
+                .thenReturn(Collections.singletonList(Employ.builder().employUid(1L).organizationUid(1L).build()));
+        when(simpleModelMapper.map(anyCollection(), eq(EmployDetail.class)))
+                .thenReturn(
+                        Collections.singletonList(
+                                EmployDetail.builder()
+                                        .employUid(Optional.ofNullable(1L))
+                                        .build()
+                        )
+                );
+
+        List<EmployDetail> findEmploysResponse = this.employService.find(1L);
+
+        verify(employRepository).findAllByOrganizationUidOrderByEmployUid(1L);
+
+        assertNotNull(findEmploysResponse, "Что-то не так: сотрудники не выбраны");
+        assertTrue(findEmploysResponse.size() == 1, "Что-то не так: выбраны не все сотрудники организации");
+    }
+
+    @Test(expected = EntityNotFoundException.class)
+    public void find_negative_whenEmployIsNotInOrganization_thenFailureWithThrowException()
+            throws CustomModelMapper.MappingException {
+        when(employRepository.findByOrganizationUidAndEmployUid(1L, 2L))
+                .thenReturn(Optional.empty());
+
+        this.employService.find(1L, 2L);
+    }
+
+    @Test
+    public void find_positive_whenEmploysAreSelected_thenTransactionIsReadOnly()
+            throws CustomModelMapper.MappingException {
+        AtomicBoolean isReadOnly = new AtomicBoolean();
+        when(employRepository.findByOrganizationUidAndEmployUid(1L, 1L)).thenAnswer(invocation -> {
+            isReadOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+
+            return Optional.of(Employ.builder().employUid(1L).organizationUid(1L).build());
+        });
+
+        this.employService.find(1L, 1L);
+
+        assertTrue(isReadOnly.get(), "Сотрудник выбран не в транзакции только для чтения");
+    }
 }
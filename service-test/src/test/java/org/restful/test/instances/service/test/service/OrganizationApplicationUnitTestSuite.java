@@ -8,6 +8,11 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite.SuiteClasses;
 import org.restful.test.instances.commons.categories.IntegrationTest;
 import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.service.test.model.identifier.SnowflakeIdGeneratorTest;
+import org.restful.test.instances.service.test.service.cache.CountingBloomFilterTest;
+import org.restful.test.instances.service.test.service.concurrent.MicroBatcherTest;
+import org.restful.test.instances.service.test.service.concurrent.SingleFlightTest;
+import org.restful.test.instances.service.test.service.mapping.BulkModelMapperTest;
 import org.restful.test.instances.service.test.service.mapping.OrganizationModelMapperTest;
 
 @RunWith(Categories.class)
@@ -15,7 +20,13 @@ import org.restful.test.instances.service.test.service.mapping.OrganizationModel
 @ExcludeCategory(IntegrationTest.class)
 @SuiteClasses({
         OrganizationModelMapperTest.class,
-        OrganizationServiceTest.class
+        BulkModelMapperTest.class,
+        SnowflakeIdGeneratorTest.class,
+        OrganizationServiceTest.class,
+        OrganizationImportServiceTest.class,
+        SingleFlightTest.class,
+        MicroBatcherTest.class,
+        CountingBloomFilterTest.class
 })
 @Slf4j
 public class OrganizationApplicationUnitTestSuite {
@@ -0,0 +1,174 @@
+package org.restful.test.instances.service.test.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.model.detail.OrganizationImportDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
+import org.restful.test.instances.repository.routing.ShardRouter;
+import org.restful.test.instances.service.OrganizationImportService;
+import org.restful.test.instances.service.cache.OrganizationResultCache;
+import org.restful.test.instances.service.cache.OrganizationUidFilter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Organization import service test.
+ *
+ * @author Alexander A. Kropotin
+ * @project restful -test-instances
+ * @created 18.10.2026 20:55 <p>
+ */
+@Category(UnitTest.class)
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class OrganizationImportServiceTest {
+
+    /**
+     * The Organization jdbc repository.
+     */
+    OrganizationJdbcRepository organizationJdbcRepository;
+
+    /**
+     * The Organization import service.
+     */
+    OrganizationImportService organizationImportService;
+
+    /**
+     * The Transaction manager.
+     */
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * The Meter registry.
+     */
+    SimpleMeterRegistry meterRegistry;
+
+    /**
+     * The Imported organizations - what the repository has read from the iterator.
+     */
+    List<Organization> importedOrganizations;
+
+    /**
+     * Before each test.
+     */
+    @Before
+    @SuppressWarnings("unchecked")
+    public void beforeEachTest() {
+        this.importedOrganizations = new ArrayList<>();
+        this.organizationJdbcRepository = mock(OrganizationJdbcRepository.class);
+        when(this.organizationJdbcRepository.importAll(any(Iterator.class), anyInt(), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Iterator<Organization>>getArgument(0).forEachRemaining(this.importedOrganizations::add);
+
+                    return this.importedOrganizations.size();
+                });
+
+        this.transactionManager = mock(PlatformTransactionManager.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.organizationImportService = new OrganizationImportService(
+                this.organizationJdbcRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(OrganizationResultCache.class),
+                mock(OrganizationUidFilter.class),
+                new ShardRouter(false, new String[0]),
+                new TransactionTemplate(this.transactionManager),
+                this.meterRegistry
+        );
+        ReflectionTestUtils.setField(this.organizationImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(this.organizationImportService, "maxErrors", 1);
+    }
+
+    /**
+     * Import csv positive when some rows are invalid then only valid imported.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    public void importCsv_positive_whenSomeRowsAreInvalid_thenOnlyValidImported() throws IOException {
+        String csv = "name,inn,kpp,address\n"
+                + "WCorp,0123,,\"Новая, 1\"\n"
+                + ",0123,,\n"
+                + "GCorp,01234567890,,\n"
+                + "RCorp,,,\n";
+
+        OrganizationImportDetail importResponse = this.organizationImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))
+        );
+        log.info("Импортировали организации - {}", importResponse);
+
+        assertNotNull(importResponse, "Что-то пошло не так");
+        assertTrue(
+                importResponse.getRows() == 4 && importResponse.getImported() == 2 && importResponse.getFailed() == 2,
+                String.format("Посчитали не те строки - %s", importResponse)
+        );
+        assertTrue(
+                importResponse.getErrors().keySet().equals(new HashSet<>(Arrays.asList(2L))),
+                String.format("Ошибки не тех строк или их больше максимума - %s", importResponse.getErrors())
+        );
+        assertTrue(
+                this.importedOrganizations.equals(Arrays.asList(
+                        Organization.builder().name("WCorp").build(),
+                        Organization.builder().name("RCorp").build()
+                )),
+                String.format("Импортированы не те организации - %s", this.importedOrganizations)
+        );
+        assertTrue(
+                this.importedOrganizations.get(0).getAddress().equals("Новая, 1")
+                        && this.importedOrganizations.get(0).getKpp() == null,
+                String.format("Свойства организации прочитаны неверно - %s", this.importedOrganizations.get(0))
+        );
+    }
+
+    /**
+     * Import csv positive when rows are read then progress is exposed and merged in transaction.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    public void importCsv_positive_whenRowsAreRead_thenProgressIsExposedAndMergedInTransaction() throws IOException {
+        String csv = "name,inn,kpp,address\n"
+                + "WCorp,,,\n"
+                + ",,,\n"
+                + "RCorp,,,\n";
+
+        this.organizationImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(
+                this.meterRegistry.get("organizations.import.rows").gauge().value() == 3
+                        && this.meterRegistry.get("organizations.import.failed").gauge().value() == 1,
+                "Прогресс импорта не отдан метриками"
+        );
+        verify(this.transactionManager).commit(any());
+    }
+}
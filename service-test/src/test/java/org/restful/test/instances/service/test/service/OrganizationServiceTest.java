@@ -10,26 +10,51 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.model.detail.OrganizationBatchDetail;
+import org.restful.test.instances.model.detail.OrganizationDeleteDetail;
 import org.restful.test.instances.model.detail.OrganizationDetail;
 import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.model.filter.OrganizationFilter;
+import org.restful.test.instances.repository.OrganizationJdbcRepository;
 import org.restful.test.instances.repository.OrganizationRepository;
 import org.restful.test.instances.service.OrganizationService;
+import org.restful.test.instances.service.cache.OrganizationUidFilter;
 import org.restful.test.instances.service.mapping.CustomModelMapper;
 import org.restful.test.instances.service.mapping.SimpleModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.Tuple;
+import javax.validation.ConstraintViolationException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.hibernate.validator.internal.util.Contracts.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -57,6 +82,12 @@ public class OrganizationServiceTest {
     @MockBean
     OrganizationRepository organizationRepository;
 
+    /**
+     * The Organization jdbc repository.
+     */
+    @MockBean
+    OrganizationJdbcRepository organizationJdbcRepository;
+
     /**
      * The Organization model mapper.
      */
@@ -70,6 +101,12 @@ public class OrganizationServiceTest {
     @Autowired
     OrganizationService organizationService;
 
+    /**
+     * The Organization uid filter.
+     */
+    @Autowired
+    OrganizationUidFilter organizationUidFilter;
+
     /**
      * Before each test.
      *
@@ -89,18 +126,6 @@ public class OrganizationServiceTest {
                 );
         when(organizationRepository.findById(Long.valueOf(2)))
                 .thenReturn(Optional.ofNullable(null));
-        when(organizationRepository.findAll((Specification<Organization>) null))
-                .thenReturn(Collections.singletonList(
-                        Organization.builder()
-                                .uid(Long.valueOf(1))
-                                .build()
-                ));
-        when(organizationRepository.findAll(any(Specification.class)))
-                .thenReturn(Collections.singletonList(
-                        Organization.builder()
-                                .uid(Long.valueOf(1))
-                                .build()
-                ));
         when(organizationModelMapper.map(any(OrganizationDetail.class), any(Organization.class)))
                 .thenReturn(Organization.builder()
                         .uid(Long.valueOf(1))
@@ -180,7 +205,7 @@ public class OrganizationServiceTest {
      *
      * @throws CustomModelMapper.MappingException the mapping exception
      */
-    @Test(expected = IllegalArgumentException.class)
+    @Test(expected = EntityNotFoundException.class)
     public void update_negative_whenEntityWithSpecifiedUidIsNotExists_thenFailureWithThrowException()
             throws CustomModelMapper.MappingException {
         Long uidOrganization = 2L;
@@ -223,7 +248,7 @@ public class OrganizationServiceTest {
      *
      * @throws CustomModelMapper.MappingException the mapping exception
      */
-    @Test(expected = IllegalArgumentException.class)
+    @Test(expected = EntityNotFoundException.class)
     public void delete_negative_whenEntityWithSpecifiedUidIsNotExists_thenFailureWithThrowException()
             throws CustomModelMapper.MappingException {
         Long uidOrganization = 2L;
@@ -244,17 +269,22 @@ public class OrganizationServiceTest {
     @Test
     public void find_positive_whenAllRequestParamsIsNull_thenSuccessfulFoundAll()
             throws CustomModelMapper.MappingException {
-        List<OrganizationDetail> organizationResponse = this.organizationService.find(
-                null,
-                null,
-                null,
+        when(organizationRepository.findAll(any(Specification.class), any(Sort.class), anyInt()))
+                .thenReturn(Collections.singletonList(
+                        Organization.builder()
+                                .uid(Long.valueOf(1))
+                                .build()
+                ));
+
+        Slice<OrganizationDetail> organizationResponse = this.organizationService.find(
+                OrganizationFilter.builder().build(),
                 null,
                 null
         );
-        verify(organizationRepository).findAll((Specification<Organization>) null);
+        verify(organizationRepository).findAll(any(Specification.class), eq(Sort.by("uid")), anyInt());
         verify(organizationModelMapper).map(anyCollection(), eq(OrganizationDetail.class));
         assertNotNull(organizationResponse, "Что-то пошло не так");
-        assertTrue(!organizationResponse.isEmpty(), "В ответе ничего нет");
+        assertTrue(organizationResponse.hasContent(), "В ответе ничего нет");
     }
 
     /**
@@ -279,16 +309,669 @@ public class OrganizationServiceTest {
                 address
                 );
 
-        List<OrganizationDetail> organizationResponse = this.organizationService.find(
-                uid,
-                name,
-                inn,
-                kpp,
-                address
+        when(organizationRepository.findAll(any(Specification.class), any(Sort.class), eq(11)))
+                .thenReturn(Collections.singletonList(
+                        Organization.builder()
+                                .uid(Long.valueOf(1))
+                                .build()
+                ));
+
+        Slice<OrganizationDetail> organizationResponse = this.organizationService.find(
+                OrganizationFilter.builder()
+                        .uid(uid)
+                        .name(name)
+                        .inn(inn)
+                        .kpp(kpp)
+                        .address(address)
+                        .build(),
+                null,
+                10
         );
-        verify(organizationRepository).findAll(any(Specification.class));
+        verify(organizationRepository).findAll(any(Specification.class), eq(Sort.by("uid")), eq(11));
         verify(organizationModelMapper).map(anyCollection(), eq(OrganizationDetail.class));
         assertNotNull(organizationResponse, "Что-то пошло не так");
-        assertTrue(!organizationResponse.isEmpty(), "В ответе нчиего нет");
+        assertTrue(organizationResponse.hasContent(), "В ответе нчиего нет");
+    }
+
+    /**
+     * Find positive when there are more organizations than limit then page is cut and has next.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void find_positive_whenThereAreMoreOrganizationsThanLimit_thenPageIsCutAndHasNext()
+            throws CustomModelMapper.MappingException {
+        OrganizationFilter filter = OrganizationFilter.builder()
+                .name(Collections.singletonList("WCorp"))
+                .build();
+        when(organizationRepository.findAll(any(Specification.class), any(Sort.class), eq(2)))
+                .thenReturn(Arrays.asList(
+                        Organization.builder()
+                                .uid(Long.valueOf(2))
+                                .build(),
+                        Organization.builder()
+                                .uid(Long.valueOf(3))
+                                .build()
+                ));
+        log.info("Создали параметры для запроса:\nfilter - {}\nafter - {}\nlimit - {}", filter, 1L, 1);
+
+        Slice<OrganizationDetail> organizationResponse = this.organizationService.find(filter, 1L, 1);
+        verify(organizationRepository).findAll(any(Specification.class), eq(Sort.by("uid")), eq(2));
+        verify(organizationModelMapper).map(anyCollection(), eq(OrganizationDetail.class));
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(organizationResponse.getNumberOfElements() == 1, "Страница не обрезана по limit");
+        assertTrue(organizationResponse.hasNext(), "Следующая страница потерялась");
+    }
+
+    /**
+     * Find positive when cache is enabled then same filter is selected once until change.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void find_positive_whenCacheIsEnabled_thenSameFilterIsSelectedOnceUntilChange()
+            throws CustomModelMapper.MappingException {
+        OrganizationFilter filter = OrganizationFilter.builder()
+                .inn(Arrays.asList("02", "01", "02"))
+                .kpp(Collections.emptyList())
+                .build();
+        OrganizationFilter sameFilter = OrganizationFilter.builder()
+                .inn(Arrays.asList("01", "02"))
+                .build();
+        when(organizationRepository.findAll(any(Specification.class), any(Sort.class), eq(11)))
+                .thenReturn(Collections.singletonList(
+                        Organization.builder()
+                                .uid(Long.valueOf(1))
+                                .build()
+                ));
+        OrganizationService organizationService = AopTestUtils.getTargetObject(this.organizationService);
+        ReflectionTestUtils.setField(organizationService, "isFindCacheEnabled", true);
+
+        try {
+            Slice<OrganizationDetail> organizationResponse = organizationService.find(filter, null, 10);
+            Slice<OrganizationDetail> organizationCachedResponse = organizationService.find(sameFilter, null, 10);
+            verify(organizationRepository).findAll(any(Specification.class), any(Sort.class), eq(11));
+            assertTrue(organizationResponse == organizationCachedResponse, "Страница выбрана не из кеша");
+
+            organizationService.create(OrganizationDetail.builder().build());
+            organizationService.find(sameFilter, null, 10);
+            verify(organizationRepository, times(2)).findAll(any(Specification.class), any(Sort.class), eq(11));
+        } finally {
+            ReflectionTestUtils.setField(organizationService, "isFindCacheEnabled", false);
+        }
+    }
+
+    /**
+     * Find positive when uid is specified then found by batch.
+     */
+    @Test
+    public void find_positive_whenUidIsSpecified_thenFoundByBatch() {
+        when(organizationJdbcRepository.findAll(any(OrganizationFilter.class)))
+                .thenReturn(Collections.singletonList(
+                        OrganizationDetail.builder()
+                                .uid(Optional.of(1L))
+                                .name(Optional.of("WCorp"))
+                                .build()
+                ));
+
+        OrganizationDetail organizationResponse = this.organizationService.find(1L);
+
+        verify(organizationJdbcRepository).findAll(OrganizationFilter.builder()
+                .uid(Collections.singletonList(1L))
+                .build()
+        );
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(organizationResponse.getName().equals(Optional.of("WCorp")), "Выбрана не та организация");
+    }
+
+    /**
+     * Find positive when page is selected then transaction is read only.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void find_positive_whenPageIsSelected_thenTransactionIsReadOnly()
+            throws CustomModelMapper.MappingException {
+        AtomicBoolean isReadOnly = new AtomicBoolean();
+        when(organizationRepository.findAll(any(Specification.class), any(Sort.class), eq(11)))
+                .thenAnswer(invocation -> {
+                    isReadOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+
+                    return Collections.emptyList();
+                });
+
+        this.organizationService.find(OrganizationFilter.builder().build(), null, 10);
+
+        assertTrue(isReadOnly.get(), "Страница выбрана не в транзакции только для чтения");
+    }
+
+    /**
+     * Update positive when organization is updated then transaction is writable.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void update_positive_whenOrganizationIsUpdated_thenTransactionIsWritable()
+            throws CustomModelMapper.MappingException {
+        AtomicBoolean isWritable = new AtomicBoolean();
+        when(organizationRepository.findById(Long.valueOf(1))).thenAnswer(invocation -> {
+            isWritable.set(TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+
+            return Optional.of(Organization.builder()
+                    .uid(Long.valueOf(1))
+                    .build());
+        });
+
+        this.organizationService.update(1L, OrganizationDetail.builder().build());
+
+        assertTrue(isWritable.get(), "Организация загружена для изменения не в транзакции");
+    }
+
+    /**
+     * Find by name negative when organization is not exists then failure with throw exception.
+     */
+    @Test(expected = EntityNotFoundException.class)
+    public void findByName_negative_whenOrganizationIsNotExists_thenFailureWithThrowException() {
+        when(organizationJdbcRepository.findAll(any(OrganizationFilter.class)))
+                .thenReturn(Collections.emptyList());
+
+        this.organizationService.findByName("WCorp");
+    }
+
+    /**
+     * Find negative when uid is not in uid filter then failure without select.
+     */
+    @Test(expected = EntityNotFoundException.class)
+    public void find_negative_whenUidIsNotInUidFilter_thenFailureWithoutSelect() {
+        ReflectionTestUtils.setField(this.organizationUidFilter, "isEnabled", true);
+        this.organizationUidFilter.rebuild();
+
+        try {
+            this.organizationService.find(1L);
+        } finally {
+            ReflectionTestUtils.setField(this.organizationUidFilter, "isEnabled", false);
+            ReflectionTestUtils.setField(this.organizationUidFilter, "filter", null);
+            verify(organizationJdbcRepository, never()).findAll(any(OrganizationFilter.class));
+        }
+    }
+
+    /**
+     * Find negative when limit is not positive then failure with throw exception.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void find_negative_whenLimitIsNotPositive_thenFailureWithThrowException()
+            throws CustomModelMapper.MappingException {
+        this.organizationService.find(OrganizationFilter.builder().build(), null, 0);
+    }
+
+    /**
+     * Find positive when fields are specified then projection is selected.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void find_positive_whenFieldsAreSpecified_thenProjectionIsSelected()
+            throws CustomModelMapper.MappingException {
+        OrganizationFilter filter = OrganizationFilter.builder()
+                .fields(Collections.singletonList("name"))
+                .build();
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get("uid", Long.class)).thenReturn(1L);
+        when(tuple.get("name", String.class)).thenReturn("WCorp");
+        when(organizationRepository.findAll(any(), any(Sort.class), anyInt(), anyList()))
+                .thenReturn(Collections.singletonList(tuple));
+        log.info("Создали параметры для запроса:\nfilter - {}", filter);
+
+        Slice<OrganizationDetail> organizationResponse = this.organizationService.find(filter, null, null);
+        verify(organizationRepository).findAll(any(), any(Sort.class), anyInt(), eq(Arrays.asList("uid", "name")));
+        verify(organizationModelMapper, never()).map(anyCollection(), eq(OrganizationDetail.class));
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(organizationResponse.getNumberOfElements() == 1, "В ответе нчиего нет");
+
+        OrganizationDetail organizationDetail = organizationResponse.getContent().get(0);
+        assertTrue(
+                organizationDetail.getName().equals(Optional.of("WCorp")) && organizationDetail.getInn() == null,
+                String.format("В ответе не только выбранные свойства - %s", organizationDetail)
+        );
+    }
+
+    /**
+     * Find negative when fields are unknown then failure with throw exception.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void find_negative_whenFieldsAreUnknown_thenFailureWithThrowException()
+            throws CustomModelMapper.MappingException {
+        this.organizationService.find(
+                OrganizationFilter.builder()
+                        .fields(Collections.singletonList("password"))
+                        .build(),
+                null,
+                null
+        );
+    }
+
+    /**
+     * Find negative when search is shorter than min length then failure with throw exception.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void find_negative_whenSearchIsShorterThanMinLength_thenFailureWithThrowException()
+            throws CustomModelMapper.MappingException {
+        this.organizationService.find(
+                OrganizationFilter.builder()
+                        .search("W")
+                        .build(),
+                null,
+                null
+        );
+    }
+
+    /**
+     * Find positive when search is blank then search is absent.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void find_positive_whenSearchIsBlank_thenSearchIsAbsent()
+            throws CustomModelMapper.MappingException {
+        OrganizationFilter filter = OrganizationFilter.builder()
+                .search("  ")
+                .build();
+        when(organizationRepository.findAll(any(Specification.class), any(Sort.class), eq(11)))
+                .thenReturn(Collections.emptyList());
+        log.info("Создали параметры для запроса:\nfilter - {}", filter);
+
+        Slice<OrganizationDetail> organizationResponse = this.organizationService.find(filter, null, 10);
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(filter.getShape() == 0, String.format("Пустая подстрока поиска не отброшена - %s", filter));
+    }
+
+    /**
+     * Find positive when search is surrounded by spaces then search is trimmed.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void find_positive_whenSearchIsSurroundedBySpaces_thenSearchIsTrimmed()
+            throws CustomModelMapper.MappingException {
+        OrganizationFilter filter = OrganizationFilter.builder()
+                .search("  WCo  ")
+                .build();
+
+        this.organizationService.find(filter, null, 10);
+        assertTrue(
+                filter.getSearch().equals("WCo") && filter.toBuilder().build().getSearch().equals("WCo"),
+                String.format("Подстрока поиска не обрезана - %s", filter)
+        );
+    }
+
+    /**
+     * Create all positive when some requests are invalid then only valid created.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void createAll_positive_whenSomeRequestsAreInvalid_thenOnlyValidCreated()
+            throws CustomModelMapper.MappingException {
+        List<OrganizationDetail> createOrganizationRequests = Arrays.asList(
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of(" "))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("GCorp"))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("RCorp"))
+                        .build()
+        );
+        when(organizationModelMapper.map(any(OrganizationDetail.class), any(Organization.class)))
+                .thenAnswer(invocation -> Organization.builder()
+                        .name(invocation.<OrganizationDetail>getArgument(0).getName().orElse(null))
+                        .build()
+                );
+        when(organizationJdbcRepository.findExistingNames(anyList()))
+                .thenReturn(Collections.singletonList("GCorp"));
+        when(organizationJdbcRepository.insertAll(anyList(), anyInt()))
+                .thenReturn(Arrays.asList(11L, 12L));
+        log.info("Создали запросы на создание - {}", createOrganizationRequests);
+
+        OrganizationBatchDetail organizationResponse = this.organizationService.createAll(createOrganizationRequests);
+        verify(organizationJdbcRepository).insertAll(
+                eq(Arrays.asList(
+                        Organization.builder().name("WCorp").build(),
+                        Organization.builder().name("RCorp").build()
+                )),
+                anyInt()
+        );
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(
+                organizationResponse.getUids().equals(Arrays.asList(11L, null, null, null, 12L)),
+                String.format("Идентификаторы не в порядке запроса - %s", organizationResponse.getUids())
+        );
+        assertTrue(
+                organizationResponse.getErrors().keySet().equals(new HashSet<>(Arrays.asList(1, 2, 3))),
+                String.format("Ошибки не у тех организаций - %s", organizationResponse.getErrors())
+        );
+    }
+
+    /**
+     * Find positive when streamed then written as json array.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void find_positive_whenStreamed_thenWrittenAsJsonArray() throws IOException {
+        OrganizationFilter filter = OrganizationFilter.builder()
+                .fields(Collections.singletonList("name"))
+                .build();
+        doAnswer(invocation -> {
+            Consumer<OrganizationDetail> consumer = invocation.getArgument(4);
+            consumer.accept(OrganizationDetail.builder().uid(Optional.of(1L)).name(Optional.of("WCorp")).build());
+            consumer.accept(OrganizationDetail.builder().uid(Optional.of(2L)).name(Optional.empty()).build());
+
+            return null;
+        }).when(organizationJdbcRepository).findAll(eq(filter), eq(1L), eq(2), anyInt(), any(Consumer.class));
+
+        ByteArrayOutputStream destination = new ByteArrayOutputStream();
+        this.organizationService.find(filter, 1L, 2, destination);
+        String organizationResponse = destination.toString(StandardCharsets.UTF_8.name());
+        log.info("Получили ответ - {}", organizationResponse);
+
+        assertTrue(
+                organizationResponse.equals("[{\"uid\":1,\"name\":\"WCorp\"},{\"uid\":2,\"name\":null}]"),
+                String.format("Массив организаций записан неверно - %s", organizationResponse)
+        );
+    }
+
+    /**
+     * Find negative when streamed with unknown fields then failure with throw exception.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void find_negative_whenStreamedWithUnknownFields_thenFailureWithThrowException() {
+        this.organizationService.getStreamPageSize(
+                OrganizationFilter.builder().fields(Collections.singletonList("password")).build(),
+                null
+        );
+    }
+
+    /**
+     * Upsert positive when request is valid then upserted by name from path.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void upsert_positive_whenRequestIsValid_thenUpsertedByNameFromPath()
+            throws CustomModelMapper.MappingException {
+        OrganizationDetail upsertOrganizationRequest = OrganizationDetail.builder()
+                .name(Optional.of("GCorp"))
+                .inn(Optional.of("0123"))
+                .build();
+        when(organizationModelMapper.map(any(OrganizationDetail.class), any(Organization.class)))
+                .thenAnswer(invocation -> Organization.builder()
+                        .name(invocation.<OrganizationDetail>getArgument(0).getName().orElse(null))
+                        .inn(invocation.<OrganizationDetail>getArgument(0).getInn().orElse(null))
+                        .build()
+                );
+        when(organizationJdbcRepository.upsertAll(anyList(), anyInt(), any(LongConsumer.class)))
+                .thenReturn(Collections.singletonList(OrganizationDetail.builder()
+                        .uid(Optional.of(1L))
+                        .name(Optional.of("WCorp"))
+                        .inn(Optional.of("0123"))
+                        .build()
+                ));
+
+        OrganizationDetail organizationResponse = this.organizationService.upsert("WCorp", upsertOrganizationRequest);
+        verify(organizationJdbcRepository).upsertAll(
+                eq(Collections.singletonList(Organization.builder().name("WCorp").inn("0123").build())),
+                anyInt(),
+                any(LongConsumer.class)
+        );
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(organizationResponse.getUid().equals(Optional.of(1L)), "Вернулась не та организация");
+    }
+
+    /**
+     * Upsert negative when name is invalid then failure with throw exception.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test(expected = ConstraintViolationException.class)
+    public void upsert_negative_whenNameIsInvalid_thenFailureWithThrowException()
+            throws CustomModelMapper.MappingException {
+        when(organizationModelMapper.map(any(OrganizationDetail.class), any(Organization.class)))
+                .thenAnswer(invocation -> new Organization());
+
+        try {
+            this.organizationService.upsert("TooLongCorpName", new OrganizationDetail());
+        } finally {
+            verify(organizationJdbcRepository, never()).upsertAll(anyList(), anyInt(), any(LongConsumer.class));
+        }
+    }
+
+    /**
+     * Upsert all positive when some requests are invalid then only valid upserted in request order.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void upsertAll_positive_whenSomeRequestsAreInvalid_thenOnlyValidUpsertedInRequestOrder()
+            throws CustomModelMapper.MappingException {
+        List<OrganizationDetail> upsertOrganizationRequests = Arrays.asList(
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of(" "))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("WCorp"))
+                        .build(),
+                OrganizationDetail.builder()
+                        .name(Optional.of("RCorp"))
+                        .build()
+        );
+        when(organizationModelMapper.map(any(OrganizationDetail.class), any(Organization.class)))
+                .thenAnswer(invocation -> Organization.builder()
+                        .name(invocation.<OrganizationDetail>getArgument(0).getName().orElse(null))
+                        .build()
+                );
+        when(organizationJdbcRepository.upsertAll(anyList(), anyInt(), any(LongConsumer.class)))
+                .thenReturn(Arrays.asList(
+                        OrganizationDetail.builder().uid(Optional.of(12L)).name(Optional.of("RCorp")).build(),
+                        OrganizationDetail.builder().uid(Optional.of(3L)).name(Optional.of("WCorp")).build()
+                ));
+        log.info("Создали запросы на создание или обновление - {}", upsertOrganizationRequests);
+
+        OrganizationBatchDetail organizationResponse = this.organizationService.upsertAll(upsertOrganizationRequests);
+        verify(organizationJdbcRepository, never()).findExistingNames(anyList());
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(
+                organizationResponse.getUids().equals(Arrays.asList(3L, null, null, 12L)),
+                String.format("Идентификаторы не в порядке запроса - %s", organizationResponse.getUids())
+        );
+        assertTrue(
+                organizationResponse.getErrors().keySet().equals(new HashSet<>(Arrays.asList(1, 2))),
+                String.format("Ошибки не у тех организаций - %s", organizationResponse.getErrors())
+        );
+    }
+
+    /**
+     * Upsert all positive when some organizations are updated then only inserted are added to uid filter.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void upsertAll_positive_whenSomeOrganizationsAreUpdated_thenOnlyInsertedAreAddedToUidFilter()
+            throws CustomModelMapper.MappingException {
+        when(organizationModelMapper.map(any(OrganizationDetail.class), any(Organization.class)))
+                .thenAnswer(invocation -> Organization.builder()
+                        .name(invocation.<OrganizationDetail>getArgument(0).getName().orElse(null))
+                        .build()
+                );
+        when(organizationJdbcRepository.upsertAll(anyList(), anyInt(), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<LongConsumer>getArgument(2).accept(12L);
+
+                    return Arrays.asList(
+                            OrganizationDetail.builder().uid(Optional.of(12L)).name(Optional.of("RCorp")).build(),
+                            OrganizationDetail.builder().uid(Optional.of(3L)).name(Optional.of("WCorp")).build()
+                    );
+                });
+        ReflectionTestUtils.setField(this.organizationUidFilter, "isEnabled", true);
+        this.organizationUidFilter.rebuild();
+
+        try {
+            this.organizationService.upsertAll(Arrays.asList(
+                    OrganizationDetail.builder().name(Optional.of("RCorp")).build(),
+                    OrganizationDetail.builder().name(Optional.of("WCorp")).build()
+            ));
+
+            assertTrue(this.organizationUidFilter.mightExist(12L), "Вставленной организации нет в фильтре");
+            assertTrue(!this.organizationUidFilter.mightExist(3L), "Обновленная организация добавлена в фильтр");
+        } finally {
+            ReflectionTestUtils.setField(this.organizationUidFilter, "isEnabled", false);
+            ReflectionTestUtils.setField(this.organizationUidFilter, "filter", null);
+        }
+    }
+
+    /**
+     * Update positive when returning update is enabled then updated by one statement.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void update_positive_whenReturningUpdateIsEnabled_thenUpdatedByOneStatement()
+            throws CustomModelMapper.MappingException {
+        Long uidOrganization = 1L;
+        OrganizationDetail organizationRequest = OrganizationDetail.builder()
+                .name(Optional.of("WCorp"))
+                .build();
+        when(organizationJdbcRepository.update(uidOrganization, organizationRequest))
+                .thenReturn(Optional.of(OrganizationDetail.builder()
+                        .uid(Optional.of(uidOrganization))
+                        .name(Optional.of("WCorp"))
+                        .build()
+                ));
+        OrganizationService organizationService = AopTestUtils.getTargetObject(this.organizationService);
+        ReflectionTestUtils.setField(organizationService, "isReturningUpdateEnabled", true);
+
+        try {
+            OrganizationDetail organizationResponse = organizationService.update(uidOrganization, organizationRequest);
+            verify(organizationJdbcRepository).update(uidOrganization, organizationRequest);
+            verify(organizationRepository, never()).findById(anyLong());
+            verify(organizationRepository, never()).save(any(Organization.class));
+            assertNotNull(organizationResponse, "Что-то пошло не так");
+            assertTrue(
+                    organizationResponse.getUid().equals(Optional.of(uidOrganization)),
+                    "Вернулась не та организация"
+            );
+        } finally {
+            ReflectionTestUtils.setField(organizationService, "isReturningUpdateEnabled", false);
+        }
+    }
+
+    /**
+     * Update negative when returning update is enabled and entity is not exists then failure with throw exception.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test(expected = EntityNotFoundException.class)
+    public void update_negative_whenReturningUpdateIsEnabledAndEntityIsNotExists_thenFailureWithThrowException()
+            throws CustomModelMapper.MappingException {
+        when(organizationJdbcRepository.update(anyLong(), any(OrganizationDetail.class)))
+                .thenReturn(Optional.empty());
+        OrganizationService organizationService = AopTestUtils.getTargetObject(this.organizationService);
+        ReflectionTestUtils.setField(organizationService, "isReturningUpdateEnabled", true);
+
+        try {
+            organizationService.update(2L, OrganizationDetail.builder().name(Optional.of("WCorp")).build());
+        } finally {
+            ReflectionTestUtils.setField(organizationService, "isReturningUpdateEnabled", false);
+        }
+    }
+
+    /**
+     * Delete positive when direct delete is enabled then deleted without loading.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void delete_positive_whenDirectDeleteIsEnabled_thenDeletedWithoutLoading()
+            throws CustomModelMapper.MappingException {
+        Long uidOrganization = 1L;
+        when(organizationJdbcRepository.delete(uidOrganization)).thenReturn(1);
+        OrganizationService organizationService = AopTestUtils.getTargetObject(this.organizationService);
+        ReflectionTestUtils.setField(organizationService, "isDirectDeleteEnabled", true);
+
+        try {
+            OrganizationDetail organizationResponse = organizationService.delete(uidOrganization);
+            verify(organizationJdbcRepository).delete(uidOrganization);
+            verify(organizationRepository, never()).findById(anyLong());
+            verify(organizationRepository, never()).delete(any(Organization.class));
+            assertNotNull(organizationResponse, "Что-то пошло не так");
+        } finally {
+            ReflectionTestUtils.setField(organizationService, "isDirectDeleteEnabled", false);
+        }
+    }
+
+    /**
+     * Delete negative when direct delete is enabled and entity is not exists then failure with throw exception.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test(expected = EntityNotFoundException.class)
+    public void delete_negative_whenDirectDeleteIsEnabledAndEntityIsNotExists_thenFailureWithThrowException()
+            throws CustomModelMapper.MappingException {
+        when(organizationJdbcRepository.delete(anyLong())).thenReturn(0);
+        OrganizationService organizationService = AopTestUtils.getTargetObject(this.organizationService);
+        ReflectionTestUtils.setField(organizationService, "isDirectDeleteEnabled", true);
+
+        try {
+            organizationService.delete(2L);
+        } finally {
+            ReflectionTestUtils.setField(organizationService, "isDirectDeleteEnabled", false);
+        }
+    }
+
+    /**
+     * Delete all positive when filter is specified then deleted by one statement.
+     */
+    @Test
+    public void deleteAll_positive_whenFilterIsSpecified_thenDeletedByOneStatement() {
+        OrganizationFilter filter = OrganizationFilter.builder()
+                .inn(Collections.singletonList("01"))
+                .build();
+        when(organizationJdbcRepository.deleteAll(filter)).thenReturn(100);
+
+        OrganizationDeleteDetail organizationResponse = this.organizationService.deleteAll(filter);
+
+        verify(organizationJdbcRepository).deleteAll(filter);
+        assertNotNull(organizationResponse, "Что-то пошло не так");
+        assertTrue(organizationResponse.getCount() == 100, "Вернулось не то количество удаленных организаций");
+    }
+
+    /**
+     * Delete all negative when filter is empty then failure with throw exception.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void deleteAll_negative_whenFilterIsEmpty_thenFailureWithThrowException() {
+        try {
+            this.organizationService.deleteAll(OrganizationFilter.builder().build());
+        } finally {
+            verify(organizationJdbcRepository, never()).deleteAll(any(OrganizationFilter.class));
+        }
     }
 }
@@ -0,0 +1,101 @@
+package org.restful.test.instances.service.test.service.cache;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.service.cache.CountingBloomFilter;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The type Counting bloom filter test.
+ *
+ * @author Alexander A. Kropotin
+ * @project restful -test-instances
+ * @created 19.10.2026 18:30 <p>
+ */
+@Category(UnitTest.class)
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class CountingBloomFilterTest {
+
+    /**
+     * Might contain positive when keys are added then all of them are contained.
+     */
+    @Test
+    public void mightContain_positive_whenKeysAreAdded_thenAllOfThemAreContained() {
+        CountingBloomFilter filter = new CountingBloomFilter(10000, 0.01);
+        for (long key = 1; key <= 10000; key++) {
+            filter.add(key);
+        }
+
+        for (long key = 1; key <= 10000; key++) {
+            assertTrue(filter.mightContain(key), String.format("Добавленного ключа %d нет в фильтре", key));
+        }
+        assertTrue(filter.getCount() == 10000, "Количество ключей в фильтре не совпадает с добавленным");
+    }
+
+    /**
+     * Might contain positive when filter is full then false positives are within probability.
+     */
+    @Test
+    public void mightContain_positive_whenFilterIsFull_thenFalsePositivesAreWithinProbability() {
+        CountingBloomFilter filter = new CountingBloomFilter(10000, 0.01);
+        for (long key = 1; key <= 10000; key++) {
+            filter.add(key);
+        }
+
+        int falsePositivesCount = 0;
+        for (long key = 10001; key <= 110000; key++) {
+            if (filter.mightContain(key)) falsePositivesCount++;
+        }
+        log.info(
+                "Ложных ответов - {} из 100000, ожидаемая вероятность - {}",
+                falsePositivesCount,
+                filter.getFalsePositiveProbability()
+        );
+
+        assertTrue(falsePositivesCount < 2000, "Ложных ответов больше удвоенной вероятности");
+        assertTrue(filter.getFalsePositiveProbability() < 0.02, "Оценка вероятности ложного ответа завышена");
+    }
+
+    /**
+     * Remove positive when key is removed then it is absent and others are kept.
+     */
+    @Test
+    public void remove_positive_whenKeyIsRemoved_thenItIsAbsentAndOthersAreKept() {
+        CountingBloomFilter filter = new CountingBloomFilter(1000, 0.001);
+        filter.add(1L);
+        filter.add(2L);
+
+        filter.remove(1L);
+
+        assertTrue(!filter.mightContain(1L), "Удаленный ключ остался в фильтре");
+        assertTrue(filter.mightContain(2L), "Вместе с удаленным ключом из фильтра пропал другой");
+        assertTrue(filter.getCount() == 1, "Количество ключей в фильтре не уменьшилось");
+    }
+
+    /**
+     * Remove positive when counters are saturated then key is not lost.
+     */
+    @Test
+    public void remove_positive_whenCountersAreSaturated_thenKeyIsNotLost() {
+        CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+        for (int i = 0; i < 20; i++) {
+            filter.add(1L);
+        }
+
+        for (int i = 0; i < 19; i++) {
+            filter.remove(1L);
+        }
+
+        assertTrue(filter.mightContain(1L), "Ключ пропал из фильтра после переполнения счетчиков");
+    }
+}
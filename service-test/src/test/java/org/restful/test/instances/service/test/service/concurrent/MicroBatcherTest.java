@@ -0,0 +1,145 @@
+package org.restful.test.instances.service.test.service.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.service.concurrent.MicroBatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The type Micro batcher test.
+ *
+ * @author Alexander A. Kropotin
+ * @project restful -test-instances
+ * @created 19.10.2026 16:05 <p>
+ */
+@Category(UnitTest.class)
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class MicroBatcherTest {
+
+    /**
+     * Load positive when lookups are within window then loaded by one batch.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void load_positive_whenLookupsAreWithinWindow_thenLoadedByOneBatch() throws Exception {
+        List<List<Long>> batches = new CopyOnWriteArrayList<>();
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>(
+                "test",
+                TimeUnit.MILLISECONDS.toMicros(200),
+                100,
+                1,
+                keys -> {
+                    batches.add(keys);
+
+                    return keys.stream()
+                            .filter(key -> key % 2 == 0)
+                            .collect(Collectors.toMap(key -> key, key -> "WCorp" + key));
+                },
+                new SimpleMeterRegistry()
+        )) {
+            List<CompletableFuture<String>> values = new ArrayList<>();
+            for (long key = 0; key < 10; key++) {
+                values.add(batcher.load(key));
+            }
+            values.add(batcher.load(2L));
+
+            for (int i = 0; i < 10; i++) {
+                String value = values.get(i).get(5, TimeUnit.SECONDS);
+                assertTrue(
+                        i % 2 == 0 ? value.equals("WCorp" + i) : value == null,
+                        String.format("Ключ %d получил не свое значение - %s", i, value)
+                );
+            }
+            assertTrue(values.get(10).get().equals("WCorp2"), "Повторный ключ получил не свое значение");
+        }
+        log.info("Выбрали пакеты - {}", batches);
+
+        assertTrue(batches.size() == 1, "Выборки в пределах окна выбраны не одним пакетом");
+        assertTrue(batches.get(0).size() == 10, "Повторный ключ выбран еще раз");
+    }
+
+    /**
+     * Load positive when batch is full then loaded without window.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void load_positive_whenBatchIsFull_thenLoadedWithoutWindow() throws Exception {
+        List<List<Long>> batches = new CopyOnWriteArrayList<>();
+        try (MicroBatcher<Long, Long> batcher = new MicroBatcher<>(
+                "test",
+                TimeUnit.MINUTES.toMicros(1),
+                3,
+                1,
+                keys -> {
+                    batches.add(keys);
+
+                    return keys.stream().collect(Collectors.toMap(key -> key, key -> key));
+                },
+                new SimpleMeterRegistry()
+        )) {
+            List<CompletableFuture<Long>> values = new ArrayList<>();
+            for (long key = 0; key < 6; key++) {
+                values.add(batcher.load(key));
+            }
+
+            for (CompletableFuture<Long> value : values) {
+                value.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertTrue(batches.size() == 2, "Полные пакеты ждали окончания окна");
+    }
+
+    /**
+     * Load negative when batch loader fails then all lookups get exception.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void load_negative_whenBatchLoaderFails_thenAllLookupsGetException() throws Exception {
+        try (MicroBatcher<Long, String> batcher = new MicroBatcher<>(
+                "test",
+                1000,
+                100,
+                1,
+                keys -> {
+                    throw new IllegalStateException("БД недоступна");
+                },
+                new SimpleMeterRegistry()
+        )) {
+            List<CompletableFuture<String>> values = new ArrayList<>();
+            values.add(batcher.load(1L));
+            values.add(batcher.load(2L));
+
+            for (CompletableFuture<String> value : values) {
+                try {
+                    value.get(5, TimeUnit.SECONDS);
+                    assertTrue(false, "Выборка не получила исключение пакета");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException, "Выборка получила не то исключение");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.restful.test.instances.service.test.service.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.service.concurrent.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The type Single flight test.
+ *
+ * @author Alexander A. Kropotin
+ * @project restful -test-instances
+ * @created 19.10.2026 14:20 <p>
+ */
+@Category(UnitTest.class)
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class SingleFlightTest {
+
+    /**
+     * Execute positive when calls are concurrent then loaded once.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void execute_positive_whenCallsAreConcurrent_thenLoadedOnce() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+        AtomicInteger loadsCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> values = new ArrayList<>();
+            values.add(executor.submit(() -> singleFlight.execute("WCorp", () -> {
+                loading.countDown();
+                release.await();
+
+                return loadsCount.incrementAndGet();
+            })));
+            loading.await();
+            for (int i = 0; i < 7; i++) {
+                values.add(executor.submit(() -> singleFlight.execute("WCorp", loadsCount::incrementAndGet)));
+            }
+
+            /*
+             * Ждем, пока все вызовы присоединятся к загрузке, и только потом ее завершаем
+             */
+            while (meterRegistry.get("single.flight.calls").tag("result", "coalesced").counter().count() < 7) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<Integer> value : values) {
+                assertTrue(value.get(5, TimeUnit.SECONDS) == 1, "Вызов получил не общее значение");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Загрузок - {}", loadsCount.get());
+
+        assertTrue(loadsCount.get() == 1, "Одинаковые одновременные вызовы загрузили значение несколько раз");
+        assertTrue(
+                meterRegistry.get("single.flight.calls").tag("result", "led").counter().count() == 1,
+                "Неверно посчитаны загрузки"
+        );
+        assertTrue(
+                singleFlight.execute("WCorp", loadsCount::incrementAndGet) == 2,
+                "Вызов после завершения загрузки получил старое значение"
+        );
+    }
+
+    /**
+     * Execute negative when loader fails then all callers get exception.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void execute_negative_whenLoaderFails_thenAllCallersGetException() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("WCorp", () -> {
+                loading.countDown();
+                release.await();
+
+                throw new IllegalStateException("БД недоступна");
+            }));
+            loading.await();
+            Future<Integer> follower = executor.submit(() -> singleFlight.execute("WCorp", () -> 1));
+            while (meterRegistry.get("single.flight.calls").tag("result", "coalesced").counter().count() < 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<Integer> value : new Future[] {leader, follower}) {
+                try {
+                    value.get(5, TimeUnit.SECONDS);
+                    assertTrue(false, "Вызов не получил исключение загрузки");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException, "Вызов получил не то исключение");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
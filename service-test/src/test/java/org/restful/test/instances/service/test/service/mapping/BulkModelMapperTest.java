@@ -0,0 +1,200 @@
+package org.restful.test.instances.service.test.service.mapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.restful.test.instances.commons.categories.UnitTest;
+import org.restful.test.instances.model.detail.OrganizationDetail;
+import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.service.mapping.AccessorModelMapper;
+import org.restful.test.instances.service.mapping.CustomModelMapper;
+import org.restful.test.instances.service.mapping.SimpleModelMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+
+/**
+ * The type Bulk model mapper test.
+ *
+ * @author Alexander A. Kropotin
+ * @project restful -test-instances
+ * @created 18.10.2026 13:02 <p>
+ */
+@Category(UnitTest.class)
+@Slf4j
+@NoArgsConstructor
+@FieldDefaults(
+        level = AccessLevel.PRIVATE
+)
+public class BulkModelMapperTest {
+
+    /**
+     * The sources count.
+     */
+    static final int SOURCES_COUNT = 10_000;
+
+    /**
+     * The Bulk mapping pool.
+     */
+    ForkJoinPool bulkMappingPool;
+
+    /**
+     * The Serial accessor model mapper.
+     */
+    AccessorModelMapper serialModelMapper;
+
+    /**
+     * The Parallel accessor model mapper.
+     */
+    AccessorModelMapper parallelModelMapper;
+
+    /**
+     * The Serial simple model mapper.
+     */
+    SimpleModelMapper serialSimpleModelMapper;
+
+    /**
+     * The Parallel simple model mapper.
+     */
+    SimpleModelMapper parallelSimpleModelMapper;
+
+    /**
+     * Before each test.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Before
+    public void beforeEachTest() throws CustomModelMapper.MappingException {
+        this.bulkMappingPool = new ForkJoinPool(4);
+
+        this.serialModelMapper = new AccessorModelMapper();
+        this.serialModelMapper.init();
+
+        this.parallelModelMapper = new AccessorModelMapper();
+        this.parallelModelMapper.init();
+        this.parallelModelMapper.setBulkMappingPool(this.bulkMappingPool);
+        this.parallelModelMapper.setBulkMappingThreshold(100);
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        this.serialSimpleModelMapper = new SimpleModelMapper(objectMapper);
+
+        this.parallelSimpleModelMapper = new SimpleModelMapper(objectMapper);
+        this.parallelSimpleModelMapper.setBulkMappingPool(this.bulkMappingPool);
+        this.parallelSimpleModelMapper.setBulkMappingThreshold(100);
+    }
+
+    /**
+     * After each test.
+     */
+    @After
+    public void afterEachTest() {
+        this.bulkMappingPool.shutdown();
+    }
+
+    /**
+     * Map positive when collection is more than threshold then parallel and serial results are identical.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void map_positive_whenCollectionIsMoreThanThreshold_thenParallelAndSerialResultsAreIdentical()
+            throws CustomModelMapper.MappingException {
+        this.assertParallelAndSerialResultsAreIdentical(this.serialModelMapper, this.parallelModelMapper);
+    }
+
+    /**
+     * Map positive when simple mapper maps collection more than threshold then parallel and serial results
+     * are identical.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void map_positive_whenSimpleMapperCollectionIsMoreThanThreshold_thenParallelAndSerialResultsAreIdentical()
+            throws CustomModelMapper.MappingException {
+        this.assertParallelAndSerialResultsAreIdentical(this.serialSimpleModelMapper, this.parallelSimpleModelMapper);
+    }
+
+    /**
+     * Map positive when collection is more than threshold then parallel result of both mappers is mutable.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void map_positive_whenCollectionIsMoreThanThreshold_thenParallelResultIsMutable()
+            throws CustomModelMapper.MappingException {
+        List<Organization> sources = createSources();
+
+        for (CustomModelMapper modelMapper : Arrays.asList(this.parallelModelMapper, this.parallelSimpleModelMapper)) {
+            List<OrganizationDetail> destinations = modelMapper.map(sources, OrganizationDetail.class);
+            destinations.add(new OrganizationDetail());
+            destinations.remove(0);
+            log.info("Изменили результат параллельного копирования {}", modelMapper.getClass().getSimpleName());
+
+            assertTrue(
+                    destinations.size() == SOURCES_COUNT,
+                    String.format("Результат копирования %s не изменился", modelMapper.getClass().getSimpleName())
+            );
+        }
+    }
+
+    private void assertParallelAndSerialResultsAreIdentical(CustomModelMapper serialModelMapper,
+                                                            CustomModelMapper parallelModelMapper)
+            throws CustomModelMapper.MappingException {
+        List<Organization> sources = createSources();
+        log.info("Создали {} сущностей источника", sources.size());
+
+        List<OrganizationDetail> serialDestinations = serialModelMapper.map(sources, OrganizationDetail.class);
+        List<OrganizationDetail> parallelDestinations = parallelModelMapper.map(sources, OrganizationDetail.class);
+        log.info(
+                "Скопировали свойства из источника:\nпоследовательно - {}\nпараллельно - {}",
+                serialDestinations.size(),
+                parallelDestinations.size()
+        );
+
+        assertTrue(
+                serialDestinations.size() == SOURCES_COUNT && parallelDestinations.size() == SOURCES_COUNT,
+                "Количества сущностей разные - свойства не скопировались"
+        );
+        for (int i = 0; i < SOURCES_COUNT; i++) {
+            OrganizationDetail serialDestination = serialDestinations.get(i);
+            OrganizationDetail parallelDestination = parallelDestinations.get(i);
+            assertTrue(
+                    Objects.equals(serialDestination.getUid(), parallelDestination.getUid())
+                            && Objects.equals(serialDestination.getName(), parallelDestination.getName())
+                            && Objects.equals(serialDestination.getInn(), parallelDestination.getInn())
+                            && Objects.equals(serialDestination.getKpp(), parallelDestination.getKpp())
+                            && Objects.equals(serialDestination.getAddress(), parallelDestination.getAddress()),
+                    String.format("Результаты копирования #%d разные", i)
+            );
+            assertTrue(
+                    parallelDestination.getUid().orElse(null).equals(sources.get(i).getUid()),
+                    String.format("Порядок сущностей изменился при копировании #%d", i)
+            );
+        }
+    }
+
+    private static List<Organization> createSources() {
+        return IntStream.range(0, SOURCES_COUNT)
+                .mapToObj(i -> Organization.builder()
+                        .uid((long) i)
+                        .name(String.format("Corp%d", i))
+                        .inn(String.valueOf(i))
+                        .kpp(i % 2 == 0 ? String.valueOf(i) : null)
+                        .address(String.format("Новая - %d", i))
+                        .build()
+                )
+                .collect(Collectors.toList());
+    }
+}
@@ -16,9 +16,11 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.restful.test.instances.commons.categories.UnitTest;
 import org.restful.test.instances.model.detail.OrganizationDetail;
 import org.restful.test.instances.model.entity.Organization;
+import org.restful.test.instances.service.mapping.AccessorModelMapper;
 import org.restful.test.instances.service.mapping.CustomModelMapper;
 import org.restful.test.instances.service.mapping.SimpleModelMapper;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -56,13 +58,22 @@ public class OrganizationModelMapperTest {
     @InjectMocks
     SimpleModelMapper organizationModelMapper;
 
+    /**
+     * The Organization accessor model mapper.
+     */
+    AccessorModelMapper accessorModelMapper;
+
     /**
      * Before each test.
      *
-     * @throws JsonMappingException the json mapping exception
+     * @throws JsonMappingException             the json mapping exception
+     * @throws CustomModelMapper.MappingException the mapping exception
      */
     @Before
-    public void beforeEachTest() throws JsonMappingException {
+    public void beforeEachTest() throws JsonMappingException, CustomModelMapper.MappingException {
+        this.accessorModelMapper = new AccessorModelMapper();
+        this.accessorModelMapper.init();
+
         when(objectMapper.updateValue(any(Organization.class), any(OrganizationDetail.class)))
                 .thenReturn(Organization.builder()
                         .uid(Long.valueOf(1))
@@ -198,4 +209,138 @@ public class OrganizationModelMapperTest {
 
         this.organizationModelMapper.map(sources, null);
     }
+
+    /**
+     * Map positive when accessor mapper maps detail into entity and booth is not null then successful mapped.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void map_positive_whenAccessorMapsDetailIntoEntityAndBoothIsNotNull_thenSuccessfulMapped()
+            throws CustomModelMapper.MappingException {
+        OrganizationDetail source = OrganizationDetail.builder()
+                .uid(Optional.of(1L))
+                .name(Optional.of("WCorp"))
+                .inn(Optional.empty())
+                .build();
+        Organization destination = Organization.builder()
+                .inn("01234567")
+                .kpp("01234567")
+                .build();
+        log.info(
+                "Создали сущность источника и результата копирования:\nистоник - {}\nрезультат - {}",
+                source,
+                destination
+        );
+
+        destination = this.accessorModelMapper.map(source, destination);
+        log.info(
+                "Скопировали свойства из источника:\nистоник - {}\nрезультат - {}",
+                source,
+                destination
+        );
+
+        assertTrue(
+                destination.getUid().equals(source.getUid().orElse(null)),
+                "Сущности разные - свойства не скопировались"
+        );
+        assertTrue(
+                destination.getName().equals(source.getName().orElse(null)),
+                "Сущности разные - свойства не скопировались"
+        );
+        assertTrue(destination.getInn() == null, "Пустое свойство источника не очистило результат");
+        assertTrue(destination.getKpp().equals("01234567"), "Незаданное свойство источника изменило результат");
+    }
+
+    /**
+     * Map positive when accessor mapper maps entity into detail and booth is not null then successful mapped.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void map_positive_whenAccessorMapsEntityIntoDetailAndBoothIsNotNull_thenSuccessfulMapped()
+            throws CustomModelMapper.MappingException {
+        Organization source = Organization.builder()
+                .uid(1L)
+                .name("WCorp")
+                .build();
+        OrganizationDetail destination = new OrganizationDetail();
+        log.info(
+                "Создали сущность источника и результата копирования:\nистоник - {}\nрезультат - {}",
+                source,
+                destination
+        );
+
+        destination = this.accessorModelMapper.map(source, destination);
+        log.info(
+                "Скопировали свойства из источника:\nистоник - {}\nрезультат - {}",
+                source,
+                destination
+        );
+
+        assertTrue(
+                destination.getUid().orElse(null).equals(source.getUid()),
+                "Сущности разные - свойства не скопировались"
+        );
+        assertTrue(
+                destination.getName().orElse(null).equals(source.getName()),
+                "Сущности разные - свойства не скопировались"
+        );
+        assertTrue(!destination.getAddress().isPresent(), "Пустое свойство скопировалось как значение");
+    }
+
+    /**
+     * Map positive when accessor mapper maps entity collection into detail collection and booth is not null then successful mapped.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test
+    public void map_positive_whenAccessorMapsEntityCollectionIntoDetailCollection_thenSuccessfulMapped()
+            throws CustomModelMapper.MappingException {
+        List<Organization> sources = Arrays.asList(
+                Organization.builder()
+                        .uid(1L)
+                        .build(),
+                Organization.builder()
+                        .uid(2L)
+                        .build()
+        );
+        log.info("Создали сущности источника - {}", sources);
+
+        List<OrganizationDetail> destinations = this.accessorModelMapper.map(sources, OrganizationDetail.class);
+        log.info(
+                "Скопировали свойства из источника:\nистоник - {}\nрезультат - {}",
+                sources,
+                destinations
+        );
+
+        assertTrue(
+                destinations.size() == sources.size(),
+                "Количества сущностей разные - свойства не скопировались"
+        );
+        for (int i = 0; i < sources.size(); i++) {
+            assertTrue(
+                    destinations.get(i).getUid().orElse(null).equals(sources.get(i).getUid()),
+                    "Порядок сущностей изменился при копировании"
+            );
+        }
+    }
+
+    /**
+     * Map negative when accessor mapper maps entity collection into detail collection and type class is null then failure throws exception.
+     *
+     * @throws CustomModelMapper.MappingException the mapping exception
+     */
+    @Test(expected = CustomModelMapper.MappingException.class)
+    public void map_negative_whenAccessorMapsEntityCollectionAndTypeClassISNull_thenFailureThrowsException()
+            throws CustomModelMapper.MappingException {
+        List<Organization> sources = Collections.singletonList(
+                Organization.builder()
+                        .uid(1L)
+                        .build()
+        );
+        log.info("Создали сущности источника - {}", sources);
+
+        this.accessorModelMapper.map(sources, null);
+    }
 }